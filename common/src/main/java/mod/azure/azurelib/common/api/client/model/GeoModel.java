@@ -7,12 +7,15 @@
  */
 package mod.azure.azurelib.common.api.client.model;
 
+import mod.azure.azurelib.common.internal.client.renderer.AnimationPrePass;
 import mod.azure.azurelib.common.internal.client.renderer.GeoRenderer;
 import mod.azure.azurelib.common.internal.client.util.RenderUtils;
 import mod.azure.azurelib.common.internal.common.AzureLibException;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
 import mod.azure.azurelib.common.internal.common.cache.AzureLibCache;
 import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
 import mod.azure.azurelib.common.internal.common.cache.object.GeoBone;
+import mod.azure.azurelib.common.internal.common.config.AzureLibConfig;
 import mod.azure.azurelib.common.internal.common.constant.DataTickets;
 import mod.azure.azurelib.common.internal.common.loading.object.BakedAnimations;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
@@ -21,18 +24,23 @@ import mod.azure.azurelib.core.animation.AnimatableManager;
 import mod.azure.azurelib.core.animation.Animation;
 import mod.azure.azurelib.core.animation.AnimationProcessor;
 import mod.azure.azurelib.core.animation.AnimationState;
-import mod.azure.azurelib.core.molang.MolangParser;
+import mod.azure.azurelib.core.molang.MolangContext;
 import mod.azure.azurelib.core.molang.MolangQueries;
 import mod.azure.azurelib.core.object.DataTicket;
+import mod.azure.azurelib.core.state.BonePoseBuffer;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 /**
@@ -51,6 +59,8 @@ public abstract class GeoModel<T extends GeoAnimatable> implements CoreGeoModel<
 
     private long lastRenderedInstance = -1;
 
+    private double lastRenderedTime = Double.NaN;
+
     /**
      * Returns the resource path for the {@link BakedGeoModel} (model json file) to render based on the provided
      * animatable
@@ -149,8 +159,76 @@ public abstract class GeoModel<T extends GeoAnimatable> implements CoreGeoModel<
 
     @Override
     public void handleAnimations(T animatable, long instanceId, AnimationState<T> animationState) {
+        AnimatableManager<T> animatableManager = animatable.getAnimatableInstanceCache().getManagerForId(instanceId);
+
+        if (AnimationPrePass.consumePreparedPose(animatableManager)) {
+            animationState.animationTick = this.animTime;
+        } else {
+            prepareAnimations(animatable, instanceId, animationState);
+        }
+
+        // The bones already hold this instance's pose and custom animations for this frame time
+        if (instanceId == this.lastRenderedInstance && animatableManager.getLastUpdateTime() == this.lastRenderedTime)
+            return;
+
+        this.lastRenderedInstance = instanceId;
+        this.lastRenderedTime = animatableManager.getLastUpdateTime();
+
+        getAnimationProcessor().applyPose(animatableManager);
+        setCustomAnimations(animatable, instanceId, animationState);
+    }
+
+    /**
+     * Compute the animated pose of the given animatable instance into the {@link BonePoseBuffer} of its
+     * {@link AnimatableManager}, without modifying this model's bones
+     *
+     * @param animatable     The animatable instance being animated
+     * @param instanceId     The unique instance id of the animatable being animated
+     * @param animationState The {@link AnimationState} for the current render frame
+     */
+    public void prepareAnimations(T animatable, long instanceId, AnimationState<T> animationState) {
+        prepareAnimations(animatable, instanceId, animationState, false);
+    }
+
+    /**
+     * Run the controller predicates and Molang queries for the given animatable instance, leaving the keyframe sampling
+     * of its pose to be done by the returned task.<br>
+     * This must be called on the render thread, but the returned task only samples keyframes into the instance's
+     * {@link BonePoseBuffer}, and so may be run by the {@link AnimationPrePass} off the render thread, provided that no
+     * other thread is using this model at the same time
+     *
+     * @param animatable     The animatable instance being animated
+     * @param instanceId     The unique instance id of the animatable being animated
+     * @param animationState The {@link AnimationState} for the current render frame
+     * @return The task sampling the instance's pose, or null if no sampling is needed this frame
+     */
+    @Nullable
+    public Runnable prepareDeferredAnimations(T animatable, long instanceId, AnimationState<T> animationState) {
+        ResourceLocation modelResource = getModelResource(animatable);
+
+        getBakedModel(modelResource);
+
+        Runnable sampler = prepareAnimations(animatable, instanceId, animationState, true);
+
+        if (sampler == null)
+            return null;
+
+        return () -> {
+            getBakedModel(modelResource);
+            sampler.run();
+        };
+    }
+
+    @Nullable
+    private Runnable prepareAnimations(
+            T animatable,
+            long instanceId,
+            AnimationState<T> animationState,
+            boolean deferSampling
+    ) {
         Minecraft mc = Minecraft.getInstance();
         AnimatableManager<T> animatableManager = animatable.getAnimatableInstanceCache().getManagerForId(instanceId);
+        AnimationProcessor<T> processor = getAnimationProcessor();
         Double currentTick = animationState.getData(DataTickets.TICK);
 
         if (currentTick == null)
@@ -165,15 +243,39 @@ public abstract class GeoModel<T extends GeoAnimatable> implements CoreGeoModel<
         boolean isReRender = !animatableManager.isFirstTick() && currentFrameTime == animatableManager
                 .getLastUpdateTime();
 
-        if (isReRender && instanceId == this.lastRenderedInstance)
-            return;
+        // The pose for this instance is already computed for this frame time
+        if (isReRender && processor.isPoseReady(animatableManager)) {
+            animationState.animationTick = this.animTime;
 
-        if (!isReRender && (!mc.isPaused() || animatable.shouldPlayAnimsWhileGamePaused())) {
-            if (animatable instanceof LivingEntity) {
-                animatableManager.updatedAt(currentFrameTime);
+            return null;
+        }
+
+        BonePoseBuffer pose = animatableManager.getPoseBuffer();
+        double lodDistance = animatable.allowAnimationLod() ? getAnimationLodDistance(animatable) : -1;
+        int lodInterval = getAnimationLodInterval(lodDistance);
+        boolean reusePose = false;
+        float interpolation = 1;
+
+        // Distant instances only update every few ticks, blending from their previous pose to their latest one between
+        if (lodInterval > 0 && processor.isPoseReady(animatableManager)) {
+            double timeSincePose = currentFrameTime - pose.getPoseTime();
+
+            if (timeSincePose >= 0 && timeSincePose < lodInterval) {
+                interpolation = (float) (timeSincePose / lodInterval);
+                reusePose = true;
             } else {
-                animatableManager.updatedAt(currentFrameTime);
+                pose.storePrevious();
+                interpolation = 0;
             }
+        }
+
+        pose.setInterpolation(interpolation);
+
+        if (!reusePose)
+            pose.setPoseTime(currentFrameTime);
+
+        if (!isReRender && (!mc.isPaused() || animatable.shouldPlayAnimsWhileGamePaused())) {
+            animatableManager.updatedAt(currentFrameTime);
 
             double lastUpdateTime = animatableManager.getLastUpdateTime();
             this.animTime += lastUpdateTime - this.lastGameTickTime;
@@ -181,63 +283,173 @@ public abstract class GeoModel<T extends GeoAnimatable> implements CoreGeoModel<
         }
 
         animationState.animationTick = this.animTime;
-        AnimationProcessor<T> processor = getAnimationProcessor();
 
-        processor.preAnimationSetup(animationState.getAnimatable(), this.animTime);
+        processor.preAnimationSetup(animatableManager, animationState.getAnimatable(), this.animTime);
+
+        // Controllers still run on frames that reuse the pose, so their predicates and keyframe events aren't skipped
+        if (reusePose) {
+            processor.tickControllers(this, animatableManager, this.animTime, animationState);
 
-        if (!processor.getRegisteredBones().isEmpty())
+            return null;
+        }
+
+        if (processor.getRegisteredBones().isEmpty())
+            return null;
+
+        Set<String> boneFilter = isBeyondMajorBonesDistance(lodDistance) ? getAnimationLodBones(animatable) : null;
+
+        if (!deferSampling) {
             processor.tickAnimation(
                     animatable,
                     this,
                     animatableManager,
                     this.animTime,
                     animationState,
-                    crashIfBoneMissing()
+                    crashIfBoneMissing(),
+                    boneFilter
             );
 
-        setCustomAnimations(animatable, instanceId, animationState);
+            return null;
+        }
+
+        // Everything that calls into the animatable or writes global state happens here, on the render thread
+        processor.tickControllerStates(this, animatableManager, this.animTime, animationState);
+        animatableManager.getMolangContext().captureGlobalValues();
+
+        double animTime = this.animTime;
+        double boneResetTime = animatable.getBoneResetTime();
+        boolean crashIfBoneMissing = crashIfBoneMissing();
+
+        return () -> processor.sampleAnimation(
+                animatableManager,
+                animTime,
+                boneResetTime,
+                crashIfBoneMissing,
+                boneFilter
+        );
     }
 
-    @Override
-    public void applyMolangQueries(T animatable, double animTime) {
-        MolangParser parser = MolangParser.INSTANCE;
-        Minecraft mc = Minecraft.getInstance();
+    /**
+     * Get the names of the major bones of this model, which are still animated once the animatable is far enough from
+     * the camera that its other bones are left at rest.<br>
+     * Return null (the default) to always animate every bone. The same set instance should be returned each time, as
+     * the {@link AnimationProcessor} caches its bone lookup against it
+     *
+     * @param animatable The animatable instance being animated
+     * @return The names of the bones to animate at a distance, or null to animate every bone
+     */
+    @Nullable
+    public Set<String> getAnimationLodBones(T animatable) {
+        return null;
+    }
+
+    /**
+     * Get the distance from the camera used to pick the animation level of detail for the given animatable.<br>
+     * Uses the camera position recorded on the render thread at the start of the frame, as this may be called from
+     * animation worker threads
+     *
+     * @return The distance in blocks, or a negative value if level of detail should not apply to this animatable
+     */
+    protected double getAnimationLodDistance(T animatable) {
+        Vec3 cameraPos = RenderUtils.getFrameCameraPosition();
+
+        if (animatable instanceof Entity entity)
+            return cameraPos.distanceTo(entity.position());
+
+        if (animatable instanceof BlockEntity blockEntity)
+            return Math.sqrt(blockEntity.getBlockPos().distToCenterSqr(cameraPos));
 
-        parser.setMemoizedValue(MolangQueries.LIFE_TIME, () -> animTime / 20d);
-        parser.setMemoizedValue(MolangQueries.ACTOR_COUNT, mc.level::getEntityCount);
-        parser.setMemoizedValue(MolangQueries.TIME_OF_DAY, () -> mc.level.getDayTime() / 24000f);
-        parser.setMemoizedValue(MolangQueries.MOON_PHASE, mc.level::getMoonPhase);
+        return -1;
+    }
+
+    /**
+     * Get the number of ticks between animation updates for an animatable at the given distance from the camera
+     *
+     * @return The update interval in ticks, or 0 to update every frame
+     */
+    private static int getAnimationLodInterval(double distance) {
+        AzureLibConfig config = AzureLibMod.config;
+
+        if (distance < 0 || config == null || config.animationLodDistance <= 0)
+            return 0;
+
+        if (distance <= config.animationLodDistance)
+            return 0;
+
+        return Math.min(
+                config.animationLodMaxInterval,
+                1 + (int) ((distance - config.animationLodDistance) / config.animationLodDistanceStep)
+        );
+    }
+
+    private static boolean isBeyondMajorBonesDistance(double distance) {
+        AzureLibConfig config = AzureLibMod.config;
+
+        return distance >= 0 && config != null && config.animationLodMajorBonesDistance > 0
+                && distance > config.animationLodMajorBonesDistance;
+    }
+
+    @Override
+    public void applyMolangQueries(MolangContext context, T animatable, double animTime) {
+        context.set(MolangQueries.LIFE_TIME, animTime / 20d);
+        context.setLazy(MolangQueries.ACTOR_COUNT, animatable, animTime, (a, t) -> level().getEntityCount());
+        context.setLazy(MolangQueries.TIME_OF_DAY, animatable, animTime, (a, t) -> level().getDayTime() / 24000f);
+        context.setLazy(MolangQueries.MOON_PHASE, animatable, animTime, (a, t) -> level().getMoonPhase());
 
         if (animatable instanceof Entity entity) {
-            parser.setMemoizedValue(
+            context.setLazy(
                     MolangQueries.DISTANCE_FROM_CAMERA,
-                    () -> mc.gameRenderer.getMainCamera().getPosition().distanceTo(entity.position())
+                    entity,
+                    animTime,
+                    (e, t) -> Minecraft.getInstance().gameRenderer.getMainCamera().getPosition()
+                            .distanceTo(e.position())
+            );
+            context.setLazy(
+                    MolangQueries.IS_ON_GROUND,
+                    entity,
+                    animTime,
+                    (e, t) -> RenderUtils.booleanToFloat(e.onGround())
             );
-            parser.setMemoizedValue(MolangQueries.IS_ON_GROUND, () -> RenderUtils.booleanToFloat(entity.onGround()));
-            parser.setMemoizedValue(MolangQueries.IS_IN_WATER, () -> RenderUtils.booleanToFloat(entity.isInWater()));
-            parser.setMemoizedValue(
+            context.setLazy(
+                    MolangQueries.IS_IN_WATER,
+                    entity,
+                    animTime,
+                    (e, t) -> RenderUtils.booleanToFloat(e.isInWater())
+            );
+            context.setLazy(
                     MolangQueries.IS_IN_WATER_OR_RAIN,
-                    () -> RenderUtils.booleanToFloat(entity.isInWaterRainOrBubble())
+                    entity,
+                    animTime,
+                    (e, t) -> RenderUtils.booleanToFloat(e.isInWaterRainOrBubble())
             );
 
             if (entity instanceof LivingEntity livingEntity) {
-                parser.setMemoizedValue(MolangQueries.HEALTH, livingEntity::getHealth);
-                parser.setMemoizedValue(MolangQueries.MAX_HEALTH, livingEntity::getMaxHealth);
-                parser.setMemoizedValue(
+                context.setLazy(MolangQueries.HEALTH, livingEntity, animTime, (e, t) -> e.getHealth());
+                context.setLazy(MolangQueries.MAX_HEALTH, livingEntity, animTime, (e, t) -> e.getMaxHealth());
+                context.setLazy(
                         MolangQueries.IS_ON_FIRE,
-                        () -> RenderUtils.booleanToFloat(livingEntity.isOnFire())
+                        livingEntity,
+                        animTime,
+                        (e, t) -> RenderUtils.booleanToFloat(e.isOnFire())
                 );
-                parser.setMemoizedValue(MolangQueries.GROUND_SPEED, () -> {
-                    Vec3 velocity = livingEntity.getDeltaMovement();
+                context.setLazy(MolangQueries.GROUND_SPEED, livingEntity, animTime, (e, t) -> {
+                    Vec3 velocity = e.getDeltaMovement();
 
                     return Mth.sqrt((float) ((velocity.x * velocity.x) + (velocity.z * velocity.z)));
                 });
-                parser.setMemoizedValue(
+                context.setLazy(
                         MolangQueries.YAW_SPEED,
-                        () -> livingEntity.getViewYRot(
-                                (float) animTime - livingEntity.getViewYRot((float) animTime - 0.1f))
+                        livingEntity,
+                        animTime,
+                        (e, t) -> e.getViewYRot((float) t - e.getViewYRot((float) t - 0.1f))
                 );
             }
         }
+
+        CoreGeoModel.super.applyMolangQueries(context, animatable, animTime);
+    }
+
+    private static ClientLevel level() {
+        return Minecraft.getInstance().level;
     }
 }
@@ -170,8 +170,24 @@ public abstract class DynamicGeoEntityRenderer<T extends Entity & GeoAnimatable>
                         blue,
                         alpha
                 )
-        )
-            super.renderCubesOfBone(poseStack, bone, buffer, packedLight, packedOverlay, red, green, blue, alpha);
+        ) {
+            // Overridden textures need their UVs remapped per-vertex, so can't use the bone's baked mesh
+            if (this.textureOverride != null) {
+                renderCubesOfBoneImmediate(
+                        poseStack,
+                        bone,
+                        buffer,
+                        packedLight,
+                        packedOverlay,
+                        red,
+                        green,
+                        blue,
+                        alpha
+                );
+            } else {
+                super.renderCubesOfBone(poseStack, bone, buffer, packedLight, packedOverlay, red, green, blue, alpha);
+            }
+        }
 
         if (renderTypeOverride != null)
             buffer = bufferSource.getBuffer(
@@ -384,8 +384,15 @@ public class GeoArmorRenderer<T extends Item & GeoItem> extends HumanoidModel im
         poseStack.scale(-1, -1, 1);
 
         if (!isReRender) {
-            AnimationState<T> animationState = new AnimationState<>(animatable, 0, 0, partialTick, false);
             long instanceId = getInstanceId(animatable);
+            AnimationState<T> animationState = new AnimationState<>(
+                    animatable,
+                    0,
+                    0,
+                    partialTick,
+                    false,
+                    animatable.getAnimatableInstanceCache().getManagerForId(instanceId).prepareAnimationStateData()
+            );
 
             animationState.setData(DataTickets.TICK, animatable.getTick(this.currentEntity));
             animationState.setData(DataTickets.ITEMSTACK, this.currentStack);
@@ -194,8 +194,15 @@ public class GeoBlockRenderer<T extends BlockEntity & GeoAnimatable> implements
             float alpha
     ) {
         if (!isReRender) {
-            AnimationState<T> animationState = new AnimationState<T>(animatable, 0, 0, partialTick, false);
             long instanceId = getInstanceId(animatable);
+            AnimationState<T> animationState = new AnimationState<>(
+                    animatable,
+                    0,
+                    0,
+                    partialTick,
+                    false,
+                    animatable.getAnimatableInstanceCache().getManagerForId(instanceId).prepareAnimationStateData()
+            );
 
             animationState.setData(DataTickets.TICK, animatable.getTick(animatable));
             animationState.setData(DataTickets.BLOCK_ENTITY, animatable);
@@ -15,6 +15,8 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.common.api.client.model.GeoModel;
 import mod.azure.azurelib.common.api.client.renderer.layer.GeoRenderLayer;
 import mod.azure.azurelib.common.internal.client.model.data.EntityModelData;
+import mod.azure.azurelib.common.internal.client.renderer.AnimationPrePass;
+import mod.azure.azurelib.common.internal.client.renderer.GeoEntityRenderBatches;
 import mod.azure.azurelib.common.internal.client.renderer.GeoRenderer;
 import mod.azure.azurelib.common.internal.client.util.RenderUtils;
 import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
@@ -237,7 +239,16 @@ public class GeoEntityRenderer<T extends Entity & GeoAnimatable> extends EntityR
     ) {
         this.animatable = entity;
 
-        defaultRender(poseStack, entity, bufferSource, null, null, entityYaw, partialTick, packedLight);
+        defaultRender(
+                poseStack,
+                entity,
+                GeoEntityRenderBatches.wrap(bufferSource),
+                null,
+                null,
+                entityYaw,
+                partialTick,
+                packedLight
+        );
     }
 
     /**
@@ -265,35 +276,7 @@ public class GeoEntityRenderer<T extends Entity & GeoAnimatable> extends EntityR
         poseStack.pushPose();
 
         LivingEntity livingEntity = animatable instanceof LivingEntity entity ? entity : null;
-
-        boolean shouldSit = animatable.isPassenger() && (animatable.getVehicle() != null);
-        float lerpBodyRot = livingEntity == null
-                ? 0
-                : Mth.rotLerp(
-                partialTick,
-                livingEntity.yBodyRotO,
-                livingEntity.yBodyRot
-        );
-        float lerpHeadRot = livingEntity == null
-                ? 0
-                : Mth.rotLerp(
-                partialTick,
-                livingEntity.yHeadRotO,
-                livingEntity.yHeadRot
-        );
-        float netHeadYaw = lerpHeadRot - lerpBodyRot;
-
-        if (shouldSit && animatable.getVehicle() instanceof LivingEntity livingentity) {
-            lerpBodyRot = Mth.rotLerp(partialTick, livingentity.yBodyRotO, livingentity.yBodyRot);
-            netHeadYaw = lerpHeadRot - lerpBodyRot;
-            float clampedHeadYaw = Mth.clamp(Mth.wrapDegrees(netHeadYaw), -85, 85);
-            lerpBodyRot = lerpHeadRot - clampedHeadYaw;
-
-            if (clampedHeadYaw * clampedHeadYaw > 2500f)
-                lerpBodyRot += clampedHeadYaw * 0.2f;
-
-            netHeadYaw = lerpHeadRot - lerpBodyRot;
-        }
+        float lerpBodyRot = getLerpBodyRot(animatable, partialTick);
 
         if (animatable.getPose() == Pose.SLEEPING && livingEntity != null) {
             Direction bedDirection = livingEntity.getBedOrientation();
@@ -311,53 +294,15 @@ public class GeoEntityRenderer<T extends Entity & GeoAnimatable> extends EntityR
 
         float nativeScale = livingEntity != null ? livingEntity.getScale() : 1;
         float ageInTicks = animatable.tickCount + partialTick;
-        float limbSwingAmount = 0;
-        float limbSwing = 0;
 
         poseStack.scale(nativeScale, nativeScale, nativeScale);
         applyRotations(animatable, poseStack, ageInTicks, lerpBodyRot, partialTick, nativeScale);
 
-        if (!shouldSit && animatable.isAlive() && livingEntity != null) {
-            limbSwingAmount = Mth.lerp(
-                    partialTick,
-                    livingEntity.walkAnimation.speedOld,
-                    livingEntity.walkAnimation.speed()
-            );
-            limbSwing = livingEntity.walkAnimation.position() - livingEntity.walkAnimation.speed() * (1 - partialTick);
-
-            if (livingEntity.isBaby())
-                limbSwing *= 3f;
-
-            if (limbSwingAmount > 1f)
-                limbSwingAmount = 1f;
-        }
-
         if (!isReRender) {
-            float headPitch = Mth.lerp(partialTick, animatable.xRotO, animatable.getXRot());
-            float motionThreshold = getMotionAnimThreshold(animatable);
-            Vec3 velocity = animatable.getDeltaMovement();
-            float avgVelocity = (float) (Math.abs(velocity.x) + Math.abs(velocity.z) / 2f);
-            AnimationState<T> animationState = new AnimationState<T>(
-                    animatable,
-                    limbSwing,
-                    limbSwingAmount,
-                    partialTick,
-                    avgVelocity >= motionThreshold && limbSwingAmount != 0
-            );
             long instanceId = getInstanceId(animatable);
 
-            animationState.setData(DataTickets.TICK, animatable.getTick(animatable));
-            animationState.setData(DataTickets.ENTITY, animatable);
-            animationState.setData(
-                    DataTickets.ENTITY_MODEL_DATA,
-                    new EntityModelData(
-                            shouldSit,
-                            livingEntity != null && livingEntity.isBaby(),
-                            -netHeadYaw,
-                            -headPitch
-                    )
-            );
-            this.model.addAdditionalStateData(animatable, instanceId, animationState::setData);
+            AnimationState<T> animationState = createAnimationState(animatable, instanceId, partialTick);
+
             this.model.handleAnimations(animatable, instanceId, animationState);
         }
 
@@ -384,6 +329,97 @@ public class GeoEntityRenderer<T extends Entity & GeoAnimatable> extends EntityR
         poseStack.popPose();
     }
 
+    /**
+     * Build the {@link AnimationState} used to animate the given entity for the current render frame.<br>
+     * This is used both by the render pass and by the {@link AnimationPrePass parallel animation pre-pass}
+     *
+     * @param animatable  The entity being animated
+     * @param instanceId  The unique instance id of the entity being animated
+     * @param partialTick The fraction of a tick that has passed since the last game tick
+     */
+    public AnimationState<T> createAnimationState(T animatable, long instanceId, float partialTick) {
+        LivingEntity livingEntity = animatable instanceof LivingEntity entity ? entity : null;
+        boolean shouldSit = animatable.isPassenger() && (animatable.getVehicle() != null);
+        float netHeadYaw = getLerpHeadRot(animatable, partialTick) - getLerpBodyRot(animatable, partialTick);
+        float limbSwingAmount = 0;
+        float limbSwing = 0;
+
+        if (!shouldSit && animatable.isAlive() && livingEntity != null) {
+            limbSwingAmount = Mth.lerp(
+                    partialTick,
+                    livingEntity.walkAnimation.speedOld,
+                    livingEntity.walkAnimation.speed()
+            );
+            limbSwing = livingEntity.walkAnimation.position() - livingEntity.walkAnimation.speed() * (1 - partialTick);
+
+            if (livingEntity.isBaby())
+                limbSwing *= 3f;
+
+            if (limbSwingAmount > 1f)
+                limbSwingAmount = 1f;
+        }
+
+        float headPitch = Mth.lerp(partialTick, animatable.xRotO, animatable.getXRot());
+        float motionThreshold = getMotionAnimThreshold(animatable);
+        Vec3 velocity = animatable.getDeltaMovement();
+        float avgVelocity = (float) (Math.abs(velocity.x) + Math.abs(velocity.z) / 2f);
+        AnimationState<T> animationState = new AnimationState<>(
+                animatable,
+                limbSwing,
+                limbSwingAmount,
+                partialTick,
+                avgVelocity >= motionThreshold && limbSwingAmount != 0,
+                animatable.getAnimatableInstanceCache().getManagerForId(instanceId).prepareAnimationStateData()
+        );
+
+        animationState.setData(DataTickets.TICK, animatable.getTick(animatable));
+        animationState.setData(DataTickets.ENTITY, animatable);
+        animationState.setData(
+                DataTickets.ENTITY_MODEL_DATA,
+                new EntityModelData(
+                        shouldSit,
+                        livingEntity != null && livingEntity.isBaby(),
+                        -netHeadYaw,
+                        -headPitch
+                )
+        );
+        this.model.addAdditionalStateData(animatable, instanceId, animationState::setData);
+
+        return animationState;
+    }
+
+    /**
+     * Get the interpolated head rotation of the given entity for the current render frame
+     */
+    protected float getLerpHeadRot(T animatable, float partialTick) {
+        if (!(animatable instanceof LivingEntity livingEntity))
+            return 0;
+
+        return Mth.rotLerp(partialTick, livingEntity.yHeadRotO, livingEntity.yHeadRot);
+    }
+
+    /**
+     * Get the interpolated body rotation of the given entity for the current render frame, clamped relative to the
+     * head rotation if the entity is riding another living entity
+     */
+    protected float getLerpBodyRot(T animatable, float partialTick) {
+        float lerpBodyRot = animatable instanceof LivingEntity livingEntity
+                ? Mth.rotLerp(partialTick, livingEntity.yBodyRotO, livingEntity.yBodyRot)
+                : 0;
+
+        if (animatable.isPassenger() && animatable.getVehicle() instanceof LivingEntity livingentity) {
+            float lerpHeadRot = getLerpHeadRot(animatable, partialTick);
+            lerpBodyRot = Mth.rotLerp(partialTick, livingentity.yBodyRotO, livingentity.yBodyRot);
+            float clampedHeadYaw = Mth.clamp(Mth.wrapDegrees(lerpHeadRot - lerpBodyRot), -85, 85);
+            lerpBodyRot = lerpHeadRot - clampedHeadYaw;
+
+            if (clampedHeadYaw * clampedHeadYaw > 2500f)
+                lerpBodyRot += clampedHeadYaw * 0.2f;
+        }
+
+        return lerpBodyRot;
+    }
+
     /**
      * Render the various {@link GeoRenderLayer RenderLayers} that have been registered to this renderer
      */
@@ -323,15 +323,22 @@ public class GeoItemRenderer<T extends Item & GeoAnimatable> extends BlockEntity
             float alpha
     ) {
         if (!isReRender) {
-            AnimationState<T> animationState = new AnimationState<>(animatable, 0, 0, partialTick, false);
             long instanceId = getInstanceId(animatable);
+            AnimationState<T> animationState = new AnimationState<>(
+                    animatable,
+                    0,
+                    0,
+                    partialTick,
+                    false,
+                    animatable.getAnimatableInstanceCache().getManagerForId(instanceId).prepareAnimationStateData()
+            );
 
             animationState.setData(DataTickets.TICK, animatable.getTick(this.currentItemStack));
             animationState.setData(DataTickets.ITEM_RENDER_PERSPECTIVE, this.renderPerspective);
             animationState.setData(DataTickets.ITEMSTACK, this.currentItemStack);
             animatable.getAnimatableInstanceCache()
                     .getManagerForId(instanceId)
-                    .setData(DataTickets.ITEM_RENDER_PERSPECTIVE, this.renderPerspective);
+                    .setRenderData(DataTickets.ITEM_RENDER_PERSPECTIVE, this.renderPerspective);
             this.model.addAdditionalStateData(animatable, instanceId, animationState::setData);
             this.model.handleAnimations(animatable, instanceId, animationState);
         }
@@ -209,8 +209,15 @@ public class GeoObjectRenderer<T extends GeoAnimatable> implements GeoRenderer<T
         poseStack.pushPose();
 
         if (!isReRender) {
-            AnimationState<T> animationState = new AnimationState<>(animatable, 0, 0, partialTick, false);
             long instanceId = getInstanceId(animatable);
+            AnimationState<T> animationState = new AnimationState<>(
+                    animatable,
+                    0,
+                    0,
+                    partialTick,
+                    false,
+                    animatable.getAnimatableInstanceCache().getManagerForId(instanceId).prepareAnimationStateData()
+            );
 
             this.model.addAdditionalStateData(animatable, instanceId, animationState::setData);
             this.model.handleAnimations(animatable, instanceId, animationState);
@@ -349,14 +349,15 @@ public class GeoReplacedEntityRenderer<E extends Entity, T extends GeoAnimatable
         }
 
         if (!isReRender) {
-            AnimationState<T> animationState = new AnimationState<T>(
+            long instanceId = getInstanceId(animatable);
+            AnimationState<T> animationState = new AnimationState<>(
                     animatable,
                     limbSwing,
                     limbSwingAmount,
                     partialTick,
-                    isMoving
+                    isMoving,
+                    animatable.getAnimatableInstanceCache().getManagerForId(instanceId).prepareAnimationStateData()
             );
-            long instanceId = getInstanceId(animatable);
 
             animationState.setData(DataTickets.TICK, animatable.getTick(this.currentEntity));
             animationState.setData(DataTickets.ENTITY, this.currentEntity);
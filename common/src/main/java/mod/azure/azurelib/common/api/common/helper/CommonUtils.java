@@ -1,11 +1,8 @@
 package mod.azure.azurelib.common.api.common.helper;
 
-import mod.azure.azurelib.common.internal.common.blocks.TickingLightEntity;
-import mod.azure.azurelib.common.internal.common.registry.AzureBlocksRegistry;
-import mod.azure.azurelib.common.internal.common.util.AzureLibUtil;
+import mod.azure.azurelib.common.internal.common.network.packet.DynamicLightPacket;
 import mod.azure.azurelib.common.platform.Services;
 import mod.azure.azurelib.common.platform.services.IPlatformHelper;
-import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.world.effect.MobEffect;
@@ -23,6 +20,8 @@ import org.jetbrains.annotations.Nullable;
 
 public record CommonUtils() {
 
+    private static final int LIGHT_LIFESPAN = 6;
+
     /**
      * Summons an Area of Effect Cloud with the set particle, y offset, radius, duration, and effect options.
      *
@@ -63,30 +62,20 @@ public record CommonUtils() {
     }
 
     /**
-     * Call wherever you are firing weapon to place the half tick light-block, making sure do so only on the server.
+     * Call wherever you are firing weapon to emit a short-lived light from the entity, making sure do so only on the
+     * server.<br>
+     * The light is rendered by the clients tracking the entity, and follows it until it expires. No blocks are placed.
      *
      * @param entity         Usually the player or mob that is using the weapon
-     * @param isInWaterBlock Checks if it's in a water block to refresh faster.
+     * @param isInWaterBlock Checks if it's in a water block to keep the light around for longer.
      */
     public static void spawnLightSource(Entity entity, boolean isInWaterBlock) {
-        BlockPos lightBlockPos = null;
-        if (lightBlockPos == null) {
-            lightBlockPos = AzureLibUtil.findFreeSpace(entity.level(), entity.blockPosition(), 2);
-            if (lightBlockPos == null)
-                return;
-            entity.level()
-                    .setBlockAndUpdate(
-                            lightBlockPos,
-                            AzureBlocksRegistry.TICKING_LIGHT_BLOCK.get().defaultBlockState()
-                    );
-        } else if (
-                AzureLibUtil.checkDistance(
-                        lightBlockPos,
-                        entity.blockPosition(),
-                        2
-                ) && entity.level().getBlockEntity(lightBlockPos) instanceof TickingLightEntity tickingLightEntity
-        ) {
-            tickingLightEntity.refresh(isInWaterBlock ? 20 : 0);
-        }
+        if (entity.level().isClientSide())
+            return;
+
+        Services.NETWORK.sendToTrackingEntityAndSelf(
+                new DynamicLightPacket(entity.getId(), isInWaterBlock ? LIGHT_LIFESPAN + 20 : LIGHT_LIFESPAN),
+                entity
+        );
     }
 }
@@ -0,0 +1,273 @@
+package mod.azure.azurelib.common.internal.client.renderer;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import mod.azure.azurelib.common.api.client.model.GeoModel;
+import mod.azure.azurelib.common.api.client.renderer.GeoEntityRenderer;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
+import mod.azure.azurelib.core.animatable.GeoAnimatable;
+import mod.azure.azurelib.core.animation.AnimatableManager;
+import mod.azure.azurelib.core.animation.AnimationState;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.client.renderer.entity.EntityRenderDispatcher;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.Vec3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Optional pre-pass that computes the animated poses of all visible {@link GeoEntityRenderer GeoEntities} on worker
+ * threads before the level is rendered.<br>
+ * Controller predicates, Molang queries and keyframe events are all handled on the render thread first, via
+ * {@link GeoModel#prepareDeferredAnimations}. Only the keyframe sampling that follows is run on the workers, writing to
+ * each instance's {@link mod.azure.azurelib.core.state.BonePoseBuffer BonePoseBuffer}, and is then picked up by
+ * {@link GeoModel#handleAnimations} during the render pass instead of being computed inline.<br>
+ * Entities sharing a {@link GeoModel} are sampled one after another on the same worker, as a model's animation
+ * processor is not thread-safe.<br>
+ * Enabled via {@code parallelAnimationPrePass} in the AzureLib config
+ */
+public final class AnimationPrePass {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnimationPrePass.class);
+
+    private static final Set<AnimatableManager<?>> PREPARED_MANAGERS = new ReferenceOpenHashSet<>();
+
+    private static final Set<String> REPORTED_FAILURES = ConcurrentHashMap.newKeySet();
+
+    private static ForkJoinPool pool = null;
+
+    private static int poolThreads = 0;
+
+    private AnimationPrePass() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Compute the poses of every visible {@code GeoEntity} in the given level for the coming render pass.<br>
+     * Must be called on the render thread
+     *
+     * @param level       The level about to be rendered
+     * @param camera      The camera the level is being rendered from
+     * @param frustum     The culling frustum for the current frame
+     * @param partialTick The fraction of a tick that has passed since the last game tick
+     */
+    public static void run(ClientLevel level, Camera camera, Frustum frustum, float partialTick) {
+        PREPARED_MANAGERS.clear();
+
+        if (AzureLibMod.config == null || !AzureLibMod.config.parallelAnimationPrePass)
+            return;
+
+        Map<GeoModel<?>, List<PreparedAnimation<?>>> jobsByModel = collectJobs(level, camera, frustum, partialTick);
+
+        // Nothing to gain over animating inline
+        if (jobsByModel.size() < 2)
+            return;
+
+        Queue<AnimatableManager<?>> preparedManagers = new ConcurrentLinkedQueue<>();
+        List<List<PreparedAnimation<?>>> samplingJobs = new ObjectArrayList<>(jobsByModel.size());
+
+        for (List<PreparedAnimation<?>> jobs : jobsByModel.values()) {
+            List<PreparedAnimation<?>> modelSamplingJobs = new ObjectArrayList<>(jobs.size());
+
+            for (PreparedAnimation<?> job : jobs) {
+                try {
+                    if (job.prepare()) {
+                        modelSamplingJobs.add(job);
+                    } else {
+                        preparedManagers.add(job.manager());
+                    }
+                } catch (RuntimeException ex) {
+                    reportFailure(job, ex);
+                }
+            }
+
+            if (!modelSamplingJobs.isEmpty())
+                samplingJobs.add(modelSamplingJobs);
+        }
+
+        ForkJoinPool workers = getPool();
+        List<ForkJoinTask<?>> tasks = new ObjectArrayList<>(samplingJobs.size());
+
+        for (List<PreparedAnimation<?>> jobs : samplingJobs) {
+            tasks.add(workers.submit(() -> runJobs(jobs, preparedManagers)));
+        }
+
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException ex) {
+                if (REPORTED_FAILURES.add(ex.getClass().getName()))
+                    LOGGER.error("Animation pre-pass task failed, affected entities will be animated inline", ex);
+            }
+        }
+
+        PREPARED_MANAGERS.addAll(preparedManagers);
+    }
+
+    /**
+     * Check whether the pose of the given {@link AnimatableManager} was computed by the pre-pass for the current frame,
+     * consuming the result if so.<br>
+     * Must be called on the render thread
+     */
+    public static boolean consumePreparedPose(AnimatableManager<?> animatableManager) {
+        return !PREPARED_MANAGERS.isEmpty() && PREPARED_MANAGERS.remove(animatableManager);
+    }
+
+    private static Map<GeoModel<?>, List<PreparedAnimation<?>>> collectJobs(
+            ClientLevel level,
+            Camera camera,
+            Frustum frustum,
+            float partialTick
+    ) {
+        EntityRenderDispatcher dispatcher = Minecraft.getInstance().getEntityRenderDispatcher();
+        Vec3 cameraPos = camera.getPosition();
+        Map<GeoModel<?>, List<PreparedAnimation<?>>> jobsByModel = new Reference2ObjectLinkedOpenHashMap<>();
+
+        for (Entity entity : level.entitiesForRendering()) {
+            if (!(entity instanceof GeoAnimatable))
+                continue;
+
+            if (!(dispatcher.getRenderer(entity) instanceof GeoEntityRenderer<?> renderer))
+                continue;
+
+            if (entity == camera.getEntity() && !camera.isDetached() && !isSleeping(entity))
+                continue;
+
+            if (!dispatcher.shouldRender(entity, frustum, cameraPos.x, cameraPos.y, cameraPos.z))
+                continue;
+
+            jobsByModel.computeIfAbsent(renderer.getGeoModel(), model -> new ObjectArrayList<>())
+                    .add(createJob(renderer, entity, partialTick));
+        }
+
+        return jobsByModel;
+    }
+
+    private static boolean isSleeping(Entity entity) {
+        return entity instanceof LivingEntity livingEntity && livingEntity.isSleeping();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Entity & GeoAnimatable> PreparedAnimation<T> createJob(
+            GeoEntityRenderer<T> renderer,
+            Entity entity,
+            float partialTick
+    ) {
+        T animatable = (T) entity;
+        long instanceId = renderer.getInstanceId(animatable);
+
+        return new PreparedAnimation<>(
+                renderer.getGeoModel(),
+                animatable,
+                instanceId,
+                renderer.createAnimationState(animatable, instanceId, partialTick)
+        );
+    }
+
+    private static void runJobs(List<PreparedAnimation<?>> jobs, Queue<AnimatableManager<?>> preparedManagers) {
+        for (PreparedAnimation<?> job : jobs) {
+            try {
+                job.sample();
+                preparedManagers.add(job.manager());
+            } catch (RuntimeException ex) {
+                reportFailure(job, ex);
+            }
+        }
+    }
+
+    /**
+     * Log a failure to prepare animations for the given job, only once for each type of animatable and error
+     */
+    private static void reportFailure(PreparedAnimation<?> job, RuntimeException ex) {
+        String key = job.animatable().getType().toString() + '/' + ex.getClass().getName();
+
+        if (REPORTED_FAILURES.add(key))
+            LOGGER.error(
+                    "Failed to prepare animations for {}, it will be animated inline",
+                    job.animatable(),
+                    ex
+            );
+    }
+
+    private static ForkJoinPool getPool() {
+        int threads = AzureLibMod.config.animationPrePassThreads;
+
+        if (threads <= 0)
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        if (pool == null || poolThreads != threads) {
+            if (pool != null)
+                pool.shutdown();
+
+            pool = new ForkJoinPool(threads, AnimationPrePass::createWorker, null, false);
+            poolThreads = threads;
+        }
+
+        return pool;
+    }
+
+    private static ForkJoinWorkerThread createWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+        worker.setName("AzureLib Animation Worker-" + worker.getPoolIndex());
+        worker.setContextClassLoader(AnimationPrePass.class.getClassLoader());
+
+        return worker;
+    }
+
+    private static final class PreparedAnimation<T extends Entity & GeoAnimatable> {
+        private final GeoModel<T> model;
+        private final T animatable;
+        private final long instanceId;
+        private final AnimationState<T> animationState;
+        private Runnable sampler = null;
+
+        private PreparedAnimation(GeoModel<T> model, T animatable, long instanceId, AnimationState<T> animationState) {
+            this.model = model;
+            this.animatable = animatable;
+            this.instanceId = instanceId;
+            this.animationState = animationState;
+        }
+
+        T animatable() {
+            return this.animatable;
+        }
+
+        AnimatableManager<T> manager() {
+            return this.animatable.getAnimatableInstanceCache().getManagerForId(this.instanceId);
+        }
+
+        /**
+         * Run the controllers and Molang queries for this job's instance on the render thread
+         *
+         * @return Whether the instance's pose still needs to be sampled
+         */
+        boolean prepare() {
+            this.sampler = this.model.prepareDeferredAnimations(this.animatable, this.instanceId, this.animationState);
+
+            return this.sampler != null;
+        }
+
+        /**
+         * Sample the pose for this job's instance. Safe to call off the render thread
+         */
+        void sample() {
+            this.sampler.run();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package mod.azure.azurelib.common.internal.client.renderer;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+
+import java.util.Iterator;
+
+/**
+ * Client-side registry of short-lived light sources attached to entities, such as muzzle flashes.<br>
+ * Lights are never placed in the world. Instead, their block light is added on top of the level's own light wherever
+ * the level renderer and entity renderers sample it, and the render sections around a light are rebuilt when it moves
+ * or expires.<br>
+ * Light falls off by one level per block of taxicab distance, matching vanilla block light.<br>
+ * Each light belongs to the level it was added in, and is dropped once the client moves to another level or disconnects
+ */
+public final class DynamicLights {
+
+    private static final int LUMINANCE = 15;
+
+    private static final long NO_POSITION = Long.MIN_VALUE;
+
+    private static final long[] NO_LIGHTS = new long[0];
+
+    private static final Int2ObjectMap<Source> SOURCES = new Int2ObjectOpenHashMap<>();
+
+    // Read from the section compile threads, so only ever replaced as a whole
+    private static volatile long[] positions = NO_LIGHTS;
+
+    private DynamicLights() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Attach a light to the given entity, or extend its existing light.<br>
+     * Must be called on the client thread
+     *
+     * @param entityId The id of the entity emitting the light
+     * @param lifespan The number of ticks the light should last for
+     */
+    public static void addLight(int entityId, int lifespan) {
+        ClientLevel level = Minecraft.getInstance().level;
+
+        if (level == null)
+            return;
+
+        long expiresAt = level.getGameTime() + lifespan;
+        Source source = SOURCES.get(entityId);
+
+        if (source == null || source.level != level) {
+            SOURCES.put(entityId, new Source(level, entityId, expiresAt));
+        } else {
+            source.expiresAt = Math.max(source.expiresAt, expiresAt);
+        }
+    }
+
+    /**
+     * Move all lights to their entity's current position, removing any that have expired.<br>
+     * Called on the render thread before the level's render sections are set up for the frame
+     */
+    public static void update(ClientLevel level) {
+        if (SOURCES.isEmpty())
+            return;
+
+        LevelRenderer levelRenderer = Minecraft.getInstance().levelRenderer;
+        long time = level.getGameTime();
+        boolean moved = false;
+
+        for (Iterator<Source> iterator = SOURCES.values().iterator(); iterator.hasNext(); ) {
+            Source source = iterator.next();
+
+            // The old level's render sections are already gone, so there is nothing to mark dirty
+            if (source.level != level) {
+                iterator.remove();
+                moved = true;
+
+                continue;
+            }
+
+            Entity entity = level.getEntity(source.entityId);
+            long position = entity == null || time >= source.expiresAt ? NO_POSITION : getLightPosition(entity);
+
+            if (position != source.position) {
+                markSectionsDirty(levelRenderer, source.position);
+                markSectionsDirty(levelRenderer, position);
+
+                source.position = position;
+                moved = true;
+            }
+
+            if (position == NO_POSITION)
+                iterator.remove();
+        }
+
+        if (moved) {
+            LongArrayList lightPositions = new LongArrayList(SOURCES.size());
+
+            for (Source source : SOURCES.values()) {
+                lightPositions.add(source.position);
+            }
+
+            positions = lightPositions.toLongArray();
+        }
+    }
+
+    /**
+     * Remove all lights.<br>
+     * Called on the client thread when the client disconnects from its level
+     */
+    public static void clear() {
+        SOURCES.clear();
+
+        positions = NO_LIGHTS;
+    }
+
+    /**
+     * Get the dynamic block light level at the given position
+     */
+    public static int getLightLevel(BlockPos pos) {
+        long[] lights = positions;
+        int light = 0;
+
+        for (long lightPos : lights) {
+            int distance = Math.abs(BlockPos.getX(lightPos) - pos.getX())
+                    + Math.abs(BlockPos.getY(lightPos) - pos.getY())
+                    + Math.abs(BlockPos.getZ(lightPos) - pos.getZ());
+
+            light = Math.max(light, LUMINANCE - distance);
+        }
+
+        return light;
+    }
+
+    /**
+     * Raise the block light of the given packed light coordinates to the dynamic light level at the given position,
+     * if it is higher
+     */
+    public static int applyTo(int packedLight, BlockPos pos) {
+        if (positions.length == 0)
+            return packedLight;
+
+        int light = getLightLevel(pos);
+
+        if (light <= LightTexture.block(packedLight))
+            return packedLight;
+
+        return LightTexture.pack(light, LightTexture.sky(packedLight));
+    }
+
+    private static long getLightPosition(Entity entity) {
+        return BlockPos.asLong(Mth.floor(entity.getX()), Mth.floor(entity.getEyeY()), Mth.floor(entity.getZ()));
+    }
+
+    /**
+     * Mark the render sections a light at the given position can reach as needing a rebuild
+     */
+    private static void markSectionsDirty(LevelRenderer levelRenderer, long position) {
+        if (position == NO_POSITION)
+            return;
+
+        int sectionX = SectionPos.blockToSectionCoord(BlockPos.getX(position));
+        int sectionY = SectionPos.blockToSectionCoord(BlockPos.getY(position));
+        int sectionZ = SectionPos.blockToSectionCoord(BlockPos.getZ(position));
+
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                for (int z = -1; z <= 1; z++) {
+                    levelRenderer.setSectionDirty(sectionX + x, sectionY + y, sectionZ + z);
+                }
+            }
+        }
+    }
+
+    private static final class Source {
+
+        private final ClientLevel level;
+
+        private final int entityId;
+
+        private long expiresAt;
+
+        private long position = NO_POSITION;
+
+        private Source(ClientLevel level, int entityId, long expiresAt) {
+            this.level = level;
+            this.entityId = entityId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
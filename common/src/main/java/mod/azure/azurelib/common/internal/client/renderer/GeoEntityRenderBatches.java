@@ -0,0 +1,146 @@
+package mod.azure.azurelib.common.internal.client.renderer;
+
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import mod.azure.azurelib.common.api.client.renderer.GeoEntityRenderer;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Optional batching of {@link GeoEntityRenderer GeoEntity} geometry by {@link RenderType} for the level's entity
+ * pass.<br>
+ * Vanilla entity render types without a dedicated buffer all share a single buffer, which is drawn every time a
+ * different render type is requested. With many different entities on screen this results in a draw call per entity,
+ * even for crowds of the same entity type. While enabled, GeoEntities instead write into a retained buffer per render
+ * type, which are all drawn once after the last entity has been rendered, so draw calls scale with the number of model
+ * and texture combinations rather than the number of entities.<br>
+ * Render types that need sorting or can't consolidate consecutive geometry are passed through untouched.<br>
+ * Enabled via {@code batchGeoEntityRendering} in the AzureLib config
+ */
+public final class GeoEntityRenderBatches implements MultiBufferSource {
+
+    private static final int EVICT_AFTER_FRAMES = 600;
+
+    private static GeoEntityRenderBatches instance = null;
+
+    private final MultiBufferSource.BufferSource parent;
+
+    private final Map<RenderType, Batch> batches = new Object2ObjectLinkedOpenHashMap<>();
+
+    private boolean collecting = false;
+
+    private int frame = 0;
+
+    private GeoEntityRenderBatches(MultiBufferSource.BufferSource parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Start collecting GeoEntity geometry for the coming entity pass.<br>
+     * Must be called on the render thread
+     */
+    public static void begin() {
+        if (AzureLibMod.config == null || !AzureLibMod.config.batchGeoEntityRendering) {
+            if (instance != null)
+                instance.collecting = false;
+
+            return;
+        }
+
+        if (instance == null)
+            instance = new GeoEntityRenderBatches(Minecraft.getInstance().renderBuffers().bufferSource());
+
+        instance.collecting = true;
+    }
+
+    /**
+     * Draw all geometry collected since {@link #begin()} and stop collecting.<br>
+     * Must be called on the render thread, while the level's render state is still active
+     */
+    public static void end() {
+        if (instance == null)
+            return;
+
+        instance.collecting = false;
+        instance.drawAll();
+    }
+
+    /**
+     * Get the {@link MultiBufferSource} a GeoEntity should render into.<br>
+     * Returns the batched source if batching is active and the given source is the level's main buffer source, or the
+     * given source otherwise
+     */
+    public static MultiBufferSource wrap(MultiBufferSource bufferSource) {
+        if (instance == null || !instance.collecting || bufferSource != instance.parent)
+            return bufferSource;
+
+        return instance;
+    }
+
+    @Override
+    public VertexConsumer getBuffer(RenderType renderType) {
+        if (!renderType.canConsolidateConsecutiveGeometry() || renderType.sortOnUpload())
+            return this.parent.getBuffer(renderType);
+
+        return this.batches.computeIfAbsent(renderType, Batch::new).begin(this.frame);
+    }
+
+    private void drawAll() {
+        this.frame++;
+
+        for (Iterator<Batch> iterator = this.batches.values().iterator(); iterator.hasNext(); ) {
+            Batch batch = iterator.next();
+
+            batch.draw();
+
+            if (this.frame - batch.lastUsedFrame > EVICT_AFTER_FRAMES) {
+                batch.buffer.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Batch {
+
+        private final RenderType renderType;
+
+        private final ByteBufferBuilder buffer;
+
+        private BufferBuilder builder = null;
+
+        private int lastUsedFrame = 0;
+
+        private Batch(RenderType renderType) {
+            this.renderType = renderType;
+            this.buffer = new ByteBufferBuilder(renderType.bufferSize());
+        }
+
+        private BufferBuilder begin(int frame) {
+            this.lastUsedFrame = frame;
+
+            if (this.builder == null)
+                this.builder = new BufferBuilder(this.buffer, this.renderType.mode(), this.renderType.format());
+
+            return this.builder;
+        }
+
+        private void draw() {
+            if (this.builder == null)
+                return;
+
+            MeshData meshData = this.builder.build();
+            this.builder = null;
+
+            if (meshData != null)
+                this.renderType.draw(meshData);
+        }
+    }
+}
@@ -560,7 +560,10 @@ public interface GeoRenderer<T extends GeoAnimatable> {
     }
 
     /**
-     * Renders the {@link GeoCube GeoCubes} associated with a given {@link GeoBone}
+     * Renders the {@link GeoCube GeoCubes} associated with a given {@link GeoBone}.<br>
+     * This submits the bone's retained {@link GeoBoneMesh}, unless this renderer overrides
+     * {@link GeoRenderer#renderCube} or {@link GeoRenderer#createVerticesOfQuad}, in which case each cube is rendered
+     * through {@link GeoRenderer#renderCubesOfBoneImmediate} so that those overrides still apply
      */
     default void renderCubesOfBone(
             PoseStack poseStack,
@@ -576,6 +579,43 @@ public interface GeoRenderer<T extends GeoAnimatable> {
         if (bone.isHidden())
             return;
 
+        if (!GeoRendererOverrides.usesBakedMesh(this)) {
+            renderCubesOfBoneImmediate(
+                    poseStack,
+                    bone,
+                    buffer,
+                    packedLight,
+                    packedOverlay,
+                    red,
+                    green,
+                    blue,
+                    alpha
+            );
+
+            return;
+        }
+
+        bone.getBakedMesh().render(poseStack.last(), buffer, packedLight, packedOverlay);
+    }
+
+    /**
+     * Renders the {@link GeoCube GeoCubes} associated with a given {@link GeoBone} one at a time through
+     * {@link GeoRenderer#renderCube}, rather than through its retained {@link GeoBoneMesh}
+     */
+    default void renderCubesOfBoneImmediate(
+            PoseStack poseStack,
+            GeoBone bone,
+            VertexConsumer buffer,
+            int packedLight,
+            int packedOverlay,
+            float red,
+            float green,
+            float blue,
+            float alpha
+    ) {
+        if (bone.isHidden())
+            return;
+
         for (GeoCube cube : bone.getCubes()) {
             poseStack.pushPose();
             renderCube(poseStack, cube, buffer, packedLight, packedOverlay, red, green, blue, alpha);
@@ -647,7 +687,7 @@ public interface GeoRenderer<T extends GeoAnimatable> {
         RenderUtils.translateAwayFromPivotPoint(poseStack, cube);
 
         Matrix3f normalisedPoseState = poseStack.last().normal();
-        Matrix4f poseState = new Matrix4f(poseStack.last().pose());
+        Matrix4f poseState = poseStack.last().pose();
 
         for (GeoQuad quad : cube.quads()) {
             if (quad == null)
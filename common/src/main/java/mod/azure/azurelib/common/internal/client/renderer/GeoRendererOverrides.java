@@ -0,0 +1,69 @@
+package mod.azure.azurelib.common.internal.client.renderer;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoBoneMesh;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoCube;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoQuad;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * Tracks which {@link GeoRenderer} implementations can render bones through their retained {@link GeoBoneMesh}.<br>
+ * Renderers that override {@link GeoRenderer#renderCube} or {@link GeoRenderer#createVerticesOfQuad} render each cube
+ * through those methods instead, so that their overrides still apply
+ */
+final class GeoRendererOverrides {
+
+    private static final ClassValue<Boolean> USES_BAKED_MESH = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isDefault(
+                    type,
+                    "renderCube",
+                    PoseStack.class,
+                    GeoCube.class,
+                    VertexConsumer.class,
+                    int.class,
+                    int.class,
+                    float.class,
+                    float.class,
+                    float.class,
+                    float.class
+            ) && isDefault(
+                    type,
+                    "createVerticesOfQuad",
+                    GeoQuad.class,
+                    Matrix4f.class,
+                    Vector3f.class,
+                    VertexConsumer.class,
+                    int.class,
+                    int.class,
+                    float.class,
+                    float.class,
+                    float.class,
+                    float.class
+            );
+        }
+    };
+
+    private GeoRendererOverrides() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Whether the given renderer uses the default {@link GeoRenderer#renderCube} and
+     * {@link GeoRenderer#createVerticesOfQuad}, and so can render bones through their retained {@link GeoBoneMesh}
+     */
+    static boolean usesBakedMesh(GeoRenderer<?> renderer) {
+        return USES_BAKED_MESH.get(renderer.getClass());
+    }
+
+    private static boolean isDefault(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes).getDeclaringClass() == GeoRenderer.class;
+        } catch (NoSuchMethodException ex) {
+            return true;
+        }
+    }
+}
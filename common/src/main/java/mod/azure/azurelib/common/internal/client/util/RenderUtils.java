@@ -40,6 +40,8 @@ import org.joml.Vector3f;
  */
 public record RenderUtils() {
 
+    private static volatile Vec3 frameCameraPosition = Vec3.ZERO;
+
     public static void translateMatrixToBone(PoseStack poseStack, CoreGeoBone bone) {
         poseStack.translate(-bone.getPosX() / 16f, bone.getPosY() / 16f, bone.getPosZ() / 16f);
     }
@@ -167,6 +169,22 @@ public record RenderUtils() {
         return Blaze3D.getTime() * 20d;
     }
 
+    /**
+     * Record the position of the camera for the level frame about to be rendered.<br>
+     * Called once per frame on the render thread
+     */
+    public static void setFrameCameraPosition(Vec3 position) {
+        frameCameraPosition = position;
+    }
+
+    /**
+     * Get the position of the camera recorded at the start of the current level frame.<br>
+     * Unlike the camera itself, this is safe to read from any thread
+     */
+    public static Vec3 getFrameCameraPosition() {
+        return frameCameraPosition;
+    }
+
     /**
      * Returns a float equivalent of a boolean.<br>
      * Output table:
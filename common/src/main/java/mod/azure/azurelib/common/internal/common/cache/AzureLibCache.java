@@ -1,9 +1,10 @@
 package mod.azure.azurelib.common.internal.common.cache;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import mod.azure.azurelib.common.internal.common.AzureLib;
 import mod.azure.azurelib.common.internal.common.AzureLibException;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
 import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
 import mod.azure.azurelib.common.internal.common.loading.FileLoader;
 import mod.azure.azurelib.common.internal.common.loading.json.FormatVersion;
@@ -13,22 +14,33 @@ import mod.azure.azurelib.common.internal.common.loading.object.BakedModelFactor
 import mod.azure.azurelib.common.internal.common.loading.object.GeometryTree;
 import mod.azure.azurelib.core.animatable.model.CoreGeoModel;
 import mod.azure.azurelib.core.animation.Animation;
+import mod.azure.azurelib.core.molang.MolangParser;
 import net.minecraft.client.Minecraft;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.PreparableReloadListener.PreparationBarrier;
 import net.minecraft.server.packs.resources.ReloadableResourceManager;
+import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.util.profiling.ProfilerFiller;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
-import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 /**
  * Cache class for holding loaded {@link Animation Animations} and {@link CoreGeoModel Models}
@@ -47,6 +59,12 @@ public final class AzureLibCache {
 
     private static Map<ResourceLocation, BakedGeoModel> MODELS = Collections.emptyMap();
 
+    private static Map<ResourceLocation, String> RESOURCE_HASHES = Collections.emptyMap();
+
+    private static boolean lastCompileExpressions = true;
+
+    private static ResourceReloadStatistics lastStatistics = ResourceReloadStatistics.EMPTY;
+
     private AzureLibCache() {
         throw new UnsupportedOperationException();
     }
@@ -65,6 +83,13 @@ public final class AzureLibCache {
         return MODELS;
     }
 
+    /**
+     * Get the load statistics of the most recently completed reload
+     */
+    public static ResourceReloadStatistics getLastReloadStatistics() {
+        return lastStatistics;
+    }
+
     public static void registerReloadListener() {
         Minecraft mc = Minecraft.getInstance();
 
@@ -86,31 +111,94 @@ public final class AzureLibCache {
             Executor backgroundExecutor,
             Executor gameExecutor
     ) {
-        Map<ResourceLocation, BakedAnimations> animations = new Object2ObjectOpenHashMap<>();
-        Map<ResourceLocation, BakedGeoModel> models = new Object2ObjectOpenHashMap<>();
+        Map<ResourceLocation, BakedAnimations> animations = new ConcurrentHashMap<>();
+        Map<ResourceLocation, BakedGeoModel> models = new ConcurrentHashMap<>();
+        Map<ResourceLocation, String> hashes = new ConcurrentHashMap<>();
+        boolean compileExpressions = AzureLibMod.config == null || AzureLibMod.config.compileMolangExpressions;
+        ResourceReloadStatistics statistics = new ResourceReloadStatistics();
+        ReloadContext context = new ReloadContext(
+                statistics,
+                hashes,
+                isIncrementalReload() ? RESOURCE_HASHES : Collections.emptyMap(),
+                compileExpressions == lastCompileExpressions ? ANIMATIONS : Collections.emptyMap(),
+                MODELS
+        );
+
+        MolangParser.INSTANCE.setCompileExpressions(compileExpressions);
+        BakedResourceCache.beginReload();
 
         return CompletableFuture
                 .allOf(
-                        loadAnimations(backgroundExecutor, resourceManager, animations::put),
-                        loadModels(backgroundExecutor, resourceManager, models::put)
+                        loadAnimations(backgroundExecutor, resourceManager, context, animations::put),
+                        loadModels(backgroundExecutor, resourceManager, context, models::put)
                 )
+                .thenRunAsync(() -> {
+                    BakedResourceCache.finishReload();
+                    statistics.finish();
+                }, backgroundExecutor)
                 .thenCompose(stage::wait)
                 .thenAcceptAsync(empty -> {
                     AzureLibCache.ANIMATIONS = animations;
                     AzureLibCache.MODELS = models;
+                    AzureLibCache.RESOURCE_HASHES = hashes;
+                    AzureLibCache.lastCompileExpressions = compileExpressions;
+                    AzureLibCache.lastStatistics = statistics;
+
+                    if (AzureLibMod.config != null && AzureLibMod.config.logResourceReloadStats)
+                        statistics.log();
+
+                    if (isIncrementalReload()) {
+                        AzureLib.LOGGER.debug(
+                                "Reused {} unchanged models and animations, baked {}",
+                                context.reused.get(),
+                                hashes.size() - context.reused.get()
+                        );
+                    }
                 }, gameExecutor);
     }
 
+    /**
+     * Whether resources that haven't changed since the last reload should keep their existing baked instance rather
+     * than being baked again.<br>
+     * Enabled via {@code incrementalResourceReload} in the AzureLib config
+     */
+    public static boolean isIncrementalReload() {
+        return AzureLibMod.config != null && AzureLibMod.config.incrementalResourceReload;
+    }
+
     private static CompletableFuture<Void> loadAnimations(
             Executor backgroundExecutor,
             ResourceManager resourceManager,
+            ReloadContext context,
             BiConsumer<ResourceLocation, BakedAnimations> elementConsumer
     ) {
         return loadResources(
                 backgroundExecutor,
                 resourceManager,
+                context,
                 "animations",
-                resource -> FileLoader.loadAnimationsFile(resource, resourceManager),
+                (resource, contents, stats) -> {
+                    BakedAnimations animations = context.bakeIfChanged(
+                            resource,
+                            contents,
+                            stats,
+                            context.previousAnimations,
+                            BakedResourceCache.ANIMATIONS,
+                            () -> {
+                                long startTime = System.nanoTime();
+                                BakedAnimations bakedAnimations = FileLoader.loadAnimationsFile(resource, contents);
+
+                                // Animations are baked as they're parsed, so there's no separate bake time
+                                stats.addParseTime(System.nanoTime() - startTime);
+
+                                return bakedAnimations;
+                            }
+                    );
+
+                    stats.finish(animations);
+
+                    return animations;
+                },
                 elementConsumer
         );
     }
@@ -118,44 +206,237 @@ public final class AzureLibCache {
     private static CompletableFuture<Void> loadModels(
             Executor backgroundExecutor,
             ResourceManager resourceManager,
+            ReloadContext context,
             BiConsumer<ResourceLocation, BakedGeoModel> elementConsumer
     ) {
-        return loadResources(backgroundExecutor, resourceManager, "geo", resource -> {
-            Model model = FileLoader.loadModelFile(resource, resourceManager);
+        return loadResources(backgroundExecutor, resourceManager, context, "geo", (resource, contents, stats) -> {
+            BakedModelFactory factory = BakedModelFactory.getForNamespace(resource.getNamespace());
 
-            if (model.formatVersion() != FormatVersion.V_1_12_0)
-                throw new AzureLibException(resource, "Unsupported geometry json version. Supported versions: 1.12.0");
+            BakedGeoModel model = context.bakeIfChanged(
+                    resource,
+                    contents,
+                    stats,
+                    context.previousModels,
+                    // Custom factories may build their own model types, so only the builtin factory's output is cached
+                    factory == BakedModelFactory.DEFAULT_FACTORY ? BakedResourceCache.MODELS : null,
+                    () -> bakeModel(resource, factory, contents, stats)
+            );
 
-            return BakedModelFactory.getForNamespace(resource.getNamespace())
-                    .constructGeoModel(GeometryTree.fromModel(model));
+            stats.finish(model);
+
+            return model;
         }, elementConsumer);
     }
 
+    private static BakedGeoModel bakeModel(
+            ResourceLocation resource,
+            BakedModelFactory factory,
+            byte[] contents,
+            ResourceReloadStatistics.FileStats stats
+    ) {
+        long startTime = System.nanoTime();
+        Model model = FileLoader.loadModelFile(resource, contents);
+
+        stats.addParseTime(System.nanoTime() - startTime);
+
+        if (model.formatVersion() != FormatVersion.V_1_12_0)
+            throw new AzureLibException(resource, "Unsupported geometry json version. Supported versions: 1.12.0");
+
+        startTime = System.nanoTime();
+        BakedGeoModel bakedModel = factory.constructGeoModel(GeometryTree.fromModel(model));
+
+        stats.addBakeTime(System.nanoTime() - startTime);
+
+        return bakedModel;
+    }
+
+    /**
+     * Load all resources of the given type, skipping any in {@link #EXCLUDED_NAMESPACES}.<br>
+     * Files are read, parsed and baked largest first by a fixed set of workers that each take the next remaining file
+     * as soon as they finish their last. This stops a few oversized files at the end of the list from holding up the
+     * reload while the rest of the executor sits idle.<br>
+     * Files are ordered by an estimate of their size taken without reading them, and each worker only reads a file once
+     * it's ready to bake it, so no more than one file per worker is held in memory at a time.<br>
+     * Results are passed to the given consumer as each one finishes, so it must be thread-safe
+     */
     private static <T> CompletableFuture<Void> loadResources(
             Executor executor,
             ResourceManager resourceManager,
+            ReloadContext context,
             String type,
-            Function<ResourceLocation, T> loader,
+            ResourceLoader<T> loader,
             BiConsumer<ResourceLocation, T> map
     ) {
-        return CompletableFuture.supplyAsync(
-                        () -> resourceManager.listResources(type, fileName -> fileName.toString().endsWith(".json")),
-                        executor
-                )
-                .thenApplyAsync(resources -> {
-                    Map<ResourceLocation, CompletableFuture<T>> tasks = new Object2ObjectOpenHashMap<>();
+        return CompletableFuture.supplyAsync(() -> listResources(resourceManager, type), executor)
+                .thenCompose(resources -> runWorkers(executor, context.statistics, type, resources.size(), index -> {
+                    ResourceLocation resource = resources.get(index).location();
+                    ResourceReloadStatistics.FileStats stats = context.statistics.begin(resource, type);
+                    byte[] contents = FileLoader.getFileBytes(resource, resourceManager);
 
-                    for (ResourceLocation resource : resources.keySet()) {
-                        tasks.put(resource, CompletableFuture.supplyAsync(() -> loader.apply(resource), executor));
-                    }
+                    stats.contentsRead(contents.length);
+                    stats.beginBaking();
+                    map.accept(resource, loader.load(resource, contents, stats));
+                }));
+    }
+
+    /**
+     * List the resources of the given type, largest first
+     */
+    private static List<PendingResource> listResources(ResourceManager resourceManager, String type) {
+        List<PendingResource> resources = new ObjectArrayList<>();
+
+        for (Map.Entry<ResourceLocation, Resource> entry : resourceManager.listResources(
+                type,
+                fileName -> fileName.toString().endsWith(".json")
+        ).entrySet()) {
+            if (!EXCLUDED_NAMESPACES.contains(entry.getKey().getNamespace().toLowerCase(Locale.ROOT)))
+                resources.add(new PendingResource(entry.getKey(), estimateSize(entry.getValue())));
+        }
+
+        resources.sort(Comparator.comparingInt(PendingResource::estimatedSize).reversed());
 
-                    return tasks;
-                }, executor)
-                .thenAcceptAsync(tasks -> {
-                    for (Entry<ResourceLocation, CompletableFuture<T>> entry : tasks.entrySet()) {
-                        if (!EXCLUDED_NAMESPACES.contains(entry.getKey().getNamespace().toLowerCase(Locale.ROOT)))
-                            map.accept(entry.getKey(), entry.getValue().join());
+        return resources;
+    }
+
+    /**
+     * Estimate the size of the given resource without reading it, from the number of bytes its stream reports as
+     * available once opened.<br>
+     * For files in folders and zip archives this is the size of the file's uncompressed contents. Files whose size
+     * can't be estimated are treated as empty, and so are loaded last
+     */
+    private static int estimateSize(Resource resource) {
+        try (InputStream in = resource.open()) {
+            return in.available();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Run the given task once for each index below {@code count}, spread across one worker per executor thread.<br>
+     * Each worker claims the next unclaimed index as soon as it finishes its last, so a slow task only holds up the
+     * worker running it. The workers' utilisation is recorded to the given statistics once they're all done
+     */
+    private static CompletableFuture<Void> runWorkers(
+            Executor executor,
+            ResourceReloadStatistics statistics,
+            String phase,
+            int count,
+            IntConsumer task
+    ) {
+        int workers = Math.min(count, getParallelism(executor));
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicLong busyNanos = new AtomicLong();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < workers; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                long workerStartTime = System.nanoTime();
+
+                try {
+                    for (int index = nextIndex.getAndIncrement(); index < count; index = nextIndex.getAndIncrement()) {
+                        task.accept(index);
                     }
-                }, executor);
+                } finally {
+                    busyNanos.addAndGet(System.nanoTime() - workerStartTime);
+                }
+            }, executor);
+        }
+
+        return CompletableFuture.allOf(futures).thenRun(() -> statistics.recordPhase(
+                phase,
+                count,
+                workers,
+                busyNanos.get(),
+                System.nanoTime() - startTime
+        ));
+    }
+
+    private static int getParallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool pool)
+            return pool.getParallelism();
+
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    @FunctionalInterface
+    private interface ResourceLoader<T> {
+
+        T load(ResourceLocation resource, byte[] contents, ResourceReloadStatistics.FileStats stats);
+    }
+
+    /**
+     * A file waiting to be loaded, along with an estimate of its size
+     */
+    private record PendingResource(
+            ResourceLocation location,
+            int estimatedSize
+    ) {
+    }
+
+    /**
+     * State shared by the loading tasks of a single reload
+     *
+     * @param statistics         The load statistics being recorded for this reload
+     * @param hashes             The content hashes of the resources loaded by this reload
+     * @param previousHashes     The content hashes of the resources loaded by the last reload, or an empty map if
+     *                           baked resources shouldn't be reused
+     * @param previousAnimations The animations baked by the last reload
+     * @param previousModels     The models baked by the last reload
+     * @param reused             The number of resources that kept their existing baked instance
+     */
+    private record ReloadContext(
+            ResourceReloadStatistics statistics,
+            Map<ResourceLocation, String> hashes,
+            Map<ResourceLocation, String> previousHashes,
+            Map<ResourceLocation, BakedAnimations> previousAnimations,
+            Map<ResourceLocation, BakedGeoModel> previousModels,
+            AtomicInteger reused
+    ) {
+
+        private ReloadContext(
+                ResourceReloadStatistics statistics,
+                Map<ResourceLocation, String> hashes,
+                Map<ResourceLocation, String> previousHashes,
+                Map<ResourceLocation, BakedAnimations> previousAnimations,
+                Map<ResourceLocation, BakedGeoModel> previousModels
+        ) {
+            this(statistics, hashes, previousHashes, previousAnimations, previousModels, new AtomicInteger());
+        }
+
+        /**
+         * Get the baked value for the given resource, reusing the instance baked by the last reload if the resource's
+         * contents haven't changed since.<br>
+         * Reusing the instance means {@link mod.azure.azurelib.common.api.client.model.GeoModel GeoModels} using an
+         * unchanged model don't need to set it up again
+         *
+         * @param cache The persistent cache to load changed resources through, or null to always bake them
+         */
+        private <T> T bakeIfChanged(
+                ResourceLocation resource,
+                byte[] contents,
+                ResourceReloadStatistics.FileStats stats,
+                Map<ResourceLocation, T> previousValues,
+                @Nullable BakedResourceCache<T> cache,
+                Supplier<T> baker
+        ) {
+            String hash = BakedResourceCache.hash(contents);
+
+            this.hashes.put(resource, hash);
+
+            if (hash.equals(this.previousHashes.get(resource))) {
+                T previous = previousValues.get(resource);
+
+                if (previous != null) {
+                    this.reused.incrementAndGet();
+                    stats.setSource(ResourceReloadStatistics.Source.REUSED);
+
+                    return previous;
+                }
+            }
+
+            return cache == null ? baker.get() : cache.load(hash, baker);
+        }
     }
 }
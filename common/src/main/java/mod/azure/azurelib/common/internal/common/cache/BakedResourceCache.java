@@ -0,0 +1,304 @@
+package mod.azure.azurelib.common.internal.common.cache;
+
+import com.google.common.base.Suppliers;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import mod.azure.azurelib.common.internal.common.AzureLib;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
+import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
+import mod.azure.azurelib.common.internal.common.loading.FileLoader;
+import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.BakedAnimationsAdapter;
+import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.KeyFramesAdapter;
+import mod.azure.azurelib.common.internal.common.loading.object.BakedAnimations;
+import mod.azure.azurelib.common.internal.common.loading.object.BakedModelFactory;
+import mod.azure.azurelib.common.platform.Services;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Persistent on-disk cache of baked resources, keyed by the contents of the file they were baked from.<br>
+ * Each entry is stored in the game directory as a small binary file named after the hash of its source file, so a
+ * resource that hasn't changed since the last reload is read back directly instead of being parsed from json and baked
+ * again. Changing a file changes its hash, so stale entries are never read.<br>
+ * Every entry also records the {@link #getBuildKey build key} it was baked with, made up of the AzureLib version and a
+ * hash of the code that bakes and encodes resources. Entries written by a different build, a different
+ * {@link #FORMAT_VERSION}, or that fail to read for any other reason are discarded and baked from source as normal.<br>
+ * Entries that haven't been used for {@link #MAX_ENTRY_AGE_DAYS} days are deleted at the end of a reload, so resources
+ * from packs that are only disabled for a while are still cached when they're enabled again.<br>
+ * Enabled via {@code persistentResourceCache} in the AzureLib config
+ */
+public final class BakedResourceCache<T> {
+
+    public static final BakedResourceCache<BakedGeoModel> MODELS = new BakedResourceCache<>(
+            "geo",
+            BakedResourceCodecs::writeModel,
+            BakedResourceCodecs::readModel
+    );
+
+    public static final BakedResourceCache<BakedAnimations> ANIMATIONS = new BakedResourceCache<>(
+            "animations",
+            BakedResourceCodecs::writeAnimations,
+            BakedResourceCodecs::readAnimations
+    );
+
+    /**
+     * Increment whenever the layout written by {@link BakedResourceCodecs} changes
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x415A4243;
+
+    private static final String EXTENSION = ".bin";
+
+    private static final int MAX_ENTRY_AGE_DAYS = 30;
+
+    /**
+     * The classes whose code determines what is stored in the cache.<br>
+     * Their bytecode is hashed into the {@link #getBuildKey build key}, so that entries baked before any change to them
+     * are discarded even if the AzureLib version and {@link #FORMAT_VERSION} are unchanged
+     */
+    private static final Class<?>[] BAKING_CLASSES = {
+            BakedResourceCache.class,
+            BakedResourceCodecs.class,
+            BakedModelFactory.class,
+            BakedModelFactory.DEFAULT_FACTORY.getClass(),
+            BakedAnimationsAdapter.class,
+            KeyFramesAdapter.class,
+            FileLoader.class
+    };
+
+    private static final Supplier<String> BUILD_KEY = Suppliers.memoize(BakedResourceCache::computeBuildKey);
+
+    private final String type;
+
+    private final Writer<T> writer;
+
+    private final Reader<T> reader;
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private BakedResourceCache(String type, Writer<T> writer, Reader<T> reader) {
+        this.type = type;
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    public static boolean isEnabled() {
+        return AzureLibMod.config == null || AzureLibMod.config.persistentResourceCache;
+    }
+
+    private static Path getRootDirectory() {
+        return Services.PLATFORM.getGameDir().resolve(".azurelib").resolve("cache");
+    }
+
+    /**
+     * Reset the cache state for a new resource reload
+     */
+    public static void beginReload() {
+        for (BakedResourceCache<?> cache : new BakedResourceCache<?>[]{MODELS, ANIMATIONS}) {
+            cache.hits.set(0);
+            cache.misses.set(0);
+        }
+    }
+
+    /**
+     * Delete any entries that haven't been used for {@link #MAX_ENTRY_AGE_DAYS} days.<br>
+     * Must only be called once all resources have been loaded
+     */
+    public static void finishReload() {
+        if (!isEnabled())
+            return;
+
+        MODELS.prune();
+        ANIMATIONS.prune();
+
+        AzureLib.LOGGER.debug(
+                "Loaded {}/{} models and {}/{} animations from the resource cache",
+                MODELS.hits.get(),
+                MODELS.hits.get() + MODELS.misses.get(),
+                ANIMATIONS.hits.get(),
+                ANIMATIONS.hits.get() + ANIMATIONS.misses.get()
+        );
+    }
+
+    /**
+     * Get the key identifying the code that baked the entries in the cache, as the AzureLib version and a hash of the
+     * {@link #BAKING_CLASSES}
+     */
+    public static String getBuildKey() {
+        return BUILD_KEY.get();
+    }
+
+    private static String computeBuildKey() {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        for (Class<?> bakingClass : BAKING_CLASSES) {
+            String className = bakingClass.getName();
+
+            try (
+                    InputStream in = bakingClass.getResourceAsStream(
+                            className.substring(className.lastIndexOf('.') + 1) + ".class"
+                    )
+            ) {
+                if (in != null)
+                    hasher.putBytes(in.readAllBytes());
+            } catch (IOException e) {
+                AzureLib.LOGGER.debug("Unable to hash {} for the resource cache", className, e);
+            }
+        }
+
+        return Services.PLATFORM.getModVersion(AzureLib.MOD_ID) + "-" + hasher.hash();
+    }
+
+    /**
+     * Get the content hash that entries for the given file contents are keyed by
+     */
+    public static String hash(byte[] contents) {
+        return Hashing.sha256().hashBytes(contents).toString();
+    }
+
+    /**
+     * Get the cached value for the given file contents, or bake and cache it if there isn't one
+     *
+     * @param hash  The {@link #hash content hash} of the file the value is baked from
+     * @param baker Bakes the value from the file's contents if it isn't cached
+     */
+    public T load(String hash, Supplier<T> baker) {
+        if (!isEnabled())
+            return baker.get();
+
+        Path file = getDirectory().resolve(hash + EXTENSION);
+
+        if (Files.isRegularFile(file)) {
+            T value = read(file);
+
+            if (value != null) {
+                this.hits.incrementAndGet();
+                markUsed(file);
+
+                return value;
+            }
+        }
+
+        T value = baker.get();
+
+        this.misses.incrementAndGet();
+        write(file, value);
+
+        return value;
+    }
+
+    private Path getDirectory() {
+        return getRootDirectory().resolve(this.type);
+    }
+
+    private T read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(getBuildKey()))
+                return null;
+
+            T value = this.reader.read(in);
+
+            if (in.read() != -1)
+                throw new IOException("Unexpected trailing data");
+
+            return value;
+        } catch (Exception e) {
+            AzureLib.LOGGER.debug("Discarding unreadable resource cache entry {}", file, e);
+
+            return null;
+        }
+    }
+
+    private void write(Path file, T value) {
+        Path tempFile = null;
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+            try (
+                    DataOutputStream out = new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(tempFile))
+                    )
+            ) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(getBuildKey());
+                this.writer.write(out, value);
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            AzureLib.LOGGER.debug("Unable to write resource cache entry {}", file, e);
+
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    /**
+     * Update the modification time of the given entry, so that it isn't pruned while it's still in use
+     */
+    private static void markUsed(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            AzureLib.LOGGER.debug("Unable to update resource cache entry {}", file, e);
+        }
+    }
+
+    private void prune() {
+        Path directory = getDirectory();
+
+        if (!Files.isDirectory(directory))
+            return;
+
+        Instant cutoff = Instant.now().minus(MAX_ENTRY_AGE_DAYS, ChronoUnit.DAYS);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff))
+                        Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    AzureLib.LOGGER.debug("Unable to delete stale resource cache entry {}", file, e);
+                }
+            });
+        } catch (IOException e) {
+            AzureLib.LOGGER.debug("Unable to prune resource cache {}", directory, e);
+        }
+    }
+
+    @FunctionalInterface
+    interface Writer<T> {
+
+        void write(DataOutputStream out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Reader<T> {
+
+        T read(DataInputStream in) throws IOException;
+    }
+}
@@ -0,0 +1,462 @@
+package mod.azure.azurelib.common.internal.common.cache;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoBone;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoCube;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoQuad;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoVertex;
+import mod.azure.azurelib.common.internal.common.loading.object.BakedAnimations;
+import mod.azure.azurelib.core.animation.Animation;
+import mod.azure.azurelib.core.animation.EasingType;
+import mod.azure.azurelib.core.keyframe.BoneAnimation;
+import mod.azure.azurelib.core.keyframe.Keyframe;
+import mod.azure.azurelib.core.keyframe.KeyframeStack;
+import mod.azure.azurelib.core.keyframe.event.data.CustomInstructionKeyframeData;
+import mod.azure.azurelib.core.keyframe.event.data.ParticleKeyframeData;
+import mod.azure.azurelib.core.keyframe.event.data.SoundKeyframeData;
+import mod.azure.azurelib.core.math.Constant;
+import mod.azure.azurelib.core.math.IValue;
+import mod.azure.azurelib.core.molang.MolangException;
+import mod.azure.azurelib.core.molang.MolangParser;
+import mod.azure.azurelib.core.molang.expressions.MolangCompoundValue;
+import mod.azure.azurelib.core.molang.expressions.MolangValue;
+import mod.azure.azurelib.core.object.Axis;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3f;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary serialization of baked models and animations for the {@link BakedResourceCache}.<br>
+ * Anything that can't be written back out exactly as it was baked, such as an unregistered loop type or a hand-built
+ * Molang value, fails with an {@link IOException} so that the resource is simply not cached
+ */
+final class BakedResourceCodecs {
+
+    private static final byte VALUE_CONSTANT = 0;
+
+    private static final byte VALUE_MOLANG_CONSTANT = 1;
+
+    private static final byte VALUE_EXPRESSION = 2;
+
+    private static final byte VALUE_ZERO = 3;
+
+    private static final byte VALUE_PREVIOUS = 4;
+
+    private BakedResourceCodecs() {
+        throw new UnsupportedOperationException();
+    }
+
+    static void writeModel(DataOutputStream out, BakedGeoModel model) throws IOException {
+        writeBones(out, model.getTopLevelBones());
+    }
+
+    static BakedGeoModel readModel(DataInputStream in) throws IOException {
+        return new BakedGeoModel(readBones(in, null));
+    }
+
+    private static void writeBones(DataOutputStream out, List<GeoBone> bones) throws IOException {
+        out.writeInt(bones.size());
+
+        for (GeoBone bone : bones) {
+            if (bone.getClass() != GeoBone.class)
+                throw new IOException("Unsupported bone type " + bone.getClass().getName());
+
+            out.writeUTF(bone.getName());
+            writeNullableBoolean(out, bone.getMirror());
+            out.writeBoolean(bone.getInflate() != null);
+
+            if (bone.getInflate() != null)
+                out.writeDouble(bone.getInflate());
+
+            writeNullableBoolean(out, bone.shouldNeverRender());
+            writeNullableBoolean(out, bone.getReset());
+            out.writeFloat(bone.getRotX());
+            out.writeFloat(bone.getRotY());
+            out.writeFloat(bone.getRotZ());
+            out.writeFloat(bone.getPivotX());
+            out.writeFloat(bone.getPivotY());
+            out.writeFloat(bone.getPivotZ());
+            out.writeInt(bone.getCubes().size());
+
+            for (GeoCube cube : bone.getCubes()) {
+                writeCube(out, cube);
+            }
+
+            writeBones(out, bone.getChildBones());
+        }
+    }
+
+    private static List<GeoBone> readBones(DataInputStream in, @Nullable GeoBone parent) throws IOException {
+        int count = in.readInt();
+        List<GeoBone> bones = new ObjectArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            GeoBone bone = new GeoBone(
+                    parent,
+                    in.readUTF(),
+                    readNullableBoolean(in),
+                    in.readBoolean() ? in.readDouble() : null,
+                    readNullableBoolean(in),
+                    readNullableBoolean(in)
+            );
+
+            bone.updateRotation(in.readFloat(), in.readFloat(), in.readFloat());
+            bone.updatePivot(in.readFloat(), in.readFloat(), in.readFloat());
+
+            int cubeCount = in.readInt();
+
+            for (int j = 0; j < cubeCount; j++) {
+                bone.getCubes().add(readCube(in));
+            }
+
+            bone.getChildBones().addAll(readBones(in, bone));
+            bones.add(bone);
+        }
+
+        return bones;
+    }
+
+    private static void writeCube(DataOutputStream out, GeoCube cube) throws IOException {
+        out.writeInt(cube.quads().length);
+
+        for (GeoQuad quad : cube.quads()) {
+            out.writeBoolean(quad != null);
+
+            if (quad == null)
+                continue;
+
+            out.writeInt(quad.vertices().length);
+
+            for (GeoVertex vertex : quad.vertices()) {
+                writeVector(out, vertex.position());
+                out.writeFloat(vertex.texU());
+                out.writeFloat(vertex.texV());
+            }
+
+            writeVector(out, quad.normal());
+            out.writeByte(quad.direction().get3DDataValue());
+        }
+
+        writeVec3(out, cube.pivot());
+        writeVec3(out, cube.rotation());
+        writeVec3(out, cube.size());
+        out.writeDouble(cube.inflate());
+        out.writeBoolean(cube.mirror());
+    }
+
+    private static GeoCube readCube(DataInputStream in) throws IOException {
+        GeoQuad[] quads = new GeoQuad[in.readInt()];
+
+        for (int i = 0; i < quads.length; i++) {
+            if (!in.readBoolean())
+                continue;
+
+            GeoVertex[] vertices = new GeoVertex[in.readInt()];
+
+            for (int j = 0; j < vertices.length; j++) {
+                vertices[j] = new GeoVertex(readVector(in), in.readFloat(), in.readFloat());
+            }
+
+            quads[i] = new GeoQuad(vertices, readVector(in), Direction.from3DDataValue(in.readByte()));
+        }
+
+        return new GeoCube(quads, readVec3(in), readVec3(in), readVec3(in), in.readDouble(), in.readBoolean());
+    }
+
+    static void writeAnimations(DataOutputStream out, BakedAnimations bakedAnimations) throws IOException {
+        Map<String, ResourceLocation> includes = bakedAnimations.includes();
+
+        out.writeInt(includes == null ? -1 : includes.size());
+
+        if (includes != null) {
+            for (Map.Entry<String, ResourceLocation> entry : includes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue().toString());
+            }
+        }
+
+        out.writeInt(bakedAnimations.animations().size());
+
+        for (Map.Entry<String, Animation> entry : bakedAnimations.animations().entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeAnimation(out, entry.getValue());
+        }
+    }
+
+    static BakedAnimations readAnimations(DataInputStream in) throws IOException {
+        int includeCount = in.readInt();
+        Map<String, ResourceLocation> includes = null;
+
+        if (includeCount >= 0) {
+            includes = new Object2ObjectOpenHashMap<>(includeCount);
+
+            for (int i = 0; i < includeCount; i++) {
+                includes.put(in.readUTF(), ResourceLocation.parse(in.readUTF()));
+            }
+        }
+
+        int animationCount = in.readInt();
+        Map<String, Animation> animations = new Object2ObjectOpenHashMap<>(animationCount);
+
+        for (int i = 0; i < animationCount; i++) {
+            animations.put(in.readUTF(), readAnimation(in));
+        }
+
+        return new BakedAnimations(animations, includes);
+    }
+
+    private static void writeAnimation(DataOutputStream out, Animation animation) throws IOException {
+        out.writeUTF(animation.name());
+        out.writeDouble(animation.length());
+        out.writeUTF(getRegisteredName(Animation.LoopType.LOOP_TYPES, animation.loopType()));
+        out.writeInt(animation.boneAnimations().length);
+
+        for (BoneAnimation boneAnimation : animation.boneAnimations()) {
+            out.writeUTF(boneAnimation.boneName());
+            writeKeyframeStack(out, boneAnimation.rotationKeyFrames());
+            writeKeyframeStack(out, boneAnimation.positionKeyFrames());
+            writeKeyframeStack(out, boneAnimation.scaleKeyFrames());
+        }
+
+        Animation.Keyframes keyframes = animation.keyFrames();
+
+        out.writeInt(keyframes.sounds().length);
+
+        for (SoundKeyframeData sound : keyframes.sounds()) {
+            out.writeDouble(sound.getStartTick());
+            writeNullableString(out, sound.getSound());
+        }
+
+        out.writeInt(keyframes.particles().length);
+
+        for (ParticleKeyframeData particle : keyframes.particles()) {
+            out.writeDouble(particle.getStartTick());
+            writeNullableString(out, particle.getEffect());
+            writeNullableString(out, particle.getLocator());
+            writeNullableString(out, particle.script());
+        }
+
+        out.writeInt(keyframes.customInstructions().length);
+
+        for (CustomInstructionKeyframeData instruction : keyframes.customInstructions()) {
+            out.writeDouble(instruction.getStartTick());
+            writeNullableString(out, instruction.getInstructions());
+        }
+    }
+
+    private static Animation readAnimation(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        double length = in.readDouble();
+        Animation.LoopType loopType = Animation.LoopType.fromString(in.readUTF());
+        BoneAnimation[] boneAnimations = new BoneAnimation[in.readInt()];
+
+        for (int i = 0; i < boneAnimations.length; i++) {
+            String boneName = in.readUTF();
+            KeyframeStack<Keyframe<IValue>> rotationFrames = readKeyframeStack(in);
+            KeyframeStack<Keyframe<IValue>> positionFrames = readKeyframeStack(in);
+            KeyframeStack<Keyframe<IValue>> scaleFrames = readKeyframeStack(in);
+
+            boneAnimations[i] = new BoneAnimation(boneName, rotationFrames, positionFrames, scaleFrames);
+        }
+
+        SoundKeyframeData[] sounds = new SoundKeyframeData[in.readInt()];
+
+        for (int i = 0; i < sounds.length; i++) {
+            sounds[i] = new SoundKeyframeData(in.readDouble(), readNullableString(in));
+        }
+
+        ParticleKeyframeData[] particles = new ParticleKeyframeData[in.readInt()];
+
+        for (int i = 0; i < particles.length; i++) {
+            particles[i] = new ParticleKeyframeData(
+                    in.readDouble(),
+                    readNullableString(in),
+                    readNullableString(in),
+                    readNullableString(in)
+            );
+        }
+
+        CustomInstructionKeyframeData[] instructions = new CustomInstructionKeyframeData[in.readInt()];
+
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = new CustomInstructionKeyframeData(in.readDouble(), readNullableString(in));
+        }
+
+        return new Animation(
+                name,
+                length,
+                loopType,
+                boneAnimations,
+                new Animation.Keyframes(sounds, particles, instructions)
+        );
+    }
+
+    private static void writeKeyframeStack(
+            DataOutputStream out,
+            KeyframeStack<Keyframe<IValue>> stack
+    ) throws IOException {
+        for (Axis axis : Axis.values()) {
+            List<Keyframe<IValue>> keyframes = stack.getKeyframes(axis);
+            IValue previous = null;
+
+            out.writeInt(keyframes.size());
+
+            for (Keyframe<IValue> keyframe : keyframes) {
+                out.writeDouble(keyframe.length());
+                writeValue(out, keyframe.startValue(), previous);
+                writeValue(out, keyframe.endValue(), null);
+                out.writeUTF(getRegisteredName(EasingType.EASING_TYPES, keyframe.easingType()));
+                out.writeInt(keyframe.easingArgs().size());
+
+                for (IValue easingArg : keyframe.easingArgs()) {
+                    writeValue(out, easingArg, null);
+                }
+
+                previous = keyframe.endValue();
+            }
+        }
+    }
+
+    private static KeyframeStack<Keyframe<IValue>> readKeyframeStack(DataInputStream in) throws IOException {
+        List<List<Keyframe<IValue>>> axes = new ObjectArrayList<>(3);
+
+        for (int i = 0; i < 3; i++) {
+            int count = in.readInt();
+            List<Keyframe<IValue>> keyframes = new ObjectArrayList<>(count);
+            IValue previous = null;
+
+            for (int j = 0; j < count; j++) {
+                double length = in.readDouble();
+                IValue startValue = readValue(in, previous);
+                IValue endValue = readValue(in, null);
+                EasingType easingType = EasingType.fromString(in.readUTF());
+                int easingArgCount = in.readInt();
+                List<IValue> easingArgs = new ObjectArrayList<>(easingArgCount);
+
+                for (int k = 0; k < easingArgCount; k++) {
+                    easingArgs.add(readValue(in, null));
+                }
+
+                keyframes.add(new Keyframe<>(length, startValue, endValue, easingType, easingArgs));
+                previous = endValue;
+            }
+
+            axes.add(keyframes);
+        }
+
+        if (axes.get(0).isEmpty() && axes.get(1).isEmpty() && axes.get(2).isEmpty())
+            return new KeyframeStack<>();
+
+        return new KeyframeStack<>(axes.get(0), axes.get(1), axes.get(2));
+    }
+
+    /**
+     * Write a keyframe value.<br>
+     * A keyframe's start value is usually the same instance as the previous keyframe's end value, in which case only a
+     * marker is written so that the instance is shared again when read back
+     */
+    private static void writeValue(DataOutputStream out, IValue value, @Nullable IValue previous) throws IOException {
+        if (previous != null && value == previous) {
+            out.writeByte(VALUE_PREVIOUS);
+        } else if (value == MolangParser.ZERO) {
+            out.writeByte(VALUE_ZERO);
+        } else if (value.getClass() == Constant.class) {
+            out.writeByte(VALUE_CONSTANT);
+            out.writeDouble(value.get());
+        } else if (value instanceof MolangValue molangValue && molangValue.isConstant()) {
+            out.writeByte(VALUE_MOLANG_CONSTANT);
+            out.writeDouble(value.get());
+        } else if (value instanceof MolangCompoundValue compoundValue && compoundValue.getSource() != null) {
+            out.writeByte(VALUE_EXPRESSION);
+            out.writeUTF(compoundValue.getSource());
+        } else {
+            throw new IOException("Unsupported keyframe value type " + value.getClass().getName());
+        }
+    }
+
+    private static IValue readValue(DataInputStream in, @Nullable IValue previous) throws IOException {
+        byte type = in.readByte();
+
+        return switch (type) {
+            case VALUE_PREVIOUS -> {
+                if (previous == null)
+                    throw new IOException("Keyframe value refers to a missing previous value");
+
+                yield previous;
+            }
+            case VALUE_ZERO -> MolangParser.ZERO;
+            case VALUE_CONSTANT -> new Constant(in.readDouble());
+            case VALUE_MOLANG_CONSTANT -> new MolangValue(new Constant(in.readDouble()));
+            case VALUE_EXPRESSION -> {
+                try {
+                    yield MolangParser.parseExpression(in.readUTF());
+                } catch (MolangException e) {
+                    throw new IOException(e);
+                }
+            }
+            default -> throw new IOException("Unknown keyframe value type " + type);
+        };
+    }
+
+    private static <V> String getRegisteredName(Map<String, V> registry, V value) throws IOException {
+        for (Map.Entry<String, V> entry : registry.entrySet()) {
+            if (entry.getValue() == value)
+                return entry.getKey();
+        }
+
+        throw new IOException("Unregistered value " + value);
+    }
+
+    private static void writeNullableBoolean(DataOutputStream out, @Nullable Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    @Nullable
+    private static Boolean readNullableBoolean(DataInputStream in) throws IOException {
+        byte value = in.readByte();
+
+        return value == -1 ? null : value == 1;
+    }
+
+    private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+
+        if (value != null)
+            out.writeUTF(value);
+    }
+
+    @Nullable
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeVector(DataOutputStream out, Vector3f vector) throws IOException {
+        out.writeFloat(vector.x());
+        out.writeFloat(vector.y());
+        out.writeFloat(vector.z());
+    }
+
+    private static Vector3f readVector(DataInputStream in) throws IOException {
+        return new Vector3f(in.readFloat(), in.readFloat(), in.readFloat());
+    }
+
+    private static void writeVec3(DataOutputStream out, Vec3 vec) throws IOException {
+        out.writeDouble(vec.x);
+        out.writeDouble(vec.y);
+        out.writeDouble(vec.z);
+    }
+
+    private static Vec3 readVec3(DataInputStream in) throws IOException {
+        return new Vec3(in.readDouble(), in.readDouble(), in.readDouble());
+    }
+}
@@ -0,0 +1,544 @@
+package mod.azure.azurelib.common.internal.common.cache;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import mod.azure.azurelib.common.internal.common.AzureLib;
+import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
+import mod.azure.azurelib.common.internal.common.cache.object.GeoBone;
+import mod.azure.azurelib.common.internal.common.loading.object.BakedAnimations;
+import mod.azure.azurelib.core.animation.Animation;
+import mod.azure.azurelib.core.keyframe.BoneAnimation;
+import mod.azure.azurelib.core.keyframe.KeyframeStack;
+import mod.azure.azurelib.core.object.Axis;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing and size statistics for the models and animations loaded by a single resource reload.<br>
+ * Each file records how long it took to read, parse and bake, how large it was, and how much geometry or keyframe data
+ * it produced. These are totalled per namespace, so that slow or oversized assets can be traced back to the mod
+ * providing them.<br>
+ * The worker utilisation of each loading phase is recorded too, to show how well the loading work was spread across
+ * the available threads.<br>
+ * Every file is also reported as an {@link ResourceLoadEvent} to Java Flight Recorder, if recording.<br>
+ * A summary is logged after each reload if {@code logResourceReloadStats} is enabled in the AzureLib config
+ */
+public final class ResourceReloadStatistics {
+
+    public static final ResourceReloadStatistics EMPTY = new ResourceReloadStatistics();
+
+    private static final int SLOWEST_FILES_LOGGED = 10;
+
+    private final Queue<FileStats> files = new ConcurrentLinkedQueue<>();
+
+    private final Queue<PhaseStats> phases = new ConcurrentLinkedQueue<>();
+
+    private final long startTime = System.nanoTime();
+
+    private long totalNanos = 0;
+
+    /**
+     * Start recording the loading of a file
+     *
+     * @param location The resource path of the file
+     * @param type     The resource type being loaded, such as {@code geo} or {@code animations}
+     */
+    public FileStats begin(ResourceLocation location, String type) {
+        FileStats stats = new FileStats(location, type);
+
+        this.files.add(stats);
+
+        return stats;
+    }
+
+    /**
+     * Record the worker utilisation of a loading phase
+     *
+     * @param name      The name of the phase, such as {@code geo bake}
+     * @param tasks     The number of files processed in the phase
+     * @param workers   The number of workers the files were spread across
+     * @param busyNanos The combined time the workers spent running
+     * @param wallNanos The wall time from the phase starting to its last worker finishing
+     */
+    public void recordPhase(String name, int tasks, int workers, long busyNanos, long wallNanos) {
+        this.phases.add(new PhaseStats(name, tasks, workers, busyNanos, wallNanos));
+    }
+
+    /**
+     * Mark the reload as finished, recording its total wall time
+     */
+    public void finish() {
+        this.totalNanos = System.nanoTime() - this.startTime;
+    }
+
+    /**
+     * Get the stats for every file loaded in this reload
+     */
+    public Collection<FileStats> getFiles() {
+        return this.files;
+    }
+
+    /**
+     * Get the worker utilisation of each loading phase in this reload
+     */
+    public Collection<PhaseStats> getPhases() {
+        return this.phases;
+    }
+
+    /**
+     * Get the wall time of the whole reload, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * Get the stats for every file in this reload, totalled per namespace and sorted from slowest to fastest
+     */
+    public List<NamespaceStats> getNamespaceTotals() {
+        Map<String, NamespaceStats> totals = new Object2ObjectLinkedOpenHashMap<>();
+
+        for (FileStats file : this.files) {
+            totals.computeIfAbsent(file.location.getNamespace(), NamespaceStats::new).add(file);
+        }
+
+        List<NamespaceStats> sorted = new ObjectArrayList<>(totals.values());
+
+        sorted.sort(Comparator.comparingLong(NamespaceStats::getTotalNanos).reversed());
+
+        return sorted;
+    }
+
+    /**
+     * Log a summary of this reload, including the totals for each namespace and the slowest individual files
+     */
+    public void log() {
+        AzureLib.LOGGER.info(
+                "Loaded {} models and animations in {} ms",
+                this.files.size(),
+                TimeUnit.NANOSECONDS.toMillis(this.totalNanos)
+        );
+
+        for (PhaseStats phase : this.phases) {
+            AzureLib.LOGGER.info("  {}", phase);
+        }
+
+        for (NamespaceStats namespace : getNamespaceTotals()) {
+            AzureLib.LOGGER.info("  {}", namespace);
+        }
+
+        List<FileStats> slowest = new ObjectArrayList<>(this.files);
+
+        slowest.sort(Comparator.comparingLong(FileStats::getTotalNanos).reversed());
+        AzureLib.LOGGER.info("Slowest files:");
+
+        for (FileStats file : slowest.subList(0, Math.min(SLOWEST_FILES_LOGGED, slowest.size()))) {
+            AzureLib.LOGGER.info("  {}", file);
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f ms", nanos / 1_000_000d);
+    }
+
+    /**
+     * Worker utilisation of a single loading phase
+     *
+     * @param name      The name of the phase, such as {@code geo bake}
+     * @param tasks     The number of files processed in the phase
+     * @param workers   The number of workers the files were spread across
+     * @param busyNanos The combined time the workers spent running
+     * @param wallNanos The wall time from the phase starting to its last worker finishing
+     */
+    public record PhaseStats(String name, int tasks, int workers, long busyNanos, long wallNanos) {
+
+        /**
+         * Get the fraction of the phase's wall time that its workers spent running, from 0 to 1.<br>
+         * Workers that were waiting for a thread, or that ran out of files while others were still busy, lower this
+         */
+        public double getUtilisation() {
+            if (this.workers == 0 || this.wallNanos == 0)
+                return 0;
+
+            return Math.min(1, this.busyNanos / (double) (this.workers * this.wallNanos));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s: %d files on %d workers in %s, %.0f%% utilisation",
+                    this.name,
+                    this.tasks,
+                    this.workers,
+                    formatMillis(this.wallNanos),
+                    getUtilisation() * 100
+            );
+        }
+    }
+
+    /**
+     * Where a file's baked value came from
+     */
+    public enum Source {
+        /**
+         * Parsed and baked from json
+         */
+        BAKED,
+        /**
+         * Read from the {@link BakedResourceCache persistent cache}
+         */
+        CACHED,
+        /**
+         * Kept from the previous reload, as it hadn't changed
+         */
+        REUSED
+    }
+
+    /**
+     * Load statistics for a single file
+     */
+    public static final class FileStats {
+
+        private final ResourceLocation location;
+
+        private final String type;
+
+        private final long startTime = System.nanoTime();
+
+        private Source source = Source.CACHED;
+
+        private int bytes;
+
+        private long readNanos;
+
+        private long parseNanos;
+
+        private long bakeNanos;
+
+        private long totalNanos;
+
+        private long bakeStartTime;
+
+        private int bones;
+
+        private int cubes;
+
+        private int animations;
+
+        private int keyframes;
+
+        private FileStats(ResourceLocation location, String type) {
+            this.location = location;
+            this.type = type;
+        }
+
+        /**
+         * Record that the file's contents have been read into memory
+         */
+        public void contentsRead(int bytes) {
+            this.bytes = bytes;
+            this.readNanos = System.nanoTime() - this.startTime;
+            this.bakeStartTime = System.nanoTime();
+        }
+
+        /**
+         * Record that the file has been picked up to be parsed and baked.<br>
+         * Time spent waiting for this after the file was read isn't counted towards its total
+         */
+        public void beginBaking() {
+            this.bakeStartTime = System.nanoTime();
+        }
+
+        public void setSource(Source source) {
+            this.source = source;
+        }
+
+        /**
+         * Record the time taken to parse the file's json.<br>
+         * Marks the file as {@link Source#BAKED}
+         */
+        public void addParseTime(long nanos) {
+            this.source = Source.BAKED;
+            this.parseNanos += nanos;
+        }
+
+        /**
+         * Record the time taken to bake the file's parsed contents
+         */
+        public void addBakeTime(long nanos) {
+            this.bakeNanos += nanos;
+        }
+
+        /**
+         * Finish recording the given model
+         */
+        public void finish(BakedGeoModel model) {
+            countBones(model.getTopLevelBones());
+            finish();
+        }
+
+        /**
+         * Finish recording the given animations
+         */
+        public void finish(BakedAnimations bakedAnimations) {
+            this.animations = bakedAnimations.animations().size();
+
+            for (Animation animation : bakedAnimations.animations().values()) {
+                for (BoneAnimation boneAnimation : animation.boneAnimations()) {
+                    countKeyframes(boneAnimation.rotationKeyFrames());
+                    countKeyframes(boneAnimation.positionKeyFrames());
+                    countKeyframes(boneAnimation.scaleKeyFrames());
+                }
+            }
+
+            finish();
+        }
+
+        private void finish() {
+            this.totalNanos = this.readNanos + System.nanoTime() - this.bakeStartTime;
+
+            ResourceLoadEvent event = new ResourceLoadEvent();
+
+            if (event.shouldCommit()) {
+                event.location = this.location.toString();
+                event.type = this.type;
+                event.source = this.source.name();
+                event.bytes = this.bytes;
+                event.readTime = this.readNanos;
+                event.parseTime = this.parseNanos;
+                event.bakeTime = this.bakeNanos;
+                event.totalTime = this.totalNanos;
+                event.bones = this.bones;
+                event.cubes = this.cubes;
+                event.animations = this.animations;
+                event.keyframes = this.keyframes;
+                event.commit();
+            }
+        }
+
+        private void countBones(List<GeoBone> bones) {
+            for (GeoBone bone : bones) {
+                this.bones++;
+                this.cubes += bone.getCubes().size();
+
+                countBones(bone.getChildBones());
+            }
+        }
+
+        private void countKeyframes(KeyframeStack<?> stack) {
+            for (Axis axis : Axis.values()) {
+                this.keyframes += stack.getKeyframes(axis).size();
+            }
+        }
+
+        public ResourceLocation getLocation() {
+            return this.location;
+        }
+
+        public String getType() {
+            return this.type;
+        }
+
+        public Source getSource() {
+            return this.source;
+        }
+
+        public int getBytes() {
+            return this.bytes;
+        }
+
+        public long getReadNanos() {
+            return this.readNanos;
+        }
+
+        public long getParseNanos() {
+            return this.parseNanos;
+        }
+
+        public long getBakeNanos() {
+            return this.bakeNanos;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        public int getBones() {
+            return this.bones;
+        }
+
+        public int getCubes() {
+            return this.cubes;
+        }
+
+        public int getAnimations() {
+            return this.animations;
+        }
+
+        public int getKeyframes() {
+            return this.keyframes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s (%s, %s): %s total, %s read, %s parse, %s bake, %d bytes, %d bones, %d cubes, %d animations, "
+                            + "%d keyframes",
+                    this.location,
+                    this.type,
+                    this.source.name().toLowerCase(),
+                    formatMillis(this.totalNanos),
+                    formatMillis(this.readNanos),
+                    formatMillis(this.parseNanos),
+                    formatMillis(this.bakeNanos),
+                    this.bytes,
+                    this.bones,
+                    this.cubes,
+                    this.animations,
+                    this.keyframes
+            );
+        }
+    }
+
+    /**
+     * Load statistics totalled for all files in a namespace
+     */
+    public static final class NamespaceStats {
+
+        private final String namespace;
+
+        private int files;
+
+        private int baked;
+
+        private long bytes;
+
+        private long totalNanos;
+
+        private long parseNanos;
+
+        private long bakeNanos;
+
+        private long bones;
+
+        private long cubes;
+
+        private long keyframes;
+
+        private NamespaceStats(String namespace) {
+            this.namespace = namespace;
+        }
+
+        private void add(FileStats file) {
+            this.files++;
+            this.bytes += file.bytes;
+            this.totalNanos += file.totalNanos;
+            this.parseNanos += file.parseNanos;
+            this.bakeNanos += file.bakeNanos;
+            this.bones += file.bones;
+            this.cubes += file.cubes;
+            this.keyframes += file.keyframes;
+
+            if (file.source == Source.BAKED)
+                this.baked++;
+        }
+
+        public String getNamespace() {
+            return this.namespace;
+        }
+
+        public int getFiles() {
+            return this.files;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s: %d files (%d baked), %s total, %s parse, %s bake, %d bytes, %d bones, %d cubes, %d keyframes",
+                    this.namespace,
+                    this.files,
+                    this.baked,
+                    formatMillis(this.totalNanos),
+                    formatMillis(this.parseNanos),
+                    formatMillis(this.bakeNanos),
+                    this.bytes,
+                    this.bones,
+                    this.cubes,
+                    this.keyframes
+            );
+        }
+    }
+
+    /**
+     * Java Flight Recorder event for the loading of a single model or animation file
+     */
+    @Name("azurelib.ResourceLoad")
+    @Label("AzureLib Resource Load")
+    @Category({"Minecraft", "AzureLib"})
+    @Description("Loading of a single AzureLib model or animation file during a resource reload")
+    public static final class ResourceLoadEvent extends Event {
+
+        @Label("Location")
+        public String location;
+
+        @Label("Type")
+        public String type;
+
+        @Label("Source")
+        public String source;
+
+        @Label("Size")
+        @DataAmount
+        public int bytes;
+
+        @Label("Read Time")
+        @Timespan
+        public long readTime;
+
+        @Label("Parse Time")
+        @Timespan
+        public long parseTime;
+
+        @Label("Bake Time")
+        @Timespan
+        public long bakeTime;
+
+        @Label("Total Time")
+        @Timespan
+        public long totalTime;
+
+        @Label("Bones")
+        public int bones;
+
+        @Label("Cubes")
+        public int cubes;
+
+        @Label("Animations")
+        public int animations;
+
+        @Label("Keyframes")
+        public int keyframes;
+    }
+}
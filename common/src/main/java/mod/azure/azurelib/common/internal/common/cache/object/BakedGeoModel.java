@@ -28,6 +28,7 @@ public class BakedGeoModel implements CoreBakedGeoModel {
         this.bonesByName = new HashMap<>();
         this.topLevelBones = topLevelBones;
         mapBonesByName(topLevelBones);
+        this.bonesByName.values().forEach(GeoBone::getBakedMesh);
     }
 
     private void mapBonesByName(List<GeoBone> geoBones) {
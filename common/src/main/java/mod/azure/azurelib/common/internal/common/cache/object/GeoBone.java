@@ -62,6 +62,7 @@ public class GeoBone implements CoreGeoBone {
     private boolean rotationChanged = false;
     private boolean scaleChanged = false;
     private Matrix3f worldSpaceNormal = new Matrix3f();
+    private GeoBoneMesh bakedMesh = null;
 
     private boolean trackingMatrices;
 
@@ -331,6 +332,25 @@ public class GeoBone implements CoreGeoBone {
         return this.cubes;
     }
 
+    /**
+     * Get the retained {@link GeoBoneMesh mesh} of this bone's cubes, baking it if it hasn't been already.<br>
+     * If the cubes of this bone are modified after it has been rendered, {@link #invalidateBakedMesh()} must be called
+     * for the changes to be picked up
+     */
+    public GeoBoneMesh getBakedMesh() {
+        if (this.bakedMesh == null)
+            this.bakedMesh = GeoBoneMesh.bake(this.cubes);
+
+        return this.bakedMesh;
+    }
+
+    /**
+     * Discard the baked mesh of this bone, causing it to be re-baked from its cubes the next time it is rendered
+     */
+    public void invalidateBakedMesh() {
+        this.bakedMesh = null;
+    }
+
     public boolean isTrackingMatrices() {
         return trackingMatrices;
     }
@@ -0,0 +1,201 @@
+package mod.azure.azurelib.common.internal.common.cache.object;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.List;
+
+/**
+ * Retained vertex data for the {@link GeoCube cubes} of a single {@link GeoBone}.<br>
+ * Each cube's pivot and rotation are static, so they are applied to its vertices and normals once when the mesh is
+ * baked. This leaves only the bone's own pose to be applied per frame, which {@link #render} does without allocating.
+ */
+public final class GeoBoneMesh {
+
+    public static final GeoBoneMesh EMPTY = new GeoBoneMesh(
+            new float[0],
+            new float[0],
+            new float[0],
+            new int[1],
+            new byte[0]
+    );
+
+    private static final byte FLAT_X = 1;
+
+    private static final byte FLAT_Y = 2;
+
+    private static final byte FLAT_Z = 4;
+
+    private final float[] positions;
+
+    private final float[] uvs;
+
+    private final float[] normals;
+
+    private final int[] quadOffsets;
+
+    private final byte[] flatAxes;
+
+    private GeoBoneMesh(float[] positions, float[] uvs, float[] normals, int[] quadOffsets, byte[] flatAxes) {
+        this.positions = positions;
+        this.uvs = uvs;
+        this.normals = normals;
+        this.quadOffsets = quadOffsets;
+        this.flatAxes = flatAxes;
+    }
+
+    /**
+     * Bake the given cubes into a bone-local mesh
+     *
+     * @param cubes The cubes of the bone
+     * @return The baked mesh, or {@link #EMPTY} if there is nothing to render
+     */
+    public static GeoBoneMesh bake(List<GeoCube> cubes) {
+        int quadCount = 0;
+        int vertexCount = 0;
+
+        for (GeoCube cube : cubes) {
+            for (GeoQuad quad : cube.quads()) {
+                if (quad == null)
+                    continue;
+
+                quadCount++;
+                vertexCount += quad.vertices().length;
+            }
+        }
+
+        if (quadCount == 0)
+            return EMPTY;
+
+        float[] positions = new float[vertexCount * 3];
+        float[] uvs = new float[vertexCount * 2];
+        float[] normals = new float[quadCount * 3];
+        int[] quadOffsets = new int[quadCount + 1];
+        byte[] flatAxes = new byte[quadCount];
+        Matrix4f cubeMatrix = new Matrix4f();
+        Matrix3f cubeNormal = new Matrix3f();
+        Vector3f scratch = new Vector3f();
+        int quadIndex = 0;
+        int vertexIndex = 0;
+
+        for (GeoCube cube : cubes) {
+            float pivotX = (float) cube.pivot().x() / 16f;
+            float pivotY = (float) cube.pivot().y() / 16f;
+            float pivotZ = (float) cube.pivot().z() / 16f;
+            byte flat = getFlatAxes(cube);
+
+            cubeMatrix.translation(pivotX, pivotY, pivotZ)
+                    .rotateZ((float) cube.rotation().z())
+                    .rotateY((float) cube.rotation().y())
+                    .rotateX((float) cube.rotation().x())
+                    .translate(-pivotX, -pivotY, -pivotZ);
+            cubeMatrix.normal(cubeNormal);
+
+            for (GeoQuad quad : cube.quads()) {
+                if (quad == null)
+                    continue;
+
+                cubeNormal.transform(quad.normal(), scratch);
+
+                normals[quadIndex * 3] = scratch.x;
+                normals[quadIndex * 3 + 1] = scratch.y;
+                normals[quadIndex * 3 + 2] = scratch.z;
+                flatAxes[quadIndex] = flat;
+                quadOffsets[quadIndex++] = vertexIndex;
+
+                for (GeoVertex vertex : quad.vertices()) {
+                    cubeMatrix.transformPosition(vertex.position(), scratch);
+
+                    positions[vertexIndex * 3] = scratch.x;
+                    positions[vertexIndex * 3 + 1] = scratch.y;
+                    positions[vertexIndex * 3 + 2] = scratch.z;
+                    uvs[vertexIndex * 2] = vertex.texU();
+                    uvs[vertexIndex * 2 + 1] = vertex.texV();
+                    vertexIndex++;
+                }
+            }
+        }
+
+        quadOffsets[quadCount] = vertexIndex;
+
+        return new GeoBoneMesh(positions, uvs, normals, quadOffsets, flatAxes);
+    }
+
+    /**
+     * Mirrors the checks in {@link mod.azure.azurelib.common.internal.client.util.RenderUtils#fixInvertedFlatCube}
+     */
+    private static byte getFlatAxes(GeoCube cube) {
+        boolean flatX = cube.size().x() == 0;
+        boolean flatY = cube.size().y() == 0;
+        boolean flatZ = cube.size().z() == 0;
+        byte flat = 0;
+
+        if (flatY || flatZ)
+            flat |= FLAT_X;
+
+        if (flatX || flatZ)
+            flat |= FLAT_Y;
+
+        if (flatX || flatY)
+            flat |= FLAT_Z;
+
+        return flat;
+    }
+
+    public boolean isEmpty() {
+        return this.flatAxes.length == 0;
+    }
+
+    /**
+     * Submit this mesh to the given {@link VertexConsumer buffer}, transformed by the given bone pose
+     */
+    public void render(PoseStack.Pose pose, VertexConsumer buffer, int packedLight, int packedOverlay) {
+        Matrix4f matrix = pose.pose();
+        Matrix3f normalMatrix = pose.normal();
+        float[] positions = this.positions;
+        float[] uvs = this.uvs;
+        float[] normals = this.normals;
+
+        for (int quad = 0; quad < this.flatAxes.length; quad++) {
+            float localX = normals[quad * 3];
+            float localY = normals[quad * 3 + 1];
+            float localZ = normals[quad * 3 + 2];
+            float normalX = normalMatrix.m00() * localX + normalMatrix.m10() * localY + normalMatrix.m20() * localZ;
+            float normalY = normalMatrix.m01() * localX + normalMatrix.m11() * localY + normalMatrix.m21() * localZ;
+            float normalZ = normalMatrix.m02() * localX + normalMatrix.m12() * localY + normalMatrix.m22() * localZ;
+            byte flat = this.flatAxes[quad];
+
+            if (normalX < 0 && (flat & FLAT_X) != 0)
+                normalX = -normalX;
+
+            if (normalY < 0 && (flat & FLAT_Y) != 0)
+                normalY = -normalY;
+
+            if (normalZ < 0 && (flat & FLAT_Z) != 0)
+                normalZ = -normalZ;
+
+            for (int vertex = this.quadOffsets[quad]; vertex < this.quadOffsets[quad + 1]; vertex++) {
+                float x = positions[vertex * 3];
+                float y = positions[vertex * 3 + 1];
+                float z = positions[vertex * 3 + 2];
+
+                buffer.addVertex(
+                        matrix.m00() * x + matrix.m10() * y + matrix.m20() * z + matrix.m30(),
+                        matrix.m01() * x + matrix.m11() * y + matrix.m21() * z + matrix.m31(),
+                        matrix.m02() * x + matrix.m12() * y + matrix.m22() * z + matrix.m32(),
+                        -1,
+                        uvs[vertex * 2],
+                        uvs[vertex * 2 + 1],
+                        packedOverlay,
+                        packedLight,
+                        normalX,
+                        normalY,
+                        normalZ
+                );
+            }
+        }
+    }
+}
@@ -9,4 +9,137 @@ public class AzureLibConfig {
     @Configurable
     @Configurable.Synchronized
     public boolean useVanillaUseKey = true;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Sample the animation keyframes of visible entities on worker threads before the level is rendered.",
+            "Animation predicates, Molang queries and keyframe events still run on the render thread.",
+            "Animations of entities sharing a model are still sampled one after another."
+        }
+    )
+    public boolean parallelAnimationPrePass = false;
+
+    @Configurable
+    @Configurable.Comment("Worker threads used by the animation pre-pass, 0 to pick a count based on available cores")
+    @Configurable.Range(min = 0, max = 32)
+    public int animationPrePassThreads = 0;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Draw entity geometry in one batch per render type after all entities have been rendered.",
+            "Reduces draw calls when many animated entities are on screen."
+        }
+    )
+    public boolean batchGeoEntityRendering = false;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Distance in blocks beyond which animations update at a reduced rate, interpolating in between.",
+            "0 disables animation level of detail."
+        }
+    )
+    @Configurable.Range(min = 0, max = 512)
+    public int animationLodDistance = 0;
+
+    @Configurable
+    @Configurable.Comment("Distance in blocks past the LOD distance over which the update interval grows by one tick")
+    @Configurable.Range(min = 1, max = 256)
+    public int animationLodDistanceStep = 16;
+
+    @Configurable
+    @Configurable.Comment("Longest interval in ticks between animation updates for distant animatables")
+    @Configurable.Range(min = 1, max = 20)
+    public int animationLodMaxInterval = 4;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Distance in blocks beyond which only the major bones designated by a model are animated.",
+            "0 disables this reduction."
+        }
+    )
+    @Configurable.Range(min = 0, max = 512)
+    public int animationLodMajorBonesDistance = 0;
+
+    @Configurable
+    @Configurable.Comment("Compile Molang expressions in animations into flat programs when resources are loaded")
+    public boolean compileMolangExpressions = true;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Most animation managers kept per item or other singleton animatable, 0 for no limit.",
+            "The least recently used managers are discarded first, except those holding synced data."
+        }
+    )
+    @Configurable.Range(min = 0, max = 65536)
+    public int singletonAnimatableCacheSize = 0;
+
+    @Configurable
+    @Configurable.Comment("Seconds an unused item animation manager is kept before it is discarded, 0 to keep forever")
+    @Configurable.Range(min = 0, max = 86400)
+    public int singletonAnimatableExpirySeconds = 0;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Queue animation trigger and data packets per player and send them as one payload at the end of the tick.",
+            "Data synced more than once in a tick only sends its latest value."
+        }
+    )
+    public boolean batchAnimationSync = true;
+
+    @Configurable
+    @Configurable.Comment("Log a summary of animation sync packets and bytes sent every minute")
+    public boolean logAnimationSyncStats = false;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Keep a copy of baked models and animations in the game directory, keyed by the contents of each file.",
+            "Files that haven't changed since the last reload are loaded from it instead of being parsed again."
+        }
+    )
+    public boolean persistentResourceCache = true;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Only bake the models and animations that changed when resources are reloaded, keeping the rest as is.",
+            "Intended for iterating on assets, as unchanged models also keep any changes made to them at runtime."
+        }
+    )
+    public boolean incrementalResourceReload = false;
+
+    @Configurable
+    @Configurable.Comment("Log load times and sizes of models and animations per mod, and the slowest files, on reload")
+    public boolean logResourceReloadStats = false;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Average server tick time in milliseconds above which SmartBrain sensors scan less often.",
+            "0 disables this backoff."
+        }
+    )
+    @Configurable.Range(min = 0, max = 1000)
+    public int sensorTickBudget = 45;
+
+    @Configurable
+    @Configurable.Comment("Most times longer SmartBrain sensor scan intervals can grow while over the tick budget")
+    @Configurable.Range(min = 1, max = 16)
+    public int sensorMaxBackoff = 4;
+
+    @Configurable
+    @Configurable.Comment(
+        {
+            "Ticks that SmartBrain line of sight checks between two entities are reused for, unless either moves to a",
+            "different block or a block changes along the line between them. 0 disables this cache."
+        }
+    )
+    @Configurable.Range(min = 0, max = 100)
+    public int lineOfSightCacheTicks = 5;
 }
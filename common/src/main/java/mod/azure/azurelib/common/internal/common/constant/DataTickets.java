@@ -20,6 +20,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -88,6 +89,13 @@ public final class DataTickets {
         return SERIALIZABLE_TICKETS.getOrDefault(id, null);
     }
 
+    /**
+     * Get the ids of all registered {@link SerializableDataTicket SerializableDataTickets}
+     */
+    public static Collection<String> getSerializableTicketIds() {
+        return SERIALIZABLE_TICKETS.keySet();
+    }
+
     /**
      * Register a {@link SerializableDataTicket} with AzureLib for handling custom data transmission.<br>
      * It is recommended you don't call this directly, and instead call it via {@link AzureLibUtil#addDataTicket}
@@ -8,6 +8,8 @@
 package mod.azure.azurelib.common.internal.common.loading;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import mod.azure.azurelib.common.internal.common.AzureLib;
 import mod.azure.azurelib.common.internal.common.AzureLibException;
 import mod.azure.azurelib.common.internal.common.cache.object.BakedGeoModel;
@@ -17,11 +19,13 @@ import mod.azure.azurelib.common.internal.common.util.JsonUtil;
 import mod.azure.azurelib.core.animation.Animation;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.util.GsonHelper;
-import org.apache.commons.io.IOUtils;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.Charset;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Extracts raw information from given files, and other similar functions
@@ -39,7 +43,17 @@ public final class FileLoader {
      * @param manager  The Minecraft {@code ResourceManager} responsible for maintaining in-memory resource access
      */
     public static BakedAnimations loadAnimationsFile(ResourceLocation location, ResourceManager manager) {
-        return JsonUtil.GEO_GSON.fromJson(loadFile(location, manager), BakedAnimations.class);
+        return readJson(location, manager, BakedAnimations.class);
+    }
+
+    /**
+     * Deserialize the already-read contents of an animation json file to its respective {@link Animation} components
+     *
+     * @param location The resource path of the animations file
+     * @param contents The raw contents of the file
+     */
+    public static BakedAnimations loadAnimationsFile(ResourceLocation location, byte[] contents) {
+        return readJson(location, new ByteArrayInputStream(contents), BakedAnimations.class);
     }
 
     /**
@@ -49,7 +63,17 @@ public final class FileLoader {
      * @param manager  The Minecraft {@code ResourceManager} responsible for maintaining in-memory resource access
      */
     public static Model loadModelFile(ResourceLocation location, ResourceManager manager) {
-        return JsonUtil.GEO_GSON.fromJson(loadFile(location, manager), Model.class);
+        return readJson(location, manager, Model.class);
+    }
+
+    /**
+     * Deserialize the already-read contents of a geo model json file to its respective {@link BakedGeoModel} format
+     *
+     * @param location The resource path of the model file
+     * @param contents The raw contents of the file
+     */
+    public static Model loadModelFile(ResourceLocation location, byte[] contents) {
+        return readJson(location, new ByteArrayInputStream(contents), Model.class);
     }
 
     /**
@@ -59,7 +83,17 @@ public final class FileLoader {
      * @param manager  The Minecraft {@code ResourceManager} responsible for maintaining in-memory resource access
      */
     public static JsonObject loadFile(ResourceLocation location, ResourceManager manager) {
-        return GsonHelper.fromJson(JsonUtil.GEO_GSON, getFileContents(location, manager), JsonObject.class);
+        return readJson(location, manager, JsonObject.class);
+    }
+
+    /**
+     * Parse the already-read contents of a json file
+     *
+     * @param location The resource path of the json file
+     * @param contents The raw contents of the file
+     */
+    public static JsonObject loadFile(ResourceLocation location, byte[] contents) {
+        return readJson(location, new ByteArrayInputStream(contents), JsonObject.class);
     }
 
     /**
@@ -69,12 +103,58 @@ public final class FileLoader {
      * @param manager  The Minecraft {@code ResourceManager} responsible for maintaining in-memory resource access
      */
     public static String getFileContents(ResourceLocation location, ResourceManager manager) {
+        return new String(getFileBytes(location, manager), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a file into memory in its raw form
+     *
+     * @param location The resource path of the file
+     * @param manager  The Minecraft {@code ResourceManager} responsible for maintaining in-memory resource access
+     */
+    public static byte[] getFileBytes(ResourceLocation location, ResourceManager manager) {
         try (InputStream inputStream = manager.getResourceOrThrow(location).open()) {
-            return IOUtils.toString(inputStream, Charset.defaultCharset());
+            return inputStream.readAllBytes();
+        } catch (Exception e) {
+            AzureLib.LOGGER.error("Couldn't load {}", location, e);
+
+            throw new AzureLibException(location.toString());
+        }
+    }
+
+    private static <T> T readJson(ResourceLocation location, ResourceManager manager, Class<T> type) {
+        InputStream inputStream;
+
+        try {
+            inputStream = manager.getResourceOrThrow(location).open();
         } catch (Exception e) {
             AzureLib.LOGGER.error("Couldn't load {}", location, e);
 
             throw new AzureLibException(location.toString());
         }
+
+        return readJson(location, inputStream, type);
+    }
+
+    /**
+     * Deserialize a json file straight from its stream, without first reading it into a string or json tree
+     */
+    private static <T> T readJson(ResourceLocation location, InputStream inputStream, Class<T> type) {
+        try (
+                JsonReader reader = JsonUtil.GEO_GSON.newJsonReader(
+                        new InputStreamReader(new BufferedInputStream(inputStream), StandardCharsets.UTF_8)
+                )
+        ) {
+            T value = JsonUtil.GEO_GSON.fromJson(reader, type);
+
+            if (value == null)
+                throw new JsonParseException("JSON data was null or empty");
+
+            return value;
+        } catch (IOException e) {
+            AzureLib.LOGGER.error("Couldn't load {}", location, e);
+
+            throw new AzureLibException(location.toString());
+        }
     }
 }
@@ -11,10 +11,16 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.StreamingDeserializer;
 import mod.azure.azurelib.common.internal.common.util.JsonUtil;
 import net.minecraft.util.GsonHelper;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * Container class for generic geometry information, only used in deserialization at startup
  */
@@ -44,4 +50,44 @@ public record MinecraftGeometry(
             return new MinecraftGeometry(bones, cape, modelProperties);
         };
     }
+
+    /**
+     * Streaming equivalent of {@link #deserializer()}.<br>
+     * Each bone is read from the {@link JsonReader} on its own, so only a single bone is held as a json tree at once
+     */
+    public static StreamingDeserializer<MinecraftGeometry> adapter() {
+        return StreamingDeserializer.of(MinecraftGeometry.class, MinecraftGeometry::read);
+    }
+
+    private static MinecraftGeometry read(JsonReader reader) throws IOException {
+        List<Bone> bones = new ObjectArrayList<>();
+        String cape = null;
+        ModelProperties modelProperties = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "bones" -> {
+                    reader.beginArray();
+
+                    while (reader.hasNext()) {
+                        bones.add(JsonUtil.GEO_GSON.fromJson(reader, Bone.class));
+                    }
+
+                    reader.endArray();
+                }
+                case "cape" -> cape = reader.nextString();
+                case "description" -> modelProperties = JsonUtil.GEO_GSON.fromJson(
+                        reader,
+                        ModelProperties.class
+                );
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return new MinecraftGeometry(bones.toArray(new Bone[0]), cape, modelProperties);
+    }
 }
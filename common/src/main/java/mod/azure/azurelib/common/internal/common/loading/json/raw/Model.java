@@ -11,11 +11,17 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.common.internal.common.loading.json.FormatVersion;
+import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.StreamingDeserializer;
 import mod.azure.azurelib.common.internal.common.util.JsonUtil;
 import net.minecraft.util.GsonHelper;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * Container class for model information, only used in deserialization at startup
  */
@@ -37,4 +43,42 @@ public record Model(
             return new Model(formatVersion, minecraftGeometry);
         };
     }
+
+    /**
+     * Streaming equivalent of {@link #deserializer()}, reading each geometry straight from the {@link JsonReader}
+     * instead of from a json tree of the whole file
+     */
+    public static StreamingDeserializer<Model> adapter() {
+        return StreamingDeserializer.of(Model.class, Model::read);
+    }
+
+    private static Model read(JsonReader reader) throws IOException {
+        FormatVersion formatVersion = null;
+        List<MinecraftGeometry> minecraftGeometry = new ObjectArrayList<>(1);
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "format_version" -> formatVersion = JsonUtil.GEO_GSON.fromJson(
+                        reader,
+                        FormatVersion.class
+                );
+                case "minecraft:geometry" -> {
+                    reader.beginArray();
+
+                    while (reader.hasNext()) {
+                        minecraftGeometry.add(JsonUtil.GEO_GSON.fromJson(reader, MinecraftGeometry.class));
+                    }
+
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return new Model(formatVersion, minecraftGeometry.toArray(new MinecraftGeometry[0]));
+    }
 }
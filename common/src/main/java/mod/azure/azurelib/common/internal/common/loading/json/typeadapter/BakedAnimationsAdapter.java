@@ -8,6 +8,7 @@
 package mod.azure.azurelib.common.internal.common.loading.json.typeadapter;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
 import com.mojang.datafixers.util.Pair;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -19,6 +20,9 @@ import mod.azure.azurelib.core.animation.EasingType;
 import mod.azure.azurelib.core.keyframe.BoneAnimation;
 import mod.azure.azurelib.core.keyframe.Keyframe;
 import mod.azure.azurelib.core.keyframe.KeyframeStack;
+import mod.azure.azurelib.core.keyframe.event.data.CustomInstructionKeyframeData;
+import mod.azure.azurelib.core.keyframe.event.data.ParticleKeyframeData;
+import mod.azure.azurelib.core.keyframe.event.data.SoundKeyframeData;
 import mod.azure.azurelib.core.math.Constant;
 import mod.azure.azurelib.core.math.IValue;
 import mod.azure.azurelib.core.molang.MolangException;
@@ -28,15 +32,18 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
 import org.apache.commons.lang3.math.NumberUtils;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 /**
- * {@link com.google.gson.Gson} {@link JsonDeserializer} for {@link BakedAnimations}.<br>
- * Acts as the deserialization interface for {@code BakedAnimations}
+ * {@link com.google.gson.Gson} deserializer for {@link BakedAnimations}, registered through a
+ * {@link StreamingDeserializer}.<br>
+ * Acts as the deserialization interface for {@code BakedAnimations}.<br>
+ * Animation files are read in a single pass straight from the {@link JsonReader}, so only a single keyframe channel or
+ * event is ever held as a json tree at once, rather than the whole file
  */
-public class BakedAnimationsAdapter implements JsonDeserializer<BakedAnimations> {
+public class BakedAnimationsAdapter implements StreamingDeserializer.Reader<BakedAnimations> {
 
     private static List<Pair<String, JsonElement>> getTripletObj(JsonElement element) {
         if (element == null)
@@ -105,98 +112,181 @@ public class BakedAnimationsAdapter implements JsonDeserializer<BakedAnimations>
     }
 
     @Override
-    public BakedAnimations deserialize(
-            JsonElement json,
-            Type type,
-            JsonDeserializationContext context
-    ) throws JsonParseException {
-        JsonObject jsonObj = json.getAsJsonObject();
-
-        JsonObject animationJsonList = jsonObj.getAsJsonObject("animations");
-        JsonArray includeListJSONObj = jsonObj.getAsJsonArray("includes");
+    public BakedAnimations read(JsonReader reader) throws IOException {
         Map<String, ResourceLocation> includes = null;
-        if (includeListJSONObj != null) {
-            includes = new Object2ObjectOpenHashMap<>(includeListJSONObj.size());
-            for (JsonElement entry : includeListJSONObj.asList()) {
-                JsonObject obj = entry.getAsJsonObject();
-                ResourceLocation fileId = ResourceLocation.parse(obj.get("file_id").getAsString());
-                for (JsonElement animName : obj.getAsJsonArray("animations")) {
-                    String ani = animName.getAsString();
-                    if (includes.containsKey(ani)) {
-                        AzureLib.LOGGER.warn(
-                                "Animation {} is already included! File already including: {}  File trying to include from again: {}",
-                                ani,
-                                includes.get(ani),
-                                fileId
-                        );
-                    } else {
-                        includes.put(ani, fileId);
-                    }
+        Map<String, Animation> animations = new Object2ObjectOpenHashMap<>();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "animations" -> readAnimations(reader, animations);
+                case "includes" -> includes = readIncludes(reader);
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return new BakedAnimations(animations, includes);
+    }
+
+    private Map<String, ResourceLocation> readIncludes(JsonReader reader) throws IOException {
+        Map<String, ResourceLocation> includes = new Object2ObjectOpenHashMap<>();
+
+        reader.beginArray();
+
+        while (reader.hasNext()) {
+            JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
+            ResourceLocation fileId = ResourceLocation.parse(obj.get("file_id").getAsString());
+
+            for (JsonElement animName : obj.getAsJsonArray("animations")) {
+                String ani = animName.getAsString();
+                if (includes.containsKey(ani)) {
+                    AzureLib.LOGGER.warn(
+                            "Animation {} is already included! File already including: {}  File trying to include from again: {}",
+                            ani,
+                            includes.get(ani),
+                            fileId
+                    );
+                } else {
+                    includes.put(ani, fileId);
                 }
             }
         }
 
-        Map<String, Animation> animations = new Object2ObjectOpenHashMap<>(animationJsonList.size());
+        reader.endArray();
+
+        return includes;
+    }
+
+    private void readAnimations(JsonReader reader, Map<String, Animation> animations) throws IOException {
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
 
-        for (Map.Entry<String, JsonElement> entry : animationJsonList.entrySet()) {
             try {
-                animations.put(
-                        entry.getKey(),
-                        bakeAnimation(entry.getKey(), entry.getValue().getAsJsonObject(), context)
-                );
+                animations.put(name, readAnimation(name, reader));
             } catch (MolangException ex) {
-                AzureLib.LOGGER.error("Unable to parse animation: {}", entry.getKey());
+                AzureLib.LOGGER.error("Unable to parse animation: {}", name);
                 ex.printStackTrace();
             }
         }
 
-        return new BakedAnimations(animations, includes);
+        reader.endObject();
     }
 
-    private Animation bakeAnimation(
-            String name,
-            JsonObject animationObj,
-            JsonDeserializationContext context
-    ) throws MolangException {
-        double length = animationObj.has("animation_length")
-                ? GsonHelper.getAsDouble(animationObj, "animation_length") * 20d
-                : -1;
-        Animation.LoopType loopType = Animation.LoopType.fromJson(animationObj.get("loop"));
-        BoneAnimation[] boneAnimations = bakeBoneAnimations(
-                GsonHelper.getAsJsonObject(animationObj, "bones", new JsonObject())
-        );
-        Animation.Keyframes keyframes = context.deserialize(animationObj, Animation.Keyframes.class);
+    /**
+     * Read a single animation from the given reader.<br>
+     * The animation's object is always read to its end, even if it fails to bake, so that the reader is left at the
+     * next animation
+     */
+    private Animation readAnimation(String name, JsonReader reader) throws IOException, MolangException {
+        double length = -1;
+        Animation.LoopType loopType = Animation.LoopType.PLAY_ONCE;
+        BoneAnimation[] boneAnimations = new BoneAnimation[0];
+        SoundKeyframeData[] sounds = new SoundKeyframeData[0];
+        ParticleKeyframeData[] particles = new ParticleKeyframeData[0];
+        CustomInstructionKeyframeData[] customInstructions = new CustomInstructionKeyframeData[0];
+        MolangException error = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "animation_length" -> length = reader.nextDouble() * 20d;
+                case "loop" -> loopType = Animation.LoopType.fromJson(JsonParser.parseReader(reader));
+                case "bones" -> {
+                    try {
+                        boneAnimations = readBoneAnimations(reader);
+                    } catch (MolangException ex) {
+                        error = ex;
+                    }
+                }
+                case "sound_effects" -> sounds = KeyFramesAdapter.readSoundFrameData(reader);
+                case "particle_effects" -> particles = KeyFramesAdapter.readParticleFrameData(reader);
+                case "timeline" -> customInstructions = KeyFramesAdapter.readCustomFrameData(reader);
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        if (error != null)
+            throw error;
 
         if (length == -1)
             length = calculateAnimationLength(boneAnimations);
 
-        return new Animation(name, length, loopType, boneAnimations, keyframes);
+        return new Animation(
+                name,
+                length,
+                loopType,
+                boneAnimations,
+                new Animation.Keyframes(sounds, particles, customInstructions)
+        );
     }
 
-    private BoneAnimation[] bakeBoneAnimations(JsonObject bonesObj) throws MolangException {
-        BoneAnimation[] animations = new BoneAnimation[bonesObj.size()];
-        int index = 0;
+    /**
+     * Read the {@code bones} object of an animation, baking each bone's keyframes as it is read.<br>
+     * Only a single keyframe channel is held as a json tree at a time. If a bone fails to bake, the rest of the object
+     * is still read before the exception is thrown
+     */
+    private BoneAnimation[] readBoneAnimations(JsonReader reader) throws IOException, MolangException {
+        List<BoneAnimation> animations = new ObjectArrayList<>();
+        MolangException error = null;
 
-        for (Map.Entry<String, JsonElement> entry : bonesObj.entrySet()) {
-            JsonObject entryObj = entry.getValue().getAsJsonObject();
-            KeyframeStack<Keyframe<IValue>> scaleFrames = buildKeyframeStack(
-                    getTripletObj(entryObj.get("scale")),
-                    false
-            );
-            KeyframeStack<Keyframe<IValue>> positionFrames = buildKeyframeStack(
-                    getTripletObj(entryObj.get("position")),
-                    false
-            );
-            KeyframeStack<Keyframe<IValue>> rotationFrames = buildKeyframeStack(
-                    getTripletObj(entryObj.get("rotation")),
-                    true
-            );
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String boneName = reader.nextName();
+            KeyframeStack<Keyframe<IValue>> scaleFrames = new KeyframeStack<>();
+            KeyframeStack<Keyframe<IValue>> positionFrames = new KeyframeStack<>();
+            KeyframeStack<Keyframe<IValue>> rotationFrames = new KeyframeStack<>();
+
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                String channel = reader.nextName();
+
+                if (!channel.equals("scale") && !channel.equals("position") && !channel.equals("rotation")) {
+                    reader.skipValue();
+
+                    continue;
+                }
+
+                JsonElement element = JsonParser.parseReader(reader);
+
+                if (error != null)
+                    continue;
+
+                try {
+                    KeyframeStack<Keyframe<IValue>> stack = buildKeyframeStack(
+                            getTripletObj(element),
+                            channel.equals("rotation")
+                    );
 
-            animations[index] = new BoneAnimation(entry.getKey(), rotationFrames, positionFrames, scaleFrames);
-            index++;
+                    switch (channel) {
+                        case "scale" -> scaleFrames = stack;
+                        case "position" -> positionFrames = stack;
+                        default -> rotationFrames = stack;
+                    }
+                } catch (MolangException ex) {
+                    error = ex;
+                }
+            }
+
+            reader.endObject();
+            animations.add(new BoneAnimation(boneName, rotationFrames, positionFrames, scaleFrames));
         }
 
-        return animations;
+        reader.endObject();
+
+        if (error != null)
+            throw error;
+
+        return animations.toArray(new BoneAnimation[0]);
     }
 
     private KeyframeStack<Keyframe<IValue>> buildKeyframeStack(
@@ -8,6 +8,7 @@
 package mod.azure.azurelib.common.internal.common.loading.json.typeadapter;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.common.internal.common.util.JsonUtil;
 import mod.azure.azurelib.core.animation.Animation;
@@ -16,12 +17,15 @@ import mod.azure.azurelib.core.keyframe.event.data.ParticleKeyframeData;
 import mod.azure.azurelib.core.keyframe.event.data.SoundKeyframeData;
 import net.minecraft.util.GsonHelper;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Map;
 
 /**
  * {@link Gson} {@link JsonDeserializer} for {@link Animation.Keyframes}.<br>
- * Acts as the deserialization interface for {@code Keyframes}
+ * Acts as the deserialization interface for {@code Keyframes}, and provides the streaming equivalents used by
+ * {@link BakedAnimationsAdapter}
  */
 public class KeyFramesAdapter implements JsonDeserializer<Animation.Keyframes> {
 
@@ -31,10 +35,7 @@ public class KeyFramesAdapter implements JsonDeserializer<Animation.Keyframes> {
         int index = 0;
 
         for (Map.Entry<String, JsonElement> entry : soundsObj.entrySet()) {
-            sounds[index] = new SoundKeyframeData(
-                    Double.parseDouble(entry.getKey()) * 20d,
-                    GsonHelper.getAsString(entry.getValue().getAsJsonObject(), "effect")
-            );
+            sounds[index] = buildSoundFrame(entry.getKey(), entry.getValue());
             index++;
         }
 
@@ -47,17 +48,7 @@ public class KeyFramesAdapter implements JsonDeserializer<Animation.Keyframes> {
         int index = 0;
 
         for (Map.Entry<String, JsonElement> entry : particlesObj.entrySet()) {
-            JsonObject obj = entry.getValue().getAsJsonObject();
-            String effect = GsonHelper.getAsString(obj, "effect", "");
-            String locator = GsonHelper.getAsString(obj, "locator", "");
-            String script = GsonHelper.getAsString(obj, "pre_effect_script", "");
-
-            particles[index] = new ParticleKeyframeData(
-                    Double.parseDouble(entry.getKey()) * 20d,
-                    effect,
-                    locator,
-                    script
-            );
+            particles[index] = buildParticleFrame(entry.getKey(), entry.getValue());
             index++;
         }
 
@@ -71,24 +62,92 @@ public class KeyFramesAdapter implements JsonDeserializer<Animation.Keyframes> {
         int index = 0;
 
         for (Map.Entry<String, JsonElement> entry : customInstructionsObj.entrySet()) {
-            String instructions = "";
-
-            if (entry.getValue() instanceof JsonArray array) {
-                instructions = JsonUtil.GEO_GSON.fromJson(array, ObjectArrayList.class).toString();
-            } else if (entry.getValue() instanceof JsonPrimitive primitive) {
-                instructions = primitive.getAsString();
-            }
-
-            customInstructions[index] = new CustomInstructionKeyframeData(
-                    Double.parseDouble(entry.getKey()) * 20d,
-                    instructions
-            );
+            customInstructions[index] = buildCustomFrame(entry.getKey(), entry.getValue());
             index++;
         }
 
         return customInstructions;
     }
 
+    private static SoundKeyframeData buildSoundFrame(String timestamp, JsonElement element) {
+        return new SoundKeyframeData(
+                Double.parseDouble(timestamp) * 20d,
+                GsonHelper.getAsString(element.getAsJsonObject(), "effect")
+        );
+    }
+
+    private static ParticleKeyframeData buildParticleFrame(String timestamp, JsonElement element) {
+        JsonObject obj = element.getAsJsonObject();
+        String effect = GsonHelper.getAsString(obj, "effect", "");
+        String locator = GsonHelper.getAsString(obj, "locator", "");
+        String script = GsonHelper.getAsString(obj, "pre_effect_script", "");
+
+        return new ParticleKeyframeData(Double.parseDouble(timestamp) * 20d, effect, locator, script);
+    }
+
+    private static CustomInstructionKeyframeData buildCustomFrame(String timestamp, JsonElement element) {
+        String instructions = "";
+
+        if (element instanceof JsonArray array) {
+            instructions = JsonUtil.GEO_GSON.fromJson(array, ObjectArrayList.class).toString();
+        } else if (element instanceof JsonPrimitive primitive) {
+            instructions = primitive.getAsString();
+        }
+
+        return new CustomInstructionKeyframeData(Double.parseDouble(timestamp) * 20d, instructions);
+    }
+
+    /**
+     * Read the {@code sound_effects} object of an animation from the given reader
+     */
+    public static SoundKeyframeData[] readSoundFrameData(JsonReader reader) throws IOException {
+        List<SoundKeyframeData> sounds = new ObjectArrayList<>();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            sounds.add(buildSoundFrame(reader.nextName(), JsonParser.parseReader(reader)));
+        }
+
+        reader.endObject();
+
+        return sounds.toArray(new SoundKeyframeData[0]);
+    }
+
+    /**
+     * Read the {@code particle_effects} object of an animation from the given reader
+     */
+    public static ParticleKeyframeData[] readParticleFrameData(JsonReader reader) throws IOException {
+        List<ParticleKeyframeData> particles = new ObjectArrayList<>();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            particles.add(buildParticleFrame(reader.nextName(), JsonParser.parseReader(reader)));
+        }
+
+        reader.endObject();
+
+        return particles.toArray(new ParticleKeyframeData[0]);
+    }
+
+    /**
+     * Read the {@code timeline} object of an animation from the given reader
+     */
+    public static CustomInstructionKeyframeData[] readCustomFrameData(JsonReader reader) throws IOException {
+        List<CustomInstructionKeyframeData> customInstructions = new ObjectArrayList<>();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            customInstructions.add(buildCustomFrame(reader.nextName(), JsonParser.parseReader(reader)));
+        }
+
+        reader.endObject();
+
+        return customInstructions.toArray(new CustomInstructionKeyframeData[0]);
+    }
+
     @Override
     public Animation.Keyframes deserialize(
             JsonElement json,
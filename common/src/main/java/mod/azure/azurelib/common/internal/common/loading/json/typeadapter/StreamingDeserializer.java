@@ -0,0 +1,70 @@
+package mod.azure.azurelib.common.internal.common.loading.json.typeadapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * {@link Gson} {@link TypeAdapterFactory} for types that are deserialized straight from a {@link JsonReader}, rather
+ * than from a json tree.<br>
+ * Only reading is handled here, serialization is left to the adapter Gson would otherwise use for the type, which is
+ * only looked up the first time a value is written
+ */
+public final class StreamingDeserializer<T> implements TypeAdapterFactory {
+
+    private final Class<T> type;
+
+    private final Reader<T> reader;
+
+    private StreamingDeserializer(Class<T> type, Reader<T> reader) {
+        this.type = type;
+        this.reader = reader;
+    }
+
+    /**
+     * Create a factory that deserializes the given type with the given reader
+     */
+    public static <T> StreamingDeserializer<T> of(Class<T> type, Reader<T> reader) {
+        return new StreamingDeserializer<>(type, reader);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> typeToken) {
+        if (typeToken.getRawType() != this.type)
+            return null;
+
+        TypeAdapterFactory skipPast = this;
+
+        return new TypeAdapter<>() {
+            private TypeAdapter<R> delegate;
+
+            @Override
+            public void write(JsonWriter writer, R value) throws IOException {
+                if (this.delegate == null)
+                    this.delegate = gson.getDelegateAdapter(skipPast, typeToken);
+
+                this.delegate.write(writer, value);
+            }
+
+            @Override
+            public R read(JsonReader reader) throws IOException {
+                return (R) StreamingDeserializer.this.reader.read(reader);
+            }
+        };
+    }
+
+    /**
+     * Reads a single value of a type from a {@link JsonReader}, leaving the reader positioned after it
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+
+        T read(JsonReader reader) throws IOException;
+    }
+}
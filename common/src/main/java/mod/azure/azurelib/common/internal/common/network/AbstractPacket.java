@@ -1,8 +1,26 @@
 package mod.azure.azurelib.common.internal.common.network;
 
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.Nullable;
 
 public interface AbstractPacket extends CustomPacketPayload {
 
     void handle();
+
+    /**
+     * Called on the server before this packet is sent, to add any strings it carries to the {@link SyncPalette}.<br>
+     * Senders should go through {@link SyncPalette#prepareForSend} rather than calling this directly
+     */
+    default void prepareForSend(MinecraftServer server) {}
+
+    /**
+     * Key identifying the state this packet syncs, so that a newer packet with an equal key can replace it while it is
+     * waiting in the {@link AnimationSyncQueue}.<br>
+     * Returns null if this packet should never be replaced
+     */
+    @Nullable
+    default Object getCoalescingKey() {
+        return null;
+    }
 }
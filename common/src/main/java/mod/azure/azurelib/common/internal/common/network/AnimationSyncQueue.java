@@ -0,0 +1,196 @@
+package mod.azure.azurelib.common.internal.common.network;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import mod.azure.azurelib.common.internal.common.AzureLib;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
+import mod.azure.azurelib.common.internal.common.network.packet.AnimSyncBundlePacket;
+import mod.azure.azurelib.common.platform.Services;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player outbound queue for animation sync packets.<br>
+ * Packets sent to a player during a server tick are held until the end of the tick, then sent together as a single
+ * {@link AnimSyncBundlePacket}. A queued packet is dropped if a newer one with the same
+ * {@link AbstractPacket#getCoalescingKey() coalescing key} is sent to the same player before the flush, so data synced
+ * more than once in a tick only sends its latest value.<br>
+ * Packets sent outside of the server tick, such as from tasks run between ticks, are sent immediately rather than
+ * waiting for the next tick to end.<br>
+ * Enabled via {@code batchAnimationSync} in the AzureLib config
+ */
+public final class AnimationSyncQueue {
+
+    private static final int STATS_INTERVAL = 1200;
+
+    private static final Map<ServerPlayer, Map<Object, AbstractPacket>> QUEUES =
+            new Reference2ObjectLinkedOpenHashMap<>();
+
+    private static final AtomicLong BYTES_SENT = new AtomicLong();
+
+    private static volatile Stats lastTick = Stats.EMPTY;
+
+    private static volatile Stats total = Stats.EMPTY;
+
+    private static Stats interval = Stats.EMPTY;
+
+    private static int intervalTicks = 0;
+
+    private static boolean ticking = false;
+
+    private static int queued = 0;
+
+    private static int coalesced = 0;
+
+    private AnimationSyncQueue() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static boolean isEnabled() {
+        return AzureLibMod.config == null || AzureLibMod.config.batchAnimationSync;
+    }
+
+    /**
+     * Whether packets sent from the server thread right now are queued until the end of the tick
+     */
+    public static boolean isCollecting() {
+        return ticking && isEnabled();
+    }
+
+    /**
+     * Start queueing packets for the current tick.<br>
+     * Called at the start of each server tick
+     */
+    public static void startTick() {
+        ticking = true;
+    }
+
+    /**
+     * Queue the given packet to be sent to the given player at the end of the current tick.<br>
+     * Returns false if the packet should be sent immediately instead, such as when batching is disabled, the packet
+     * can't be bundled, or this isn't being called from the server thread during a tick
+     */
+    public static boolean offer(AbstractPacket packet, ServerPlayer player) {
+        if (!isCollecting() || !AnimSyncBundlePacket.canBundle(packet) || !player.server.isSameThread())
+            return false;
+
+        Map<Object, AbstractPacket> queue = QUEUES.computeIfAbsent(
+                player,
+                key -> new Object2ObjectLinkedOpenHashMap<>()
+        );
+        Object key = packet.getCoalescingKey();
+
+        queued++;
+
+        if (key == null) {
+            queue.put(new Object(), packet);
+        } else if (queue.remove(key) != null) {
+            // Re-inserted rather than replaced, so it's still sent after anything queued before the newer value
+            queue.put(key, packet);
+            coalesced++;
+        } else {
+            queue.put(key, packet);
+        }
+
+        return true;
+    }
+
+    /**
+     * Send all queued packets, one bundle per player.<br>
+     * Called at the end of each server tick
+     */
+    public static void flush() {
+        int payloads = QUEUES.size();
+
+        ticking = false;
+
+        for (Map.Entry<ServerPlayer, Map<Object, AbstractPacket>> entry : QUEUES.entrySet()) {
+            ServerPlayer player = entry.getKey();
+
+            if (player.hasDisconnected())
+                continue;
+
+            Services.NETWORK.sendToPlayer(
+                    new AnimSyncBundlePacket(new ObjectArrayList<>(entry.getValue().values())),
+                    player
+            );
+        }
+
+        QUEUES.clear();
+
+        lastTick = new Stats(1, queued, coalesced, payloads, BYTES_SENT.getAndSet(0));
+        total = total.add(lastTick);
+        interval = interval.add(lastTick);
+        queued = 0;
+        coalesced = 0;
+
+        if (++intervalTicks >= STATS_INTERVAL) {
+            if (AzureLibMod.config != null && AzureLibMod.config.logAnimationSyncStats && interval.packets() > 0)
+                AzureLib.LOGGER.info("Animation sync over the last {} ticks: {}", intervalTicks, interval);
+
+            interval = Stats.EMPTY;
+            intervalTicks = 0;
+        }
+    }
+
+    /**
+     * Record the encoded size of a bundle.<br>
+     * Bundles are encoded on the network threads, so bytes are attributed to the tick in which they finished encoding
+     */
+    public static void recordBytesSent(int bytes) {
+        BYTES_SENT.addAndGet(bytes);
+    }
+
+    /**
+     * Get the stats for the most recently flushed tick
+     */
+    public static Stats getLastTickStats() {
+        return lastTick;
+    }
+
+    /**
+     * Get the stats accumulated since the game started
+     */
+    public static Stats getTotalStats() {
+        return total;
+    }
+
+    /**
+     * Animation sync network stats over a number of ticks
+     *
+     * @param ticks     The number of ticks these stats cover
+     * @param packets   The number of packets queued
+     * @param coalesced The number of queued packets dropped in favour of a newer value
+     * @param payloads  The number of bundles sent
+     * @param bytes     The number of bytes encoded for those bundles
+     */
+    public record Stats(long ticks, long packets, long coalesced, long payloads, long bytes) {
+
+        public static final Stats EMPTY = new Stats(0, 0, 0, 0, 0);
+
+        public Stats add(Stats other) {
+            return new Stats(
+                    this.ticks + other.ticks,
+                    this.packets + other.packets,
+                    this.coalesced + other.coalesced,
+                    this.payloads + other.payloads,
+                    this.bytes + other.bytes
+            );
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d packets (%d coalesced) in %d payloads, %d bytes, %.1f bytes/tick",
+                    this.packets,
+                    this.coalesced,
+                    this.payloads,
+                    this.bytes,
+                    this.ticks == 0 ? 0 : (double) this.bytes / this.ticks
+            );
+        }
+    }
+}
@@ -7,7 +7,6 @@
  */
 package mod.azure.azurelib.common.internal.common.network;
 
-import mod.azure.azurelib.common.internal.common.constant.DataTickets;
 import mod.azure.azurelib.core.object.DataTicket;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
@@ -20,10 +19,9 @@ import org.jetbrains.annotations.NotNull;
  */
 public abstract class SerializableDataTicket<D> extends DataTicket<D> {
 
-    public static final StreamCodec<RegistryFriendlyByteBuf, SerializableDataTicket<?>> STREAM_CODEC = StreamCodec.composite(
-            ByteBufCodecs.STRING_UTF8,
-            SerializableDataTicket::id,
-            DataTickets::byName);
+    public static final StreamCodec<RegistryFriendlyByteBuf, SerializableDataTicket<?>> STREAM_CODEC = StreamCodec.of(
+            SyncPalette::writeDataTicket,
+            SyncPalette::readDataTicket);
 
     protected SerializableDataTicket(String id, Class<? extends D> objectType) {
         super(id, objectType);
@@ -0,0 +1,306 @@
+package mod.azure.azurelib.common.internal.common.network;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import mod.azure.azurelib.common.internal.common.AzureLib;
+import mod.azure.azurelib.common.internal.common.constant.DataTickets;
+import mod.azure.azurelib.common.internal.common.network.packet.SyncPalettePacket;
+import mod.azure.azurelib.common.platform.Services;
+import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Palette of the strings commonly sent in AzureLib's animation sync packets.<br>
+ * The server sends its full palette to each player on login, after which synced animatables, data tickets, and
+ * controller and animation names are written as a varint index into the palette instead of as a string.<br>
+ * Palettes are append-only. Controller and animation names are added as they are first sent, and are broadcast to all
+ * connected players before any packet that uses them.<br>
+ * A packet only uses the palette entries that existed when it was passed to {@link #prepareForSend}, as those are the
+ * entries already sent to its players. Anything else is written inline, so packets built and sent outside of
+ * {@link AzureLibNetwork} still work.<br>
+ * The server palette is reset when the server stops, and the client palette when the client disconnects
+ */
+public final class SyncPalette {
+
+    /**
+     * Codec for controller and animation names, see {@link #writeName}
+     */
+    public static final StreamCodec<FriendlyByteBuf, String> NAME_CODEC = StreamCodec.of(
+            SyncPalette::writeName,
+            SyncPalette::readName
+    );
+
+    private static final int MAX_NAMES = 4096;
+
+    private static final Map<AbstractPacket, Watermark> WATERMARKS = new MapMaker().weakKeys().makeMap();
+
+    private static final ThreadLocal<Watermark> ENCODING_WATERMARK = new ThreadLocal<>();
+
+    private static volatile SyncPalette server = new SyncPalette();
+
+    private static volatile SyncPalette client = new SyncPalette();
+
+    private final Table animatables = new Table();
+
+    private final Table dataTickets = new Table();
+
+    private final Table names = new Table();
+
+    private SyncPalette() {}
+
+    /**
+     * Prepare a packet for sending, publishing any palette entries it needs and marking which entries it may use.<br>
+     * Packets prepared off the server thread write everything inline
+     */
+    public static void prepareForSend(AbstractPacket packet, MinecraftServer server) {
+        packet.prepareForSend(server);
+
+        if (server.isSameThread()) {
+            SyncPalette palette = SyncPalette.server;
+
+            WATERMARKS.put(
+                    packet,
+                    new Watermark(palette.animatables.size(), palette.dataTickets.size(), palette.names.size())
+            );
+        }
+    }
+
+    /**
+     * Wrap a packet codec so that it only writes the palette entries that existed when the packet was
+     * {@link #prepareForSend prepared}
+     */
+    public static <B extends FriendlyByteBuf, P extends AbstractPacket> StreamCodec<B, P> limitToPrepared(
+            StreamCodec<B, P> codec
+    ) {
+        return StreamCodec.of(
+                (buf, packet) -> {
+                    Watermark previous = ENCODING_WATERMARK.get();
+
+                    ENCODING_WATERMARK.set(WATERMARKS.getOrDefault(packet, Watermark.NONE));
+
+                    try {
+                        codec.encode(buf, packet);
+                    } finally {
+                        ENCODING_WATERMARK.set(previous);
+                    }
+                },
+                codec::decode
+        );
+    }
+
+    /**
+     * Discard the server palette, ready for the next server to start
+     */
+    public static void resetServer() {
+        server = new SyncPalette();
+
+        WATERMARKS.clear();
+    }
+
+    /**
+     * Discard the client palette, ready for the next server to send its own
+     */
+    public static void resetClient() {
+        client = new SyncPalette();
+    }
+
+    private static Watermark getWatermark() {
+        Watermark watermark = ENCODING_WATERMARK.get();
+
+        return watermark == null ? Watermark.NONE : watermark;
+    }
+
+    /**
+     * Send the full palette to a player that just joined.<br>
+     * Any synced animatables or data tickets registered since the last login are added to the palette first, and
+     * broadcast to the players that are already connected.<br>
+     * Must be called on the server thread
+     */
+    public static void sendTo(ServerPlayer player) {
+        SyncPalette palette = server;
+        List<String> newAnimatables = palette.animatables.addMissing(AzureLibNetwork.SYNCED_ANIMATABLES.keySet());
+        List<String> newDataTickets = palette.dataTickets.addMissing(DataTickets.getSerializableTicketIds());
+
+        if (!newAnimatables.isEmpty() || !newDataTickets.isEmpty()) {
+            broadcast(
+                    player.server,
+                    player,
+                    new SyncPalettePacket(false, newAnimatables, newDataTickets, List.of())
+            );
+        }
+
+        Services.NETWORK.sendToPlayer(
+                new SyncPalettePacket(
+                        true,
+                        palette.animatables.values(),
+                        palette.dataTickets.values(),
+                        palette.names.values()
+                ),
+                player
+        );
+    }
+
+    /**
+     * Add the given controller or animation names to the server palette, broadcasting any new entries to all connected
+     * players.<br>
+     * Does nothing if not called on the server thread, in which case the names are written inline
+     */
+    public static void publishNames(MinecraftServer server, @Nullable String... names) {
+        if (!server.isSameThread())
+            return;
+
+        SyncPalette palette = SyncPalette.server;
+        List<String> newNames = null;
+
+        for (String name : names) {
+            if (name == null || palette.names.contains(name) || palette.names.size() >= MAX_NAMES)
+                continue;
+
+            palette.names.add(name);
+
+            if (newNames == null)
+                newNames = new ObjectArrayList<>();
+
+            newNames.add(name);
+        }
+
+        if (newNames != null)
+            broadcast(server, null, new SyncPalettePacket(false, List.of(), List.of(), newNames));
+    }
+
+    private static void broadcast(MinecraftServer server, @Nullable ServerPlayer except, SyncPalettePacket packet) {
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (player != except)
+                Services.NETWORK.sendToPlayer(packet, player);
+        }
+    }
+
+    /**
+     * Apply a palette received from the server.<br>
+     * Called while decoding, so that packets following it in the same stream are decoded against it
+     */
+    public static void applyOnClient(SyncPalettePacket packet) {
+        SyncPalette palette = packet.reset() ? new SyncPalette() : client;
+
+        palette.animatables.values.addAll(packet.animatables());
+        palette.dataTickets.values.addAll(packet.dataTickets());
+        palette.names.values.addAll(packet.names());
+
+        client = palette;
+    }
+
+    public static void writeAnimatable(FriendlyByteBuf buf, String syncableId) {
+        server.animatables.write(buf, syncableId, getWatermark().animatables());
+    }
+
+    public static String readAnimatable(FriendlyByteBuf buf) {
+        return client.animatables.read(buf);
+    }
+
+    public static void writeDataTicket(FriendlyByteBuf buf, SerializableDataTicket<?> dataTicket) {
+        server.dataTickets.write(buf, dataTicket.id(), getWatermark().dataTickets());
+    }
+
+    @Nullable
+    public static SerializableDataTicket<?> readDataTicket(FriendlyByteBuf buf) {
+        return DataTickets.byName(client.dataTickets.read(buf));
+    }
+
+    /**
+     * Write a controller or animation name, treating {@code null} as an empty name
+     */
+    public static void writeName(FriendlyByteBuf buf, @Nullable String name) {
+        server.names.write(buf, name == null ? "" : name, getWatermark().names());
+    }
+
+    public static String readName(FriendlyByteBuf buf) {
+        return client.names.read(buf);
+    }
+
+    /**
+     * The size of each server palette table when a packet was prepared.<br>
+     * Entries at or past these sizes may not have reached the packet's players yet
+     */
+    private record Watermark(int animatables, int dataTickets, int names) {
+        private static final Watermark NONE = new Watermark(0, 0, 0);
+    }
+
+    /**
+     * Append-only list of strings, indexed for lookup from the netty threads.<br>
+     * Index {@code 0} on the wire marks an inline string, so palette entries are written offset by one
+     */
+    private static final class Table {
+
+        private final List<String> values = new CopyOnWriteArrayList<>();
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+        private boolean contains(String value) {
+            return this.ids.containsKey(value);
+        }
+
+        private int size() {
+            return this.values.size();
+        }
+
+        private void add(String value) {
+            this.ids.put(value, this.values.size());
+            this.values.add(value);
+        }
+
+        private List<String> addMissing(Collection<String> values) {
+            List<String> added = new ObjectArrayList<>();
+
+            for (String value : values) {
+                if (!contains(value))
+                    added.add(value);
+            }
+
+            // Sorted so that palettes built from the same registries always match
+            added.sort(null);
+            added.forEach(this::add);
+
+            return added;
+        }
+
+        private List<String> values() {
+            return List.copyOf(this.values);
+        }
+
+        private void write(FriendlyByteBuf buf, String value, int limit) {
+            Integer id = this.ids.get(value);
+
+            if (id == null || id >= limit) {
+                buf.writeVarInt(0);
+                buf.writeUtf(value);
+            } else {
+                buf.writeVarInt(id + 1);
+            }
+        }
+
+        private String read(FriendlyByteBuf buf) {
+            int id = buf.readVarInt();
+
+            if (id == 0)
+                return buf.readUtf();
+
+            if (id > this.values.size()) {
+                AzureLib.LOGGER.warn("Received unknown sync palette entry {}, was the palette sent?", id - 1);
+
+                return "";
+            }
+
+            return this.values.get(id - 1);
+        }
+    }
+}
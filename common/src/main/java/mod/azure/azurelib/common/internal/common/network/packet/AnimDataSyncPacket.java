@@ -4,6 +4,7 @@ import mod.azure.azurelib.common.api.client.helper.ClientUtils;
 import mod.azure.azurelib.common.internal.common.animatable.SingletonGeoAnimatable;
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
 import mod.azure.azurelib.common.internal.common.network.SerializableDataTicket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
 import net.minecraft.network.RegistryFriendlyByteBuf;
@@ -11,6 +12,8 @@ import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * Packet for syncing user-definable animation data for {@link SingletonGeoAnimatable} instances
  */
@@ -19,18 +22,19 @@ public record AnimDataSyncPacket<D>(String syncableId, long instanceId, Serializ
 
     public static final CustomPacketPayload.Type<AnimDataSyncPacket<?>> TYPE = new Type<>(
             AzureLibNetwork.ANIM_DATA_SYNC_PACKET_ID);
-    public static final StreamCodec<RegistryFriendlyByteBuf, AnimDataSyncPacket<?>> CODEC = StreamCodec.of(
+    public static final StreamCodec<RegistryFriendlyByteBuf, AnimDataSyncPacket<?>> CODEC =
+            SyncPalette.limitToPrepared(StreamCodec.of(
             (buf, packet) -> {
                 SerializableDataTicket.STREAM_CODEC.encode(buf, packet.dataTicket);
-                buf.writeUtf(packet.syncableId);
+                SyncPalette.writeAnimatable(buf, packet.syncableId);
                 buf.writeVarLong(packet.instanceId);
                 ((StreamCodec) packet.dataTicket.streamCodec()).encode(buf, packet.data);
             }, buf -> {
                 final SerializableDataTicket dataTicket = SerializableDataTicket.STREAM_CODEC.decode(buf);
 
-                return new AnimDataSyncPacket<>(buf.readUtf(), buf.readVarLong(), dataTicket,
+                return new AnimDataSyncPacket<>(SyncPalette.readAnimatable(buf), buf.readVarLong(), dataTicket,
                         dataTicket.streamCodec().decode(buf));
-            });
+            }));
 
     @Override
     public void handle() {
@@ -41,6 +45,11 @@ public record AnimDataSyncPacket<D>(String syncableId, long instanceId, Serializ
         }
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return List.of(TYPE, this.syncableId, this.instanceId, this.dataTicket);
+    }
+
     @Override
     public @NotNull Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -0,0 +1,99 @@
+package mod.azure.azurelib.common.internal.common.network.packet;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.AnimationSyncQueue;
+import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Packet bundling all animation sync packets queued for a player during a tick into a single payload
+ */
+public record AnimSyncBundlePacket(List<AbstractPacket> packets) implements AbstractPacket {
+
+    public static final CustomPacketPayload.Type<AnimSyncBundlePacket> TYPE = new Type<>(
+            AzureLibNetwork.ANIM_SYNC_BUNDLE_PACKET_ID);
+
+    private static final List<StreamCodec<? super RegistryFriendlyByteBuf, ? extends AbstractPacket>> CODECS = List.of(
+            AnimTriggerPacket.CODEC,
+            AnimDataSyncPacket.CODEC,
+            EntityAnimTriggerPacket.CODEC,
+            EntityAnimDataSyncPacket.CODEC,
+            BlockEntityAnimTriggerPacket.CODEC,
+            BlockEntityAnimDataSyncPacket.CODEC
+    );
+
+    private static final Reference2IntOpenHashMap<CustomPacketPayload.Type<?>> CODEC_IDS = createCodecIds(
+            AnimTriggerPacket.TYPE,
+            AnimDataSyncPacket.TYPE,
+            EntityAnimTriggerPacket.TYPE,
+            EntityAnimDataSyncPacket.TYPE,
+            BlockEntityAnimTriggerPacket.TYPE,
+            BlockEntityAnimDataSyncPacket.TYPE
+    );
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final StreamCodec<RegistryFriendlyByteBuf, AnimSyncBundlePacket> CODEC = StreamCodec.of(
+            (buf, packet) -> {
+                int start = buf.writerIndex();
+
+                buf.writeVarInt(packet.packets.size());
+
+                for (AbstractPacket bundled : packet.packets) {
+                    int id = CODEC_IDS.getInt(bundled.type());
+
+                    buf.writeByte(id);
+                    ((StreamCodec) CODECS.get(id)).encode(buf, bundled);
+                }
+
+                AnimationSyncQueue.recordBytesSent(buf.writerIndex() - start);
+            }, buf -> {
+                int count = buf.readVarInt();
+                List<AbstractPacket> packets = new ObjectArrayList<>(count);
+
+                for (int i = 0; i < count; i++) {
+                    packets.add(CODECS.get(buf.readByte()).decode(buf));
+                }
+
+                return new AnimSyncBundlePacket(packets);
+            });
+
+    private static Reference2IntOpenHashMap<CustomPacketPayload.Type<?>> createCodecIds(
+            CustomPacketPayload.Type<?>... types
+    ) {
+        Reference2IntOpenHashMap<CustomPacketPayload.Type<?>> ids = new Reference2IntOpenHashMap<>(types.length);
+
+        ids.defaultReturnValue(-1);
+
+        for (int i = 0; i < types.length; i++) {
+            ids.put(types[i], i);
+        }
+
+        return ids;
+    }
+
+    /**
+     * Whether the given packet can be sent as part of a bundle
+     */
+    public static boolean canBundle(AbstractPacket packet) {
+        return CODEC_IDS.containsKey(packet.type());
+    }
+
+    @Override
+    public void handle() {
+        for (AbstractPacket packet : this.packets) {
+            packet.handle();
+        }
+    }
+
+    @Override
+    public @NotNull Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -1,13 +1,14 @@
 package mod.azure.azurelib.common.internal.common.network.packet;
 
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
 import mod.azure.azurelib.core.animation.AnimatableManager;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.MinecraftServer;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -17,10 +18,15 @@ public record AnimTriggerPacket(String syncableId, long instanceId, String contr
                                 String animName) implements AbstractPacket {
     public static final CustomPacketPayload.Type<AnimTriggerPacket> TYPE = new Type<>(
             AzureLibNetwork.ANIM_TRIGGER_SYNC_PACKET_ID);
-    public static final StreamCodec<FriendlyByteBuf, AnimTriggerPacket> CODEC = StreamCodec.composite(
-            ByteBufCodecs.STRING_UTF8, AnimTriggerPacket::syncableId, ByteBufCodecs.VAR_LONG,
-            AnimTriggerPacket::instanceId, ByteBufCodecs.STRING_UTF8, AnimTriggerPacket::controllerName,
-            ByteBufCodecs.STRING_UTF8, AnimTriggerPacket::animName, AnimTriggerPacket::new);
+    public static final StreamCodec<FriendlyByteBuf, AnimTriggerPacket> CODEC =
+            SyncPalette.limitToPrepared(StreamCodec.of(
+            (buf, packet) -> {
+                SyncPalette.writeAnimatable(buf, packet.syncableId);
+                buf.writeVarLong(packet.instanceId);
+                SyncPalette.writeName(buf, packet.controllerName);
+                SyncPalette.writeName(buf, packet.animName);
+            }, buf -> new AnimTriggerPacket(SyncPalette.readAnimatable(buf), buf.readVarLong(),
+                    SyncPalette.readName(buf), SyncPalette.readName(buf))));
 
     @Override
     public void handle() {
@@ -33,6 +39,11 @@ public record AnimTriggerPacket(String syncableId, long instanceId, String contr
         }
     }
 
+    @Override
+    public void prepareForSend(MinecraftServer server) {
+        SyncPalette.publishNames(server, controllerName, animName);
+    }
+
     @Override
     public @NotNull Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -3,6 +3,7 @@ package mod.azure.azurelib.common.internal.common.network.packet;
 import mod.azure.azurelib.common.api.client.helper.ClientUtils;
 import mod.azure.azurelib.common.api.common.animatable.GeoBlockEntity;
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.internal.common.network.SerializableDataTicket;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import net.minecraft.core.BlockPos;
@@ -12,6 +13,8 @@ import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * Packet for syncing user-definable animation data for {@link BlockEntity BlockEntities}
  */
@@ -19,7 +22,8 @@ public record BlockEntityAnimDataSyncPacket<D>(BlockPos blockPos, SerializableDa
                                                D data) implements AbstractPacket {
     public static final CustomPacketPayload.Type<BlockEntityAnimDataSyncPacket<?>> TYPE = new Type<>(
             AzureLibNetwork.BLOCK_ENTITY_ANIM_DATA_SYNC_PACKET_ID);
-    public static final StreamCodec<RegistryFriendlyByteBuf, BlockEntityAnimDataSyncPacket<?>> CODEC = StreamCodec.of(
+    public static final StreamCodec<RegistryFriendlyByteBuf, BlockEntityAnimDataSyncPacket<?>> CODEC =
+            SyncPalette.limitToPrepared(StreamCodec.of(
             (buf, packet) -> {
                 SerializableDataTicket.STREAM_CODEC.encode(buf, packet.dataTicket);
                 buf.writeBlockPos(packet.blockPos);
@@ -29,7 +33,7 @@ public record BlockEntityAnimDataSyncPacket<D>(BlockPos blockPos, SerializableDa
 
                 return new BlockEntityAnimDataSyncPacket<>(buf.readBlockPos(), dataTicket,
                         dataTicket.streamCodec().decode(buf));
-            });
+            }));
 
     @Override
     public void handle() {
@@ -40,6 +44,11 @@ public record BlockEntityAnimDataSyncPacket<D>(BlockPos blockPos, SerializableDa
         }
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return List.of(TYPE, this.blockPos, this.dataTicket);
+    }
+
     @Override
     public @NotNull Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -10,12 +10,13 @@ package mod.azure.azurelib.common.internal.common.network.packet;
 import mod.azure.azurelib.common.api.client.helper.ClientUtils;
 import mod.azure.azurelib.common.api.common.animatable.GeoBlockEntity;
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,14 +29,15 @@ public record BlockEntityAnimTriggerPacket(BlockPos blockPos, @Nullable String c
                                            String animName) implements AbstractPacket {
     public static final CustomPacketPayload.Type<BlockEntityAnimTriggerPacket> TYPE = new Type<>(
             AzureLibNetwork.BLOCK_ENTITY_ANIM_TRIGGER_SYNC_PACKET_ID);
-    public static final StreamCodec<FriendlyByteBuf, BlockEntityAnimTriggerPacket> CODEC = StreamCodec.composite(
+    public static final StreamCodec<FriendlyByteBuf, BlockEntityAnimTriggerPacket> CODEC =
+            SyncPalette.limitToPrepared(StreamCodec.composite(
             BlockPos.STREAM_CODEC,
             BlockEntityAnimTriggerPacket::blockPos,
-            ByteBufCodecs.STRING_UTF8,
+            SyncPalette.NAME_CODEC,
             BlockEntityAnimTriggerPacket::controllerName,
-            ByteBufCodecs.STRING_UTF8,
+            SyncPalette.NAME_CODEC,
             BlockEntityAnimTriggerPacket::animName,
-            BlockEntityAnimTriggerPacket::new);
+            BlockEntityAnimTriggerPacket::new));
 
     @Override
     public void handle() {
@@ -46,6 +48,11 @@ public record BlockEntityAnimTriggerPacket(BlockPos blockPos, @Nullable String c
         }
     }
 
+    @Override
+    public void prepareForSend(MinecraftServer server) {
+        SyncPalette.publishNames(server, controllerName, animName);
+    }
+
     @Override
     public @NotNull Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -0,0 +1,36 @@
+package mod.azure.azurelib.common.internal.common.network.packet;
+
+import mod.azure.azurelib.common.internal.client.renderer.DynamicLights;
+import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packet for attaching a short-lived {@link DynamicLights dynamic light} to an
+ * {@link net.minecraft.world.entity.Entity Entity}
+ */
+public record DynamicLightPacket(int entityId, int lifespan) implements AbstractPacket {
+
+    public static final CustomPacketPayload.Type<DynamicLightPacket> TYPE = new Type<>(
+            AzureLibNetwork.DYNAMIC_LIGHT_PACKET_ID);
+    public static final StreamCodec<FriendlyByteBuf, DynamicLightPacket> CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT,
+            DynamicLightPacket::entityId,
+            ByteBufCodecs.VAR_INT,
+            DynamicLightPacket::lifespan,
+            DynamicLightPacket::new);
+
+    @Override
+    public void handle() {
+        DynamicLights.addLight(this.entityId, this.lifespan);
+    }
+
+    @Override
+    public @NotNull Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -5,6 +5,7 @@ import mod.azure.azurelib.common.api.common.animatable.GeoEntity;
 import mod.azure.azurelib.common.api.common.animatable.GeoReplacedEntity;
 import mod.azure.azurelib.common.internal.client.util.RenderUtils;
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.internal.common.network.SerializableDataTicket;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import net.minecraft.network.RegistryFriendlyByteBuf;
@@ -13,6 +14,8 @@ import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.world.entity.Entity;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * Packet for syncing user-definable animation data for {@link net.minecraft.world.entity.Entity Entities}
  */
@@ -20,7 +23,8 @@ public record EntityAnimDataSyncPacket<D>(int entityId, boolean isReplacedEntity
                                           D data) implements AbstractPacket {
     public static final CustomPacketPayload.Type<EntityAnimDataSyncPacket<?>> TYPE = new Type<>(
             AzureLibNetwork.ENTITY_ANIM_DATA_SYNC_PACKET_ID);
-    public static final StreamCodec<RegistryFriendlyByteBuf, EntityAnimDataSyncPacket<?>> CODEC = StreamCodec.of(
+    public static final StreamCodec<RegistryFriendlyByteBuf, EntityAnimDataSyncPacket<?>> CODEC =
+            SyncPalette.limitToPrepared(StreamCodec.of(
             (buf, packet) -> {
                 SerializableDataTicket.STREAM_CODEC.encode(buf, packet.dataTicket);
                 buf.writeVarInt(packet.entityId);
@@ -31,7 +35,7 @@ public record EntityAnimDataSyncPacket<D>(int entityId, boolean isReplacedEntity
 
                 return new EntityAnimDataSyncPacket<>(buf.readVarInt(), buf.readBoolean(), dataTicket,
                         dataTicket.streamCodec().decode(buf));
-            });
+            }));
 
     @Override
     public void handle() {
@@ -45,6 +49,11 @@ public record EntityAnimDataSyncPacket<D>(int entityId, boolean isReplacedEntity
             replacedEntity.setAnimData(entity, this.dataTicket, this.data);
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return List.of(TYPE, this.entityId, this.isReplacedEntity, this.dataTicket);
+    }
+
     @Override
     public @NotNull Type<? extends CustomPacketPayload> type() {
         return TYPE;
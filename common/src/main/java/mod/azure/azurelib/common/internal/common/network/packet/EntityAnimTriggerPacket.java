@@ -12,11 +12,13 @@ import mod.azure.azurelib.common.api.common.animatable.GeoEntity;
 import mod.azure.azurelib.common.api.common.animatable.GeoReplacedEntity;
 import mod.azure.azurelib.common.internal.client.util.RenderUtils;
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.entity.Entity;
 import org.jetbrains.annotations.NotNull;
 
@@ -28,16 +30,17 @@ public record EntityAnimTriggerPacket(int entityId, boolean isReplacedEntity, St
                                       String animName) implements AbstractPacket {
     public static final CustomPacketPayload.Type<EntityAnimTriggerPacket> TYPE = new Type<>(
             AzureLibNetwork.ENTITY_ANIM_TRIGGER_SYNC_PACKET_ID);
-    public static final StreamCodec<FriendlyByteBuf, EntityAnimTriggerPacket> CODEC = StreamCodec.composite(
+    public static final StreamCodec<FriendlyByteBuf, EntityAnimTriggerPacket> CODEC =
+            SyncPalette.limitToPrepared(StreamCodec.composite(
             ByteBufCodecs.VAR_INT,
             EntityAnimTriggerPacket::entityId,
             ByteBufCodecs.BOOL,
             EntityAnimTriggerPacket::isReplacedEntity,
-            ByteBufCodecs.STRING_UTF8,
+            SyncPalette.NAME_CODEC,
             EntityAnimTriggerPacket::controllerName,
-            ByteBufCodecs.STRING_UTF8,
+            SyncPalette.NAME_CODEC,
             EntityAnimTriggerPacket::animName,
-            EntityAnimTriggerPacket::new);
+            EntityAnimTriggerPacket::new));
 
     public void handle() {
         Entity entity = ClientUtils.getLevel().getEntity(this.entityId);
@@ -53,6 +56,11 @@ public record EntityAnimTriggerPacket(int entityId, boolean isReplacedEntity, St
                     this.animName);
     }
 
+    @Override
+    public void prepareForSend(MinecraftServer server) {
+        SyncPalette.publishNames(server, this.controllerName, this.animName);
+    }
+
     @Override
     public @NotNull Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -0,0 +1,44 @@
+package mod.azure.azurelib.common.internal.common.network.packet;
+
+import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
+import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Packet for sending the server's {@link SyncPalette} to the client, either in full or as a set of new entries
+ */
+public record SyncPalettePacket(boolean reset, List<String> animatables, List<String> dataTickets,
+                                List<String> names) implements AbstractPacket {
+
+    public static final CustomPacketPayload.Type<SyncPalettePacket> TYPE = new Type<>(
+            AzureLibNetwork.SYNC_PALETTE_PACKET_ID);
+    public static final StreamCodec<FriendlyByteBuf, SyncPalettePacket> CODEC = StreamCodec.of(
+            (buf, packet) -> {
+                buf.writeBoolean(packet.reset);
+                buf.writeCollection(packet.animatables, FriendlyByteBuf::writeUtf);
+                buf.writeCollection(packet.dataTickets, FriendlyByteBuf::writeUtf);
+                buf.writeCollection(packet.names, FriendlyByteBuf::writeUtf);
+            }, buf -> {
+                SyncPalettePacket packet = new SyncPalettePacket(buf.readBoolean(),
+                        buf.readList(FriendlyByteBuf::readUtf), buf.readList(FriendlyByteBuf::readUtf),
+                        buf.readList(FriendlyByteBuf::readUtf));
+
+                SyncPalette.applyOnClient(packet);
+
+                return packet;
+            });
+
+    @Override
+    public void handle() {}
+
+    @Override
+    public @NotNull Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
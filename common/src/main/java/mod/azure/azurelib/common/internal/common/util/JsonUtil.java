@@ -13,6 +13,7 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.common.internal.common.loading.json.raw.*;
 import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.BakedAnimationsAdapter;
 import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.KeyFramesAdapter;
+import mod.azure.azurelib.common.internal.common.loading.json.typeadapter.StreamingDeserializer;
 import mod.azure.azurelib.common.internal.common.loading.object.BakedAnimations;
 import mod.azure.azurelib.core.animation.Animation;
 import net.minecraft.util.GsonHelper;
@@ -34,8 +35,8 @@ public record JsonUtil() {
             .registerTypeAdapter(FaceUV.class, FaceUV.deserializer())
             .registerTypeAdapter(LocatorClass.class, LocatorClass.deserializer())
             .registerTypeAdapter(LocatorValue.class, LocatorValue.deserializer())
-            .registerTypeAdapter(MinecraftGeometry.class, MinecraftGeometry.deserializer())
-            .registerTypeAdapter(Model.class, Model.deserializer())
+            .registerTypeAdapterFactory(MinecraftGeometry.adapter())
+            .registerTypeAdapterFactory(Model.adapter())
             .registerTypeAdapter(ModelProperties.class, ModelProperties.deserializer())
             .registerTypeAdapter(PolyMesh.class, PolyMesh.deserializer())
             .registerTypeAdapter(PolysUnion.class, PolysUnion.deserializer())
@@ -43,7 +44,7 @@ public record JsonUtil() {
             .registerTypeAdapter(UVFaces.class, UVFaces.deserializer())
             .registerTypeAdapter(UVUnion.class, UVUnion.deserializer())
             .registerTypeAdapter(Animation.Keyframes.class, new KeyFramesAdapter())
-            .registerTypeAdapter(BakedAnimations.class, new BakedAnimationsAdapter())
+            .registerTypeAdapterFactory(StreamingDeserializer.of(BakedAnimations.class, new BakedAnimationsAdapter()))
             .create();
 
     /**
@@ -0,0 +1,19 @@
+package mod.azure.azurelib.common.internal.mixins;
+
+import mod.azure.azurelib.common.internal.client.renderer.DynamicLights;
+import net.minecraft.client.renderer.entity.EntityRenderer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(EntityRenderer.class)
+public abstract class EntityRendererMixin {
+
+    @Inject(method = "getBlockLightLevel", at = @At("RETURN"), cancellable = true)
+    private void applyDynamicLights(Entity entity, BlockPos pos, CallbackInfoReturnable<Integer> callback) {
+        callback.setReturnValue(Math.max(callback.getReturnValue(), DynamicLights.getLightLevel(pos)));
+    }
+}
@@ -0,0 +1,103 @@
+package mod.azure.azurelib.common.internal.mixins;
+
+import mod.azure.azurelib.common.internal.client.renderer.AnimationPrePass;
+import mod.azure.azurelib.common.internal.client.renderer.DynamicLights;
+import mod.azure.azurelib.common.internal.client.renderer.GeoEntityRenderBatches;
+import mod.azure.azurelib.common.internal.client.util.RenderUtils;
+import net.minecraft.client.Camera;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import org.joml.Matrix4f;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(LevelRenderer.class)
+public abstract class LevelRendererMixin {
+
+    @Shadow
+    private Frustum cullingFrustum;
+
+    @Shadow
+    private ClientLevel level;
+
+    @Inject(
+            method = "renderLevel",
+            at = @At(
+                    value = "INVOKE",
+                    target = "Lnet/minecraft/client/renderer/LevelRenderer;setupRender(Lnet/minecraft/client/Camera;Lnet/minecraft/client/renderer/culling/Frustum;ZZ)V"
+            )
+    )
+    private void beforeSetupRender(
+            DeltaTracker deltaTracker,
+            boolean renderBlockOutline,
+            Camera camera,
+            GameRenderer gameRenderer,
+            LightTexture lightTexture,
+            Matrix4f frustumMatrix,
+            Matrix4f projectionMatrix,
+            CallbackInfo callback
+    ) {
+        RenderUtils.setFrameCameraPosition(camera.getPosition());
+        GeoEntityRenderBatches.begin();
+
+        if (this.level == null)
+            return;
+
+        // Lights are moved first, so the sections they dirty are rebuilt in this frame's setupRender
+        DynamicLights.update(this.level);
+
+        // Run last, as animation level of detail reads the camera position recorded above
+        AnimationPrePass.run(
+                this.level,
+                camera,
+                this.cullingFrustum,
+                deltaTracker.getGameTimeDeltaPartialTick(false)
+        );
+    }
+
+    @Inject(
+            method = "getLightColor(Lnet/minecraft/world/level/BlockAndTintGetter;Lnet/minecraft/world/level/block/state/BlockState;Lnet/minecraft/core/BlockPos;)I",
+            at = @At("RETURN"),
+            cancellable = true
+    )
+    private static void applyDynamicLights(
+            BlockAndTintGetter level,
+            BlockState state,
+            BlockPos pos,
+            CallbackInfoReturnable<Integer> callback
+    ) {
+        callback.setReturnValue(DynamicLights.applyTo(callback.getReturnValue(), pos));
+    }
+
+    @Inject(
+            method = "renderLevel",
+            at = @At(
+                    value = "INVOKE",
+                    target = "Lnet/minecraft/client/renderer/MultiBufferSource$BufferSource;endLastBatch()V",
+                    ordinal = 0
+            )
+    )
+    private void drawGeoEntityBatches(
+            DeltaTracker deltaTracker,
+            boolean renderBlockOutline,
+            Camera camera,
+            GameRenderer gameRenderer,
+            LightTexture lightTexture,
+            Matrix4f frustumMatrix,
+            Matrix4f projectionMatrix,
+            CallbackInfo callback
+    ) {
+        GeoEntityRenderBatches.end();
+    }
+}
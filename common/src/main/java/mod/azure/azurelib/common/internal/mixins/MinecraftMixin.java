@@ -13,8 +13,10 @@
 package mod.azure.azurelib.common.internal.mixins;
 
 import com.mojang.blaze3d.platform.WindowEventHandler;
+import mod.azure.azurelib.common.internal.client.renderer.DynamicLights;
 import mod.azure.azurelib.common.internal.common.config.ConfigHolderRegistry;
 import mod.azure.azurelib.common.internal.common.config.io.ConfigIO;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.util.thread.ReentrantBlockableEventLoop;
@@ -32,6 +34,12 @@ public abstract class MinecraftMixin extends ReentrantBlockableEventLoop<Runnabl
         super(p_i50401_1_);
     }
 
+    @Inject(method = "clearClientLevel(Lnet/minecraft/client/gui/screens/Screen;)V", at = @At("HEAD"))
+    private void azurelib_clearClientState(Screen screen, CallbackInfo ci) {
+        SyncPalette.resetClient();
+        DynamicLights.clear();
+    }
+
     @Inject(method = "clearClientLevel(Lnet/minecraft/client/gui/screens/Screen;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/renderer/GameRenderer;resetData()V"))
     private void configuration_reloadClientConfigs(Screen screen, CallbackInfo ci) {
         ConfigHolderRegistry.getSynchronizedConfigs().stream()
@@ -0,0 +1,30 @@
+package mod.azure.azurelib.common.internal.mixins;
+
+import mod.azure.azurelib.common.internal.common.network.AnimationSyncQueue;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.function.BooleanSupplier;
+
+@Mixin(MinecraftServer.class)
+public abstract class MinecraftServerMixin {
+
+    @Inject(method = "tickServer", at = @At("HEAD"))
+    private void startAnimationSync(BooleanSupplier hasTimeLeft, CallbackInfo ci) {
+        AnimationSyncQueue.startTick();
+    }
+
+    @Inject(method = "tickServer", at = @At("TAIL"))
+    private void flushAnimationSync(BooleanSupplier hasTimeLeft, CallbackInfo ci) {
+        AnimationSyncQueue.flush();
+    }
+
+    @Inject(method = "stopServer", at = @At("TAIL"))
+    private void resetSyncPalette(CallbackInfo ci) {
+        SyncPalette.resetServer();
+    }
+}
@@ -13,6 +13,7 @@
 package mod.azure.azurelib.common.internal.mixins;
 
 import mod.azure.azurelib.common.internal.common.config.ConfigHolderRegistry;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.platform.Services;
 import net.minecraft.network.Connection;
 import net.minecraft.server.level.ServerPlayer;
@@ -37,5 +38,6 @@ public abstract class PlayerListMixin {
     ) {
         Set<String> set = ConfigHolderRegistry.getSynchronizedConfigs();
         set.forEach(id -> Services.NETWORK.sendClientPacket(player, id));
+        SyncPalette.sendTo(player);
     }
 }
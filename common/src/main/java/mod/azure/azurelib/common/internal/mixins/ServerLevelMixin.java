@@ -0,0 +1,19 @@
+package mod.azure.azurelib.common.internal.mixins;
+
+import mod.azure.azurelib.sblforked.util.BlockChangeTracker;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerLevel.class)
+public abstract class ServerLevelMixin {
+
+    @Inject(method = "onBlockStateChange", at = @At("HEAD"))
+    private void trackBlockChange(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        BlockChangeTracker.onBlockChanged((ServerLevel) (Object) this, pos);
+    }
+}
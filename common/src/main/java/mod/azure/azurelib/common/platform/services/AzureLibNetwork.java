@@ -33,6 +33,12 @@ public interface AzureLibNetwork {
 
     ResourceLocation CONFIG_PACKET_ID = AzureLib.modResource("config_packet");
 
+    ResourceLocation SYNC_PALETTE_PACKET_ID = AzureLib.modResource("sync_palette");
+
+    ResourceLocation ANIM_SYNC_BUNDLE_PACKET_ID = AzureLib.modResource("anim_sync_bundle");
+
+    ResourceLocation DYNAMIC_LIGHT_PACKET_ID = AzureLib.modResource("dynamic_light");
+
     Map<String, GeoAnimatable> SYNCED_ANIMATABLES = new Object2ObjectOpenHashMap<>();
 
     static void sendWithCallback(AbstractPacket packet, IPacketCallback callback) {
@@ -18,6 +18,8 @@ public interface IPlatformHelper {
 
     Path getGameDir();
 
+    String getModVersion(String modId);
+
     boolean isServerEnvironment();
 
     boolean isEnvironmentClient();
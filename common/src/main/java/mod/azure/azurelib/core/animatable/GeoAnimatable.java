@@ -71,6 +71,16 @@ public interface GeoAnimatable {
         return false;
     }
 
+    /**
+     * Defines whether the animations for this animatable may be updated less often, and with fewer bones, when it is
+     * far from the camera.<br>
+     * The distances used are set in the AzureLib config. Override this and return false for animatables that should
+     * always be fully animated regardless of distance
+     */
+    default boolean allowAnimationLod() {
+        return true;
+    }
+
     /**
      * Returns the current age/tick of the animatable instance.<br>
      * By default this is just the animatable's age in ticks, but this method allows for non-ticking custom animatables
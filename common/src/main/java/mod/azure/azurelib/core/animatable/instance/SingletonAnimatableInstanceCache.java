@@ -7,23 +7,64 @@
  */
 package mod.azure.azurelib.core.animatable.instance;
 
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
 import mod.azure.azurelib.core.animation.AnimatableManager;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * AnimatableInstanceCache implementation for singleton/flyweight objects such as Items. Utilises a keyed map to
- * differentiate different instances of the object.
+ * differentiate different instances of the object.<br>
+ * Managers are kept in access order. If enabled in the config, the least recently used ones are evicted once the cache
+ * grows past its configured size or they haven't been accessed for the configured expiry time. An evicted instance
+ * simply gets a new manager the next time it is accessed.<br>
+ * Managers that {@link AnimatableManager#hasPersistentState() hold persistent state}, such as synced data or a running
+ * triggered animation, are never evicted.
  */
 public class SingletonAnimatableInstanceCache extends AnimatableInstanceCache {
 
-    protected final Long2ObjectMap<AnimatableManager<?>> managers = new Long2ObjectOpenHashMap<>();
+    private static final int EXPIRY_CHECK_INTERVAL = 256;
+
+    private static final AtomicInteger LIVE_MANAGERS = new AtomicInteger();
+
+    private static final AtomicLong EVICTED_MANAGERS = new AtomicLong();
+
+    private final Long2ObjectLinkedOpenHashMap<AnimatableManager<?>> orderedManagers =
+            new Long2ObjectLinkedOpenHashMap<>();
+
+    protected final Long2ObjectMap<AnimatableManager<?>> managers = this.orderedManagers;
+
+    private final Long2LongOpenHashMap lastAccessTimes = new Long2LongOpenHashMap();
+
+    private int accessesSinceExpiryCheck = 0;
+
+    private int countedManagers = 0;
 
     public SingletonAnimatableInstanceCache(GeoAnimatable animatable) {
         super(animatable);
     }
 
+    /**
+     * Get the number of {@link AnimatableManager AnimatableManagers} currently held across all singleton caches
+     */
+    public static int getLiveManagerCount() {
+        return LIVE_MANAGERS.get();
+    }
+
+    /**
+     * Get the number of {@link AnimatableManager AnimatableManagers} evicted from singleton caches since the game
+     * started
+     */
+    public static long getEvictedManagerCount() {
+        return EVICTED_MANAGERS.get();
+    }
+
     /**
      * Gets an {@link AnimatableManager} instance from this cache, cached under the id provided, or a new one if one
      * doesn't already exist.<br>
@@ -31,7 +72,108 @@ public class SingletonAnimatableInstanceCache extends AnimatableInstanceCache {
      * data by ids.
      */
     @Override
-    public AnimatableManager<?> getManagerForId(long uniqueId) {
-        return this.managers.computeIfAbsent(uniqueId, key -> new AnimatableManager<>(this.animatable));
+    public synchronized AnimatableManager<?> getManagerForId(long uniqueId) {
+        long time = System.currentTimeMillis();
+        AnimatableManager<?> manager = this.orderedManagers.getAndMoveToLast(uniqueId);
+
+        if (manager == null) {
+            manager = createManager(uniqueId);
+
+            this.orderedManagers.putAndMoveToLast(uniqueId, manager);
+        }
+
+        this.lastAccessTimes.put(uniqueId, time);
+        evictOverCapacity(time);
+
+        if (++this.accessesSinceExpiryCheck >= EXPIRY_CHECK_INTERVAL) {
+            this.accessesSinceExpiryCheck = 0;
+
+            evictExpired(time);
+        }
+
+        updateLiveManagerCount();
+
+        return manager;
+    }
+
+    /**
+     * Create a new {@link AnimatableManager} for the given id
+     */
+    protected AnimatableManager<?> createManager(long uniqueId) {
+        return new AnimatableManager<>(this.animatable);
+    }
+
+    private void evictOverCapacity(long time) {
+        int capacity = AzureLibMod.config == null ? 0 : AzureLibMod.config.singletonAnimatableCacheSize;
+
+        if (capacity <= 0 || this.managers.size() <= capacity)
+            return;
+
+        ObjectIterator<Long2ObjectMap.Entry<AnimatableManager<?>>> iterator = this.orderedManagers.long2ObjectEntrySet()
+                .fastIterator();
+
+        while (this.managers.size() > capacity && iterator.hasNext()) {
+            Long2ObjectMap.Entry<AnimatableManager<?>> entry = iterator.next();
+
+            if (isEvictable(entry, time))
+                evict(iterator, entry.getLongKey());
+        }
+    }
+
+    private void evictExpired(long time) {
+        long expiry = AzureLibMod.config == null ? 0 : AzureLibMod.config.singletonAnimatableExpirySeconds * 1000L;
+
+        if (expiry <= 0)
+            return;
+
+        ObjectIterator<Long2ObjectMap.Entry<AnimatableManager<?>>> iterator = this.orderedManagers.long2ObjectEntrySet()
+                .fastIterator();
+
+        while (iterator.hasNext()) {
+            Long2ObjectMap.Entry<AnimatableManager<?>> entry = iterator.next();
+            long lastAccessTime = this.lastAccessTimes.getOrDefault(entry.getLongKey(), time);
+
+            // Managers are in access order, so every manager after this one was accessed more recently
+            if (time - lastAccessTime <= expiry)
+                break;
+
+            if (isEvictable(entry, time))
+                evict(iterator, entry.getLongKey());
+        }
+    }
+
+    /**
+     * Whether the given manager can be evicted.<br>
+     * Managers added to {@link #managers} directly by a subclass have no access time yet, and are treated as having
+     * just been accessed
+     */
+    private boolean isEvictable(Long2ObjectMap.Entry<AnimatableManager<?>> entry, long time) {
+        if (!this.lastAccessTimes.containsKey(entry.getLongKey())) {
+            this.lastAccessTimes.put(entry.getLongKey(), time);
+
+            return false;
+        }
+
+        return !entry.getValue().hasPersistentState();
+    }
+
+    private void evict(ObjectIterator<Long2ObjectMap.Entry<AnimatableManager<?>>> iterator, long uniqueId) {
+        iterator.remove();
+        this.lastAccessTimes.remove(uniqueId);
+        EVICTED_MANAGERS.incrementAndGet();
+    }
+
+    /**
+     * Bring the live manager count in line with this cache's size, including any managers a subclass added or removed
+     * directly
+     */
+    private void updateLiveManagerCount() {
+        int size = this.managers.size();
+
+        if (size != this.countedManagers) {
+            LIVE_MANAGERS.addAndGet(size - this.countedManagers);
+
+            this.countedManagers = size;
+        }
     }
 }
@@ -12,6 +12,7 @@ import mod.azure.azurelib.core.animation.AnimatableManager;
 import mod.azure.azurelib.core.animation.Animation;
 import mod.azure.azurelib.core.animation.AnimationProcessor;
 import mod.azure.azurelib.core.animation.AnimationState;
+import mod.azure.azurelib.core.molang.MolangContext;
 
 import java.util.Optional;
 
@@ -83,4 +84,20 @@ public interface CoreGeoModel<E extends GeoAnimatable> {
      */
     default void applyMolangQueries(E animatable, double animTime) {
     }
+
+    /**
+     * This method is called once per render frame for each {@link GeoAnimatable} being rendered, with the
+     * {@link MolangContext} that its animations will be evaluated with.<br>
+     * Values set on the context only apply to this animatable's current evaluation, and should be preferred over
+     * setting global values on the {@link mod.azure.azurelib.core.molang.MolangParser MolangParser}.<br>
+     * Defaults to calling {@link #applyMolangQueries(GeoAnimatable, double)}, at most once per evaluation
+     *
+     * @param context    The {@code MolangContext} for the current evaluation
+     * @param animatable The {@code GeoAnimatable} instance currently being rendered
+     * @param animTime   The internal tick counter kept by the {@link AnimatableManager manager} for this animatable
+     */
+    default void applyMolangQueries(MolangContext context, E animatable, double animTime) {
+        if (context.markLegacyQueriesApplied())
+            applyMolangQueries(animatable, animTime);
+    }
 }
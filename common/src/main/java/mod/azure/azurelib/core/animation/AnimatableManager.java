@@ -15,7 +15,10 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
+import mod.azure.azurelib.core.molang.MolangContext;
 import mod.azure.azurelib.core.object.DataTicket;
+import mod.azure.azurelib.core.object.DataTicketStore;
+import mod.azure.azurelib.core.state.BonePoseBuffer;
 import mod.azure.azurelib.core.state.BoneSnapshot;
 
 import java.util.Arrays;
@@ -31,9 +34,17 @@ public class AnimatableManager<T extends GeoAnimatable> {
 
     private final Map<String, BoneSnapshot> boneSnapshotCollection = new Object2ObjectOpenHashMap<>();
 
+    private final BonePoseBuffer poseBuffer = new BonePoseBuffer();
+
+    private final MolangContext molangContext = new MolangContext();
+
     private final Map<String, AnimationController<T>> animationControllers;
 
-    private Map<DataTicket<?>, Object> extraData;
+    private final DataTicketStore extraData = new DataTicketStore();
+
+    private final DataTicketStore renderData = new DataTicketStore();
+
+    private final DataTicketStore animationStateData = new DataTicketStore();
 
     private double lastUpdateTime;
 
@@ -76,6 +87,21 @@ public class AnimatableManager<T extends GeoAnimatable> {
         return boneSnapshotCollection;
     }
 
+    /**
+     * Get the per-instance {@link BonePoseBuffer} that the {@link AnimationProcessor} writes this animatable's animated
+     * pose into
+     */
+    public BonePoseBuffer getPoseBuffer() {
+        return this.poseBuffer;
+    }
+
+    /**
+     * Get the per-instance {@link MolangContext} that this animatable's Molang queries are evaluated with
+     */
+    public MolangContext getMolangContext() {
+        return this.molangContext;
+    }
+
     public void clearSnapshotCache() {
         this.boneSnapshotCollection.clear();
     }
@@ -111,17 +137,65 @@ public class AnimatableManager<T extends GeoAnimatable> {
      * @param data       The piece of data to store
      */
     public <D> void setData(DataTicket<D> dataTicket, D data) {
-        if (this.extraData == null)
-            this.extraData = new Object2ObjectOpenHashMap<>();
+        this.extraData.set(dataTicket, data);
+    }
 
-        this.extraData.put(dataTicket, data);
+    /**
+     * Set a data point that a renderer sets again every time it renders this instance, such as the item render
+     * perspective.<br>
+     * Unlike data stored through {@link #setData}, this doesn't count as {@link #hasPersistentState persistent state}
+     *
+     * @param dataTicket The DataTicket for the data point
+     * @param data       The piece of data to store
+     */
+    public <D> void setRenderData(DataTicket<D> dataTicket, D data) {
+        this.renderData.set(dataTicket, data);
     }
 
     /**
-     * Retrieve a custom data point that was stored earlier, or null if it hasn't been stored
+     * Retrieve a custom data point that was stored earlier through {@link #setData} or {@link #setRenderData}, or null
+     * if it hasn't been stored
      */
     public <D> D getData(DataTicket<D> dataTicket) {
-        return this.extraData != null ? dataTicket.getData(this.extraData) : null;
+        D data = this.extraData.get(dataTicket);
+
+        return data != null ? data : this.renderData.get(dataTicket);
+    }
+
+    /**
+     * Whether this manager holds state that a newly created manager wouldn't have, and that isn't sent again by the
+     * server, such as data stored through {@link #setData} or a triggered animation that hasn't finished yet.<br>
+     * Managers with persistent state are never evicted from a {@code SingletonAnimatableInstanceCache}
+     */
+    public boolean hasPersistentState() {
+        if (!this.extraData.isEmpty())
+            return true;
+
+        for (AnimationController<T> controller : this.animationControllers.values()) {
+            if (controller.triggeredAnimation != null)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the {@link DataTicketStore} reused by each {@link AnimationState} created for this instance, so that the
+     * per-frame state data doesn't need to be reallocated every render
+     */
+    public DataTicketStore getAnimationStateData() {
+        return this.animationStateData;
+    }
+
+    /**
+     * Clear the data left in this instance's {@link #getAnimationStateData() state data store} by the last render, and
+     * return it ready for a new {@link AnimationState}.<br>
+     * Only the renderer starting a new animation pass for this instance should call this
+     */
+    public DataTicketStore prepareAnimationStateData() {
+        this.animationStateData.reset();
+
+        return this.animationStateData;
     }
 
     /**
@@ -26,6 +26,7 @@ import mod.azure.azurelib.core.keyframe.event.data.ParticleKeyframeData;
 import mod.azure.azurelib.core.keyframe.event.data.SoundKeyframeData;
 import mod.azure.azurelib.core.math.Constant;
 import mod.azure.azurelib.core.math.IValue;
+import mod.azure.azurelib.core.molang.MolangContext;
 import mod.azure.azurelib.core.molang.MolangParser;
 import mod.azure.azurelib.core.molang.MolangQueries;
 import mod.azure.azurelib.core.object.Axis;
@@ -53,7 +54,7 @@ public class AnimationController<T extends GeoAnimatable> {
 
     protected final AnimationStateHandler<T> stateHandler;
 
-    protected final Map<String, BoneAnimationQueue> boneAnimationQueues = new Object2ObjectOpenHashMap<>();
+    protected final Map<String, BoneAnimationSample> boneAnimationSamples = new Object2ObjectOpenHashMap<>();
 
     protected final Map<String, BoneSnapshot> boneSnapshots = new Object2ObjectOpenHashMap<>();
     protected final Map<String, RawAnimation> triggerableAnimations = new Object2ObjectOpenHashMap<>(0);
@@ -85,6 +86,9 @@ public class AnimationController<T extends GeoAnimatable> {
     protected Function<T, EasingType> overrideEasingTypeFunction = obj -> null;
     protected CoreGeoModel<T> lastModel;
     protected boolean justStopped = true;
+    protected boolean skipBoneSampling = false;
+    protected boolean deferBoneSampling = false;
+    protected DeferredBoneSample deferredBoneSample = null;
 
     /**
      * Instantiates a new {@code AnimationController}.<br>
@@ -279,10 +283,58 @@ public class AnimationController<T extends GeoAnimatable> {
     }
 
     /**
-     * Gets the currently loaded animation's {@link BoneAnimationQueue BoneAnimationQueues}.
+     * Gets the {@link BoneAnimationSample BoneAnimationSamples} written by this controller for the current frame.<br>
+     * Samples are reused across frames, so only those with written values should be applied.
      */
+    public Map<String, BoneAnimationSample> getBoneAnimationSamples() {
+        return this.boneAnimationSamples;
+    }
+
+    /**
+     * Gets the values sampled by this controller for the current frame as legacy
+     * {@link BoneAnimationQueue BoneAnimationQueues}.<br>
+     * Each queue holds a single settled {@link AnimationPoint} per animated channel, built from the
+     * {@link #getBoneAnimationSamples() BoneAnimationSamples}. Changes to the returned map are not applied to the model
+     *
+     * @deprecated Use {@link #getBoneAnimationSamples()} instead, which doesn't allocate new queues on every call
+     */
+    @Deprecated
     public Map<String, BoneAnimationQueue> getBoneAnimationQueues() {
-        return this.boneAnimationQueues;
+        Map<String, BoneAnimationQueue> queues = new Object2ObjectOpenHashMap<>(this.boneAnimationSamples.size());
+
+        for (Map.Entry<String, BoneAnimationSample> entry : this.boneAnimationSamples.entrySet()) {
+            BoneAnimationSample sample = entry.getValue();
+            BoneAnimationQueue queue = new BoneAnimationQueue(sample.bone());
+
+            if (sample.hasRotation())
+                queue.addRotations(
+                        settledPoint(sample.rotX()),
+                        settledPoint(sample.rotY()),
+                        settledPoint(sample.rotZ())
+                );
+
+            if (sample.hasPosition())
+                queue.addPositions(
+                        settledPoint(sample.posX()),
+                        settledPoint(sample.posY()),
+                        settledPoint(sample.posZ())
+                );
+
+            if (sample.hasScale())
+                queue.addScales(
+                        settledPoint(sample.scaleX()),
+                        settledPoint(sample.scaleY()),
+                        settledPoint(sample.scaleZ())
+                );
+
+            queues.put(entry.getKey(), queue);
+        }
+
+        return queues;
+    }
+
+    private static AnimationPoint settledPoint(double value) {
+        return new AnimationPoint(null, 0, 0, value, value);
     }
 
     /**
@@ -487,7 +539,8 @@ public class AnimationController<T extends GeoAnimatable> {
             return;
         }
 
-        createInitialQueues(bones.values());
+        if (!this.skipBoneSampling && !this.deferBoneSampling)
+            prepareBoneSamples(bones.values());
 
         if (this.justStartedTransition && (this.shouldResetTick || this.justStopped)) {
             this.justStopped = false;
@@ -520,63 +573,122 @@ public class AnimationController<T extends GeoAnimatable> {
                 saveSnapshotsForAnimation(this.currentAnimation, snapshots);
             }
 
-            if (this.currentAnimation != null) {
-                MolangParser.INSTANCE.setValue(MolangQueries.ANIM_TIME, () -> 0);
+            if (this.currentAnimation != null && !this.skipBoneSampling) {
+                EasingType easingOverride = this.overrideEasingTypeFunction.apply(this.animatable);
 
-                for (BoneAnimation boneAnimation : this.currentAnimation.animation().boneAnimations()) {
-                    BoneAnimationQueue boneAnimationQueue = this.boneAnimationQueues.get(boneAnimation.boneName());
-                    BoneSnapshot boneSnapshot = this.boneSnapshots.get(boneAnimation.boneName());
-                    CoreGeoBone bone = bones.get(boneAnimation.boneName());
+                if (this.deferBoneSampling) {
+                    this.deferredBoneSample = new DeferredBoneSample(
+                            this.currentAnimation.animation(),
+                            adjustedTick,
+                            true,
+                            easingOverride
+                    );
+                } else {
+                    setAnimTime(0);
+                    sampleTransitionBones(
+                            this.currentAnimation.animation(),
+                            adjustedTick,
+                            bones,
+                            easingOverride,
+                            crashWhenCantFindBone
+                    );
+                }
+            }
+        }
+    }
 
-                    if (bone == null) {
-                        if (crashWhenCantFindBone)
-                            throw new NoSuchElementException("Could not find bone: " + boneAnimation.boneName());
+    /**
+     * Process this controller's animation state, predicate and keyframe events for the current frame without sampling
+     * any bone keyframes.<br>
+     * Used on frames where the previously computed pose is reused, such as for distant animatables under animation
+     * level of detail, so that sound, particle and custom instruction keyframes still fire on time
+     *
+     * @param model     The model currently being processed
+     * @param state     The animation test state
+     * @param bones     The registered {@link CoreGeoBone bones} for this model
+     * @param snapshots The {@link BoneSnapshot} map
+     * @param seekTime  The current tick + partial tick
+     */
+    public void processWithoutBones(
+            CoreGeoModel<T> model,
+            AnimationState<T> state,
+            Map<String, CoreGeoBone> bones,
+            Map<String, BoneSnapshot> snapshots,
+            final double seekTime
+    ) {
+        this.skipBoneSampling = true;
 
-                        continue;
-                    }
+        try {
+            process(model, state, bones, snapshots, seekTime, false);
+        } finally {
+            this.skipBoneSampling = false;
+        }
+    }
 
-                    KeyframeStack<Keyframe<IValue>> rotationKeyFrames = boneAnimation.rotationKeyFrames();
-                    KeyframeStack<Keyframe<IValue>> positionKeyFrames = boneAnimation.positionKeyFrames();
-                    KeyframeStack<Keyframe<IValue>> scaleKeyFrames = boneAnimation.scaleKeyFrames();
+    /**
+     * Process this controller's animation state, predicate and keyframe events for the current frame, recording the
+     * bone keyframes to sample instead of sampling them.<br>
+     * The recorded keyframes are then sampled by {@link #sampleDeferredBones}, which only reads this controller's
+     * animation data and so can be run off the render thread
+     *
+     * @param model     The model currently being processed
+     * @param state     The animation test state
+     * @param bones     The registered {@link CoreGeoBone bones} for this model
+     * @param snapshots The {@link BoneSnapshot} map
+     * @param seekTime  The current tick + partial tick
+     */
+    public void processAndDeferBones(
+            CoreGeoModel<T> model,
+            AnimationState<T> state,
+            Map<String, CoreGeoBone> bones,
+            Map<String, BoneSnapshot> snapshots,
+            final double seekTime
+    ) {
+        this.deferBoneSampling = true;
+        this.deferredBoneSample = null;
 
-                    if (!rotationKeyFrames.xKeyframes().isEmpty()) {
-                        boneAnimationQueue.addNextRotation(
-                                null,
-                                adjustedTick,
-                                this.transitionLength,
-                                boneSnapshot,
-                                bone.getInitialSnapshot(),
-                                getAnimationPointAtTick(rotationKeyFrames.xKeyframes(), 0, true, Axis.X),
-                                getAnimationPointAtTick(rotationKeyFrames.yKeyframes(), 0, true, Axis.Y),
-                                getAnimationPointAtTick(rotationKeyFrames.zKeyframes(), 0, true, Axis.Z)
-                        );
-                    }
-
-                    if (!positionKeyFrames.xKeyframes().isEmpty()) {
-                        boneAnimationQueue.addNextPosition(
-                                null,
-                                adjustedTick,
-                                this.transitionLength,
-                                boneSnapshot,
-                                getAnimationPointAtTick(positionKeyFrames.xKeyframes(), 0, false, Axis.X),
-                                getAnimationPointAtTick(positionKeyFrames.yKeyframes(), 0, false, Axis.Y),
-                                getAnimationPointAtTick(positionKeyFrames.zKeyframes(), 0, false, Axis.Z)
-                        );
-                    }
-
-                    if (!scaleKeyFrames.xKeyframes().isEmpty()) {
-                        boneAnimationQueue.addNextScale(
-                                null,
-                                adjustedTick,
-                                this.transitionLength,
-                                boneSnapshot,
-                                getAnimationPointAtTick(scaleKeyFrames.xKeyframes(), 0, false, Axis.X),
-                                getAnimationPointAtTick(scaleKeyFrames.yKeyframes(), 0, false, Axis.Y),
-                                getAnimationPointAtTick(scaleKeyFrames.zKeyframes(), 0, false, Axis.Z)
-                        );
-                    }
-                }
-            }
+        try {
+            process(model, state, bones, snapshots, seekTime, false);
+        } finally {
+            this.deferBoneSampling = false;
+        }
+    }
+
+    /**
+     * Sample the bone keyframes recorded by the last call to {@link #processAndDeferBones} into this controller's
+     * {@link BoneAnimationSample BoneAnimationSamples}.<br>
+     * The {@link MolangContext} of the animatable instance must be bound to the current thread
+     *
+     * @param bones                 The registered {@link CoreGeoBone bones} for this model
+     * @param crashWhenCantFindBone Whether to hard-fail when a bone can't be found, or to continue with the remaining
+     *                              bones
+     */
+    public void sampleDeferredBones(Map<String, CoreGeoBone> bones, boolean crashWhenCantFindBone) {
+        DeferredBoneSample deferredSample = this.deferredBoneSample;
+        this.deferredBoneSample = null;
+
+        prepareBoneSamples(bones.values());
+
+        if (deferredSample == null)
+            return;
+
+        if (deferredSample.transition()) {
+            setAnimTime(0);
+            sampleTransitionBones(
+                    deferredSample.animation(),
+                    deferredSample.adjustedTick(),
+                    bones,
+                    deferredSample.easingOverride(),
+                    crashWhenCantFindBone
+            );
+        } else {
+            setAnimTime(deferredSample.adjustedTick() / 20d);
+            sampleAnimationBones(
+                    deferredSample.animation(),
+                    deferredSample.adjustedTick(),
+                    deferredSample.easingOverride(),
+                    crashWhenCantFindBone
+            );
         }
     }
 
@@ -617,47 +729,22 @@ public class AnimationController<T extends GeoAnimatable> {
             }
         }
 
-        final double finalAdjustedTick = adjustedTick;
-
-        MolangParser.INSTANCE.setMemoizedValue(MolangQueries.ANIM_TIME, () -> finalAdjustedTick / 20d);
-
-        for (BoneAnimation boneAnimation : this.currentAnimation.animation().boneAnimations()) {
-            BoneAnimationQueue boneAnimationQueue = this.boneAnimationQueues.get(boneAnimation.boneName());
-
-            if (boneAnimationQueue == null) {
-                if (crashWhenCantFindBone)
-                    throw new NoSuchElementException("Could not find bone: " + boneAnimation.boneName());
-
-                continue;
-            }
-
-            KeyframeStack<Keyframe<IValue>> rotationKeyFrames = boneAnimation.rotationKeyFrames();
-            KeyframeStack<Keyframe<IValue>> positionKeyFrames = boneAnimation.positionKeyFrames();
-            KeyframeStack<Keyframe<IValue>> scaleKeyFrames = boneAnimation.scaleKeyFrames();
-
-            if (!rotationKeyFrames.xKeyframes().isEmpty()) {
-                boneAnimationQueue.addRotations(
-                        getAnimationPointAtTick(rotationKeyFrames.xKeyframes(), adjustedTick, true, Axis.X),
-                        getAnimationPointAtTick(rotationKeyFrames.yKeyframes(), adjustedTick, true, Axis.Y),
-                        getAnimationPointAtTick(rotationKeyFrames.zKeyframes(), adjustedTick, true, Axis.Z)
-                );
-            }
-
-            if (!positionKeyFrames.xKeyframes().isEmpty()) {
-                boneAnimationQueue.addPositions(
-                        getAnimationPointAtTick(positionKeyFrames.xKeyframes(), adjustedTick, false, Axis.X),
-                        getAnimationPointAtTick(positionKeyFrames.yKeyframes(), adjustedTick, false, Axis.Y),
-                        getAnimationPointAtTick(positionKeyFrames.zKeyframes(), adjustedTick, false, Axis.Z)
-                );
-            }
-
-            if (!scaleKeyFrames.xKeyframes().isEmpty()) {
-                boneAnimationQueue.addScales(
-                        getAnimationPointAtTick(scaleKeyFrames.xKeyframes(), adjustedTick, false, Axis.X),
-                        getAnimationPointAtTick(scaleKeyFrames.yKeyframes(), adjustedTick, false, Axis.Y),
-                        getAnimationPointAtTick(scaleKeyFrames.zKeyframes(), adjustedTick, false, Axis.Z)
-                );
-            }
+        setAnimTime(adjustedTick / 20d);
+
+        if (this.deferBoneSampling) {
+            this.deferredBoneSample = new DeferredBoneSample(
+                    this.currentAnimation.animation(),
+                    adjustedTick,
+                    false,
+                    this.overrideEasingTypeFunction.apply(this.animatable)
+            );
+        } else if (!this.skipBoneSampling) {
+            sampleAnimationBones(
+                    this.currentAnimation.animation(),
+                    adjustedTick,
+                    this.overrideEasingTypeFunction.apply(this.animatable),
+                    crashWhenCantFindBone
+            );
         }
 
         adjustedTick += this.transitionLength;
@@ -723,16 +810,204 @@ public class AnimationController<T extends GeoAnimatable> {
     }
 
     /**
-     * Prepare the {@link BoneAnimationQueue} map for the current render frame
+     * Sample the given animation's bone keyframes at the given tick into this controller's
+     * {@link BoneAnimationSample BoneAnimationSamples}
+     */
+    private void sampleAnimationBones(
+            Animation animation,
+            double adjustedTick,
+            EasingType easingOverride,
+            boolean crashWhenCantFindBone
+    ) {
+        for (BoneAnimation boneAnimation : animation.boneAnimations()) {
+            BoneAnimationSample sample = this.boneAnimationSamples.get(boneAnimation.boneName());
+
+            if (sample == null) {
+                if (crashWhenCantFindBone)
+                    throw new NoSuchElementException("Could not find bone: " + boneAnimation.boneName());
+
+                continue;
+            }
+
+            KeyframeStack<Keyframe<IValue>> rotationKeyFrames = boneAnimation.rotationKeyFrames();
+            KeyframeStack<Keyframe<IValue>> positionKeyFrames = boneAnimation.positionKeyFrames();
+            KeyframeStack<Keyframe<IValue>> scaleKeyFrames = boneAnimation.scaleKeyFrames();
+
+            if (!rotationKeyFrames.xKeyframes().isEmpty()) {
+                sample.setRotation(
+                        sampleKeyframes(rotationKeyFrames, Axis.X, adjustedTick, true, easingOverride),
+                        sampleKeyframes(rotationKeyFrames, Axis.Y, adjustedTick, true, easingOverride),
+                        sampleKeyframes(rotationKeyFrames, Axis.Z, adjustedTick, true, easingOverride)
+                );
+            }
+
+            if (!positionKeyFrames.xKeyframes().isEmpty()) {
+                sample.setPosition(
+                        sampleKeyframes(positionKeyFrames, Axis.X, adjustedTick, false, easingOverride),
+                        sampleKeyframes(positionKeyFrames, Axis.Y, adjustedTick, false, easingOverride),
+                        sampleKeyframes(positionKeyFrames, Axis.Z, adjustedTick, false, easingOverride)
+                );
+            }
+
+            if (!scaleKeyFrames.xKeyframes().isEmpty()) {
+                sample.setScale(
+                        sampleKeyframes(scaleKeyFrames, Axis.X, adjustedTick, false, easingOverride),
+                        sampleKeyframes(scaleKeyFrames, Axis.Y, adjustedTick, false, easingOverride),
+                        sampleKeyframes(scaleKeyFrames, Axis.Z, adjustedTick, false, easingOverride)
+                );
+            }
+        }
+    }
+
+    /**
+     * Sample the transition from each bone's saved {@link BoneSnapshot} to the first keyframe of the given animation at
+     * the given tick into this controller's {@link BoneAnimationSample BoneAnimationSamples}
+     */
+    private void sampleTransitionBones(
+            Animation animation,
+            double adjustedTick,
+            Map<String, CoreGeoBone> bones,
+            EasingType easingOverride,
+            boolean crashWhenCantFindBone
+    ) {
+        for (BoneAnimation boneAnimation : animation.boneAnimations()) {
+            BoneAnimationSample sample = this.boneAnimationSamples.get(boneAnimation.boneName());
+            BoneSnapshot boneSnapshot = this.boneSnapshots.get(boneAnimation.boneName());
+            CoreGeoBone bone = bones.get(boneAnimation.boneName());
+
+            if (bone == null) {
+                if (crashWhenCantFindBone)
+                    throw new NoSuchElementException("Could not find bone: " + boneAnimation.boneName());
+
+                continue;
+            }
+
+            KeyframeStack<Keyframe<IValue>> rotationKeyFrames = boneAnimation.rotationKeyFrames();
+            KeyframeStack<Keyframe<IValue>> positionKeyFrames = boneAnimation.positionKeyFrames();
+            KeyframeStack<Keyframe<IValue>> scaleKeyFrames = boneAnimation.scaleKeyFrames();
+
+            if (!rotationKeyFrames.xKeyframes().isEmpty()) {
+                BoneSnapshot initialSnapshot = bone.getInitialSnapshot();
+
+                sample.setRotation(
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getRotX() - initialSnapshot.getRotX(),
+                                getKeyframeStartValue(rotationKeyFrames, Axis.X, true),
+                                easingOverride
+                        ),
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getRotY() - initialSnapshot.getRotY(),
+                                getKeyframeStartValue(rotationKeyFrames, Axis.Y, true),
+                                easingOverride
+                        ),
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getRotZ() - initialSnapshot.getRotZ(),
+                                getKeyframeStartValue(rotationKeyFrames, Axis.Z, true),
+                                easingOverride
+                        )
+                );
+            }
+
+            if (!positionKeyFrames.xKeyframes().isEmpty()) {
+                sample.setPosition(
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getOffsetX(),
+                                getKeyframeStartValue(positionKeyFrames, Axis.X, false),
+                                easingOverride
+                        ),
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getOffsetY(),
+                                getKeyframeStartValue(positionKeyFrames, Axis.Y, false),
+                                easingOverride
+                        ),
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getOffsetZ(),
+                                getKeyframeStartValue(positionKeyFrames, Axis.Z, false),
+                                easingOverride
+                        )
+                );
+            }
+
+            if (!scaleKeyFrames.xKeyframes().isEmpty()) {
+                sample.setScale(
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getScaleX(),
+                                getKeyframeStartValue(scaleKeyFrames, Axis.X, false),
+                                easingOverride
+                        ),
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getScaleY(),
+                                getKeyframeStartValue(scaleKeyFrames, Axis.Y, false),
+                                easingOverride
+                        ),
+                        sampleTransition(
+                                adjustedTick,
+                                boneSnapshot.getScaleZ(),
+                                getKeyframeStartValue(scaleKeyFrames, Axis.Z, false),
+                                easingOverride
+                        )
+                );
+            }
+        }
+    }
+
+    /**
+     * Set the {@link MolangQueries#ANIM_TIME anim_time} query value for the current evaluation.<br>
+     * Written to the bound {@link MolangContext} if present, otherwise falls back to the global variable
+     */
+    protected void setAnimTime(double animTime) {
+        MolangContext context = MolangContext.current();
+
+        if (context != null) {
+            context.set(MolangQueries.ANIM_TIME, animTime);
+        } else {
+            MolangParser.INSTANCE.setValue(MolangQueries.ANIM_TIME, () -> animTime);
+        }
+    }
+
+    /**
+     * Prepare the bone animation data for the current render frame
      *
      * @param modelRendererList The bone list from the {@link AnimationProcessor}
+     * @deprecated Use {@link #prepareBoneSamples(Collection)} instead
      */
+    @Deprecated
     protected void createInitialQueues(Collection<CoreGeoBone> modelRendererList) {
-        this.boneAnimationQueues.clear();
+        prepareBoneSamples(modelRendererList);
+    }
+
+    /**
+     * Prepare the {@link BoneAnimationSample} map for the current render frame.<br>
+     * Existing samples are reused, and only replaced if the bone they were created for is no longer registered
+     *
+     * @param modelRendererList The bone list from the {@link AnimationProcessor}
+     */
+    protected void prepareBoneSamples(Collection<CoreGeoBone> modelRendererList) {
+        if (this.boneAnimationSamples.size() > modelRendererList.size())
+            this.boneAnimationSamples.clear();
 
         for (CoreGeoBone modelRenderer : modelRendererList) {
-            this.boneAnimationQueues.put(modelRenderer.getName(), new BoneAnimationQueue(modelRenderer));
+            BoneAnimationSample sample = this.boneAnimationSamples.get(modelRenderer.getName());
+
+            if (sample == null || sample.bone() != modelRenderer) {
+                sample = new BoneAnimationSample(modelRenderer);
+
+                this.boneAnimationSamples.put(modelRenderer.getName(), sample);
+            }
+
+            sample.reset();
         }
+
+        if (this.boneAnimationSamples.size() != modelRendererList.size())
+            prepareBoneSamples(modelRendererList);
     }
 
     /**
@@ -780,9 +1055,86 @@ public class AnimationController<T extends GeoAnimatable> {
         return 0;
     }
 
+    /**
+     * Evaluate the given keyframes at the given tick, returning the eased value without allocating an intermediary
+     * {@link AnimationPoint}.<br>
+     * The active keyframe is found by binary search over the {@link KeyframeStack}'s precomputed keyframe end times
+     *
+     * @param keyframes      The {@code KeyframeStack} to sample
+     * @param axis           The axis of the stack to sample
+     * @param tick           The controller-adjusted tick to sample at
+     * @param isRotation     Whether the keyframes are rotation keyframes
+     * @param easingOverride The controller's {@link EasingType} override, or null to use the keyframe's own
+     * @return The interpolated value for the given tick
+     */
+    protected double sampleKeyframes(
+            KeyframeStack<Keyframe<IValue>> keyframes,
+            Axis axis,
+            double tick,
+            boolean isRotation,
+            EasingType easingOverride
+    ) {
+        double constantValue = keyframes.getConstantValue(axis);
+
+        // Every keyframe on this axis holds the same value, so there's nothing to interpolate
+        if (!Double.isNaN(constantValue))
+            return constantValue;
+
+        List<Keyframe<IValue>> frames = keyframes.getKeyframes(axis);
+        double[] endTimes = keyframes.getKeyframeEndTimes(axis);
+        int index = KeyframeStack.findKeyframeIndex(endTimes, tick);
+        Keyframe<IValue> currentFrame;
+        double frameTick;
+
+        if (index < frames.size()) {
+            currentFrame = frames.get(index);
+            frameTick = tick - (endTimes[index] - currentFrame.length());
+        } else {
+            currentFrame = frames.get(frames.size() - 1);
+            frameTick = tick;
+        }
+
+        return EasingType.lerpWithOverride(
+                currentFrame,
+                frameTick,
+                currentFrame.length(),
+                getKeyframeValue(currentFrame.startValue(), isRotation, axis),
+                getKeyframeValue(currentFrame.endValue(), isRotation, axis),
+                easingOverride
+        );
+    }
+
+    /**
+     * Evaluate a linear transition from a {@link BoneSnapshot} value to the first keyframe of the incoming animation
+     */
+    protected double sampleTransition(
+            double tick,
+            double startValue,
+            double endValue,
+            EasingType easingOverride
+    ) {
+        return EasingType.lerpWithOverride(null, tick, this.transitionLength, startValue, endValue, easingOverride);
+    }
+
+    /**
+     * Get the start value of the keyframe active at tick 0, for use as the target of an animation transition
+     */
+    protected double getKeyframeStartValue(KeyframeStack<Keyframe<IValue>> keyframes, Axis axis, boolean isRotation) {
+        List<Keyframe<IValue>> frames = keyframes.getKeyframes(axis);
+        int index = KeyframeStack.findKeyframeIndex(keyframes.getKeyframeEndTimes(axis), 0);
+
+        if (index >= frames.size())
+            index = frames.size() - 1;
+
+        return getKeyframeValue(frames.get(index).startValue(), isRotation, axis);
+    }
+
     /**
      * Convert a {@link KeyframeLocation} to an {@link AnimationPoint}
+     *
+     * @deprecated Use {@link #sampleKeyframes} instead, which samples the value directly without allocating
      */
+    @Deprecated
     protected AnimationPoint getAnimationPointAtTick(
             List<Keyframe<IValue>> frames,
             double tick,
@@ -791,26 +1143,14 @@ public class AnimationController<T extends GeoAnimatable> {
     ) {
         KeyframeLocation<Keyframe<IValue>> location = getCurrentKeyFrameLocation(frames, tick);
         Keyframe<IValue> currentFrame = location.keyframe();
-        double startValue = currentFrame.startValue().get();
-        double endValue = currentFrame.endValue().get();
-
-        if (isRotation) {
-            if (!(currentFrame.startValue() instanceof Constant)) {
-                startValue = Math.toRadians(startValue);
 
-                if (axis == Axis.X || axis == Axis.Y)
-                    startValue *= -1;
-            }
-
-            if (!(currentFrame.endValue() instanceof Constant)) {
-                endValue = Math.toRadians(endValue);
-
-                if (axis == Axis.X || axis == Axis.Y)
-                    endValue *= -1;
-            }
-        }
-
-        return new AnimationPoint(currentFrame, location.startTick(), currentFrame.length(), startValue, endValue);
+        return new AnimationPoint(
+                currentFrame,
+                location.startTick(),
+                currentFrame.length(),
+                getKeyframeValue(currentFrame.startValue(), isRotation, axis),
+                getKeyframeValue(currentFrame.endValue(), isRotation, axis)
+        );
     }
 
     /**
@@ -819,7 +1159,9 @@ public class AnimationController<T extends GeoAnimatable> {
      * @param frames     The list of {@code KeyFrames} to filter through
      * @param ageInTicks The current tick time
      * @return A new {@code KeyFrameLocation} containing the current {@code KeyFrame} and the tick time used to find it
+     * @deprecated Use {@link KeyframeStack#findKeyframeIndex} with {@link KeyframeStack#getKeyframeEndTimes} instead
      */
+    @Deprecated
     protected KeyframeLocation<Keyframe<IValue>> getCurrentKeyFrameLocation(
             List<Keyframe<IValue>> frames,
             double ageInTicks
@@ -836,6 +1178,22 @@ public class AnimationController<T extends GeoAnimatable> {
         return new KeyframeLocation<>(frames.get(frames.size() - 1), ageInTicks);
     }
 
+    /**
+     * Evaluate a keyframe value, converting it to radians in the correct direction if it is a non-constant rotation
+     */
+    protected double getKeyframeValue(IValue value, boolean isRotation, Axis axis) {
+        double result = value.get();
+
+        if (isRotation && !(value instanceof Constant)) {
+            result = Math.toRadians(result);
+
+            if (axis == Axis.X || axis == Axis.Y)
+                result *= -1;
+        }
+
+        return result;
+    }
+
     /**
      * Clear the {@link KeyFrameData} cache in preparation for the next animation
      */
@@ -912,4 +1270,20 @@ public class AnimationController<T extends GeoAnimatable> {
 
         void handle(CustomInstructionKeyframeEvent<A> event);
     }
+
+    /**
+     * The bone keyframes recorded by {@link #processAndDeferBones} for {@link #sampleDeferredBones} to sample
+     *
+     * @param animation      The animation to sample
+     * @param adjustedTick   The controller-adjusted tick to sample at
+     * @param transition     Whether to sample the transition into the animation rather than the animation itself
+     * @param easingOverride The easing to use in place of each keyframe's own, or null
+     */
+    protected record DeferredBoneSample(
+            Animation animation,
+            double adjustedTick,
+            boolean transition,
+            EasingType easingOverride
+    ) {
+    }
 }
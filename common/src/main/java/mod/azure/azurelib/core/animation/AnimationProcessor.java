@@ -7,15 +7,19 @@
  */
 package mod.azure.azurelib.core.animation;
 
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
 import mod.azure.azurelib.core.animatable.model.CoreBakedGeoModel;
 import mod.azure.azurelib.core.animatable.model.CoreGeoBone;
 import mod.azure.azurelib.core.animatable.model.CoreGeoModel;
-import mod.azure.azurelib.core.keyframe.AnimationPoint;
-import mod.azure.azurelib.core.keyframe.BoneAnimationQueue;
+import mod.azure.azurelib.core.keyframe.BoneAnimationSample;
+import mod.azure.azurelib.core.molang.MolangContext;
+import mod.azure.azurelib.core.state.BonePoseBuffer;
 import mod.azure.azurelib.core.state.BoneSnapshot;
 import mod.azure.azurelib.core.utils.Interpolations;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +31,16 @@ public class AnimationProcessor<T extends GeoAnimatable> {
 
     private final Map<String, CoreGeoBone> bonesByName = new Object2ObjectOpenHashMap<>();
 
+    private final List<CoreGeoBone> bonesByIndex = new ObjectArrayList<>();
+
+    private final Object2IntOpenHashMap<String> boneIndices = createBoneIndexMap();
+
+    private final Map<String, CoreGeoBone> filteredBonesByName = new Object2ObjectOpenHashMap<>();
+
+    private Set<String> boneFilter = null;
+
+    private CoreBakedGeoModel activeModel = null;
+
     private final CoreGeoModel<T> model;
 
     public boolean reloadAnimations = false;
@@ -70,7 +84,10 @@ public class AnimationProcessor<T extends GeoAnimatable> {
     }
 
     /**
-     * Tick and apply transformations to the model based on the current state of the {@link AnimationController}
+     * Tick the current state of the {@link AnimationController AnimationControllers} and write the resulting
+     * transformations into the {@link BonePoseBuffer} of the given {@link AnimatableManager}.<br>
+     * This does not modify the registered {@link CoreGeoBone bones}, call {@link #applyPose} to copy the computed pose
+     * onto them before rendering
      *
      * @param animatable            The animatable object relevant to the animation being played
      * @param model                 The model currently being processed
@@ -88,75 +105,255 @@ public class AnimationProcessor<T extends GeoAnimatable> {
             AnimationState<T> event,
             boolean crashWhenCantFindBone
     ) {
+        tickAnimation(animatable, model, animatableManager, animTime, event, crashWhenCantFindBone, null);
+    }
+
+    /**
+     * Tick the current state of the {@link AnimationController AnimationControllers}, only evaluating animations for
+     * the given subset of bones.<br>
+     * Bones outside the subset are treated as un-animated, and ease back to their resting pose
+     *
+     * @param animatable            The animatable object relevant to the animation being played
+     * @param model                 The model currently being processed
+     * @param animatableManager     The AnimatableManager instance being used for this animation processor
+     * @param animTime              The internal tick counter kept by the {@link AnimatableManager} for this animatable
+     * @param event                 An {@link AnimationState} instance applied to this render frame
+     * @param crashWhenCantFindBone Whether to crash if unable to find a required bone, or to continue with the
+     *                              remaining bones. Ignored if a bone filter is provided
+     * @param boneFilter            The names of the bones to evaluate, or null to evaluate every bone
+     * @see #tickAnimation(GeoAnimatable, CoreGeoModel, AnimatableManager, double, AnimationState, boolean)
+     */
+    public void tickAnimation(
+            T animatable,
+            CoreGeoModel<T> model,
+            AnimatableManager<T> animatableManager,
+            double animTime,
+            AnimationState<T> event,
+            boolean crashWhenCantFindBone,
+            @Nullable Set<String> boneFilter
+    ) {
+        Map<String, CoreGeoBone> bones = boneFilter == null ? this.bonesByName : getFilteredBones(boneFilter);
         Map<String, BoneSnapshot> boneSnapshots = updateBoneSnapshots(animatableManager.getBoneSnapshotCollection());
+        BonePoseBuffer pose = animatableManager.getPoseBuffer();
+
+        pose.prepare(this.activeModel, this.bonesByIndex);
+        capturePreChangedBones(pose, boneSnapshots);
+
+        // Bind this instance's Molang context so that keyframe expressions resolve its own query values
+        MolangContext previousContext = MolangContext.bind(animatableManager.getMolangContext());
+
+        try {
+            for (AnimationController<T> controller : animatableManager.getAnimationControllers().values()) {
+                if (this.reloadAnimations) {
+                    controller.forceAnimationReset();
+                    controller.getBoneAnimationSamples().clear();
+                }
+
+                controller.isJustStarting = animatableManager.isFirstTick();
 
-        for (AnimationController<T> controller : animatableManager.getAnimationControllers().values()) {
-            if (this.reloadAnimations) {
-                controller.forceAnimationReset();
-                controller.getBoneAnimationQueues().clear();
+                event.withController(controller);
+                controller.process(
+                        model,
+                        event,
+                        bones,
+                        boneSnapshots,
+                        animTime,
+                        crashWhenCantFindBone && boneFilter == null
+                );
+
+                writeSamples(controller, pose, boneSnapshots);
             }
+        } finally {
+            MolangContext.bind(previousContext);
+        }
 
-            controller.isJustStarting = animatableManager.isFirstTick();
+        pose.captureAnimatedChannels();
 
-            event.withController(controller);
-            controller.process(model, event, this.bonesByName, boneSnapshots, animTime, crashWhenCantFindBone);
+        this.reloadAnimations = false;
 
-            for (BoneAnimationQueue boneAnimation : controller.getBoneAnimationQueues().values()) {
-                CoreGeoBone bone = boneAnimation.bone();
-                BoneSnapshot snapshot = boneSnapshots.get(bone.getName());
-                BoneSnapshot initialSnapshot = bone.getInitialSnapshot();
+        finishPose(animatableManager, boneSnapshots, animTime, animatable.getBoneResetTime());
+    }
 
-                AnimationPoint rotXPoint = boneAnimation.rotationXQueue().poll();
-                AnimationPoint rotYPoint = boneAnimation.rotationYQueue().poll();
-                AnimationPoint rotZPoint = boneAnimation.rotationZQueue().poll();
-                AnimationPoint posXPoint = boneAnimation.positionXQueue().poll();
-                AnimationPoint posYPoint = boneAnimation.positionYQueue().poll();
-                AnimationPoint posZPoint = boneAnimation.positionZQueue().poll();
-                AnimationPoint scaleXPoint = boneAnimation.scaleXQueue().poll();
-                AnimationPoint scaleYPoint = boneAnimation.scaleYQueue().poll();
-                AnimationPoint scaleZPoint = boneAnimation.scaleZQueue().poll();
-                EasingType easingType = controller.overrideEasingTypeFunction.apply(animatable);
-
-                if (rotXPoint != null && rotYPoint != null && rotZPoint != null) {
-                    bone.setRotX(
-                            (float) EasingType.lerpWithOverride(rotXPoint, easingType) + initialSnapshot.getRotX()
-                    );
-                    bone.setRotY(
-                            (float) EasingType.lerpWithOverride(rotYPoint, easingType) + initialSnapshot.getRotY()
-                    );
-                    bone.setRotZ(
-                            (float) EasingType.lerpWithOverride(rotZPoint, easingType) + initialSnapshot.getRotZ()
-                    );
-                    snapshot.updateRotation(bone.getRotX(), bone.getRotY(), bone.getRotZ());
-                    snapshot.startRotAnim();
-                    bone.markRotationAsChanged();
-                }
+    /**
+     * Tick the state of the {@link AnimationController AnimationControllers} of the given {@link AnimatableManager}
+     * for the current frame, without sampling any keyframes.<br>
+     * Controller predicates, animation state changes and keyframe events are handled as in {@link #tickAnimation}, and
+     * the keyframes each controller needs are recorded for {@link #sampleAnimation} to sample afterwards.<br>
+     * Must be called on the render thread
+     *
+     * @param model             The model currently being processed
+     * @param animatableManager The AnimatableManager instance being used for this animation processor
+     * @param animTime          The internal tick counter kept by the {@link AnimatableManager} for this animatable
+     * @param event             An {@link AnimationState} instance applied to this render frame
+     */
+    public void tickControllerStates(
+            CoreGeoModel<T> model,
+            AnimatableManager<T> animatableManager,
+            double animTime,
+            AnimationState<T> event
+    ) {
+        Map<String, BoneSnapshot> boneSnapshots = updateBoneSnapshots(animatableManager.getBoneSnapshotCollection());
+        MolangContext previousContext = MolangContext.bind(animatableManager.getMolangContext());
 
-                if (posXPoint != null && posYPoint != null && posZPoint != null) {
-                    bone.setPosX((float) EasingType.lerpWithOverride(posXPoint, easingType));
-                    bone.setPosY((float) EasingType.lerpWithOverride(posYPoint, easingType));
-                    bone.setPosZ((float) EasingType.lerpWithOverride(posZPoint, easingType));
-                    snapshot.updateOffset(bone.getPosX(), bone.getPosY(), bone.getPosZ());
-                    snapshot.startPosAnim();
-                    bone.markPositionAsChanged();
+        try {
+            for (AnimationController<T> controller : animatableManager.getAnimationControllers().values()) {
+                if (this.reloadAnimations) {
+                    controller.forceAnimationReset();
+                    controller.getBoneAnimationSamples().clear();
                 }
 
-                if (scaleXPoint != null && scaleYPoint != null && scaleZPoint != null) {
-                    bone.setScaleX((float) EasingType.lerpWithOverride(scaleXPoint, easingType));
-                    bone.setScaleY((float) EasingType.lerpWithOverride(scaleYPoint, easingType));
-                    bone.setScaleZ((float) EasingType.lerpWithOverride(scaleZPoint, easingType));
-                    snapshot.updateScale(bone.getScaleX(), bone.getScaleY(), bone.getScaleZ());
-                    snapshot.startScaleAnim();
-                    bone.markScaleAsChanged();
-                }
+                controller.isJustStarting = animatableManager.isFirstTick();
+
+                event.withController(controller);
+                controller.processAndDeferBones(model, event, this.bonesByName, boneSnapshots, animTime);
             }
+        } finally {
+            MolangContext.bind(previousContext);
         }
 
         this.reloadAnimations = false;
-        double resetTickLength = animatable.getBoneResetTime();
+    }
 
-        for (CoreGeoBone bone : getRegisteredBones()) {
-            if (!bone.hasRotationChanged()) {
+    /**
+     * Sample the keyframes recorded by {@link #tickControllerStates} for the given {@link AnimatableManager} and write
+     * the resulting transformations into its {@link BonePoseBuffer}.<br>
+     * Only reads the manager's own animation data and the shared animation and model data, and never calls into the
+     * animatable, so this may be run off the render thread as long as no other thread is using this processor
+     *
+     * @param animatableManager     The AnimatableManager instance being used for this animation processor
+     * @param animTime              The internal tick counter kept by the {@link AnimatableManager} for this animatable
+     * @param boneResetTime         The animatable's {@link GeoAnimatable#getBoneResetTime() bone reset time}
+     * @param crashWhenCantFindBone Whether to crash if unable to find a required bone, or to continue with the
+     *                              remaining bones. Ignored if a bone filter is provided
+     * @param boneFilter            The names of the bones to evaluate, or null to evaluate every bone
+     */
+    public void sampleAnimation(
+            AnimatableManager<T> animatableManager,
+            double animTime,
+            double boneResetTime,
+            boolean crashWhenCantFindBone,
+            @Nullable Set<String> boneFilter
+    ) {
+        Map<String, CoreGeoBone> bones = boneFilter == null ? this.bonesByName : getFilteredBones(boneFilter);
+        Map<String, BoneSnapshot> boneSnapshots = updateBoneSnapshots(animatableManager.getBoneSnapshotCollection());
+        BonePoseBuffer pose = animatableManager.getPoseBuffer();
+
+        pose.prepare(this.activeModel, this.bonesByIndex);
+
+        MolangContext previousContext = MolangContext.bind(animatableManager.getMolangContext());
+
+        try {
+            for (AnimationController<T> controller : animatableManager.getAnimationControllers().values()) {
+                controller.sampleDeferredBones(bones, crashWhenCantFindBone && boneFilter == null);
+                writeSamples(controller, pose, boneSnapshots);
+            }
+        } finally {
+            MolangContext.bind(previousContext);
+        }
+
+        pose.captureAnimatedChannels();
+        finishPose(animatableManager, boneSnapshots, animTime, boneResetTime);
+    }
+
+    /**
+     * Write the {@link BoneAnimationSample BoneAnimationSamples} of the given controller into the given
+     * {@link BonePoseBuffer}, then reset them
+     */
+    private void writeSamples(
+            AnimationController<T> controller,
+            BonePoseBuffer pose,
+            Map<String, BoneSnapshot> boneSnapshots
+    ) {
+        for (BoneAnimationSample sample : controller.getBoneAnimationSamples().values()) {
+            if (!sample.hasRotation() && !sample.hasPosition() && !sample.hasScale())
+                continue;
+
+            CoreGeoBone bone = sample.bone();
+            int index = this.boneIndices.getInt(bone.getName());
+
+            if (index < 0) {
+                sample.reset();
+
+                continue;
+            }
+
+            BoneSnapshot snapshot = boneSnapshots.get(bone.getName());
+
+            if (sample.hasRotation()) {
+                BoneSnapshot initialSnapshot = bone.getInitialSnapshot();
+                float rotX = (float) sample.rotX() + initialSnapshot.getRotX();
+                float rotY = (float) sample.rotY() + initialSnapshot.getRotY();
+                float rotZ = (float) sample.rotZ() + initialSnapshot.getRotZ();
+
+                pose.setRotation(index, rotX, rotY, rotZ);
+                snapshot.updateRotation(rotX, rotY, rotZ);
+                snapshot.startRotAnim();
+            }
+
+            if (sample.hasPosition()) {
+                float posX = (float) sample.posX();
+                float posY = (float) sample.posY();
+                float posZ = (float) sample.posZ();
+
+                pose.setPosition(index, posX, posY, posZ);
+                snapshot.updateOffset(posX, posY, posZ);
+                snapshot.startPosAnim();
+            }
+
+            if (sample.hasScale()) {
+                float scaleX = (float) sample.scaleX();
+                float scaleY = (float) sample.scaleY();
+                float scaleZ = (float) sample.scaleZ();
+
+                pose.setScale(index, scaleX, scaleY, scaleZ);
+                snapshot.updateScale(scaleX, scaleY, scaleZ);
+                snapshot.startScaleAnim();
+            }
+
+            sample.reset();
+        }
+    }
+
+    /**
+     * Record the bone channels a renderer already changed before this pass, and copy their current values into the
+     * bone snapshots, so that transitions and resets start from what is actually being rendered.<br>
+     * Must be called before any controller is processed
+     */
+    private void capturePreChangedBones(BonePoseBuffer pose, Map<String, BoneSnapshot> boneSnapshots) {
+        pose.capturePreChangedChannels(this.bonesByIndex);
+
+        for (int i = 0; i < pose.getBoneCount() && i < this.bonesByIndex.size(); i++) {
+            CoreGeoBone bone = this.bonesByIndex.get(i);
+            BoneSnapshot snapshot = boneSnapshots.get(bone.getName());
+
+            if (pose.isRotationPreChanged(i))
+                snapshot.updateRotation(bone.getRotX(), bone.getRotY(), bone.getRotZ());
+
+            if (pose.isPositionPreChanged(i))
+                snapshot.updateOffset(bone.getPosX(), bone.getPosY(), bone.getPosZ());
+
+            if (pose.isScalePreChanged(i))
+                snapshot.updateScale(bone.getScaleX(), bone.getScaleY(), bone.getScaleZ());
+        }
+    }
+
+    /**
+     * Ease the bones not animated this frame back towards their resting pose, then mark the pose as ready.<br>
+     * Channels a renderer changed before this pass are left as the renderer set them
+     */
+    private void finishPose(
+            AnimatableManager<T> animatableManager,
+            Map<String, BoneSnapshot> boneSnapshots,
+            double animTime,
+            double resetTickLength
+    ) {
+        BonePoseBuffer pose = animatableManager.getPoseBuffer();
+
+        // Ease un-animated bones back to their resting pose, skipping any that have already fully settled
+        for (int i = 0; i < this.bonesByIndex.size(); i++) {
+            CoreGeoBone bone = this.bonesByIndex.get(i);
+
+            if (!pose.hasRotationChanged(i) && !pose.isRotationPreChanged(i) && !pose.isRotationSettled(i)) {
                 BoneSnapshot initialSnapshot = bone.getInitialSnapshot();
                 BoneSnapshot saveSnapshot = boneSnapshots.get(bone.getName());
 
@@ -168,21 +365,20 @@ public class AnimationProcessor<T extends GeoAnimatable> {
                         1
                 );
 
-                bone.setRotX(
-                        (float) Interpolations.lerp(saveSnapshot.getRotX(), initialSnapshot.getRotX(), percentageReset)
-                );
-                bone.setRotY(
-                        (float) Interpolations.lerp(saveSnapshot.getRotY(), initialSnapshot.getRotY(), percentageReset)
-                );
-                bone.setRotZ(
+                pose.setRotation(
+                        i,
+                        (float) Interpolations.lerp(saveSnapshot.getRotX(), initialSnapshot.getRotX(), percentageReset),
+                        (float) Interpolations.lerp(saveSnapshot.getRotY(), initialSnapshot.getRotY(), percentageReset),
                         (float) Interpolations.lerp(saveSnapshot.getRotZ(), initialSnapshot.getRotZ(), percentageReset)
                 );
 
-                if (percentageReset >= 1)
-                    saveSnapshot.updateRotation(bone.getRotX(), bone.getRotY(), bone.getRotZ());
+                if (percentageReset >= 1) {
+                    saveSnapshot.updateRotation(pose.getRotX(i), pose.getRotY(i), pose.getRotZ(i));
+                    pose.markRotationSettled(i);
+                }
             }
 
-            if (!bone.hasPositionChanged()) {
+            if (!pose.hasPositionChanged(i) && !pose.isPositionPreChanged(i) && !pose.isPositionSettled(i)) {
                 BoneSnapshot initialSnapshot = bone.getInitialSnapshot();
                 BoneSnapshot saveSnapshot = boneSnapshots.get(bone.getName());
 
@@ -194,21 +390,18 @@ public class AnimationProcessor<T extends GeoAnimatable> {
                         1
                 );
 
-                bone.setPosX(
+                pose.setPosition(
+                        i,
                         (float) Interpolations.lerp(
                                 saveSnapshot.getOffsetX(),
                                 initialSnapshot.getOffsetX(),
                                 percentageReset
-                        )
-                );
-                bone.setPosY(
+                        ),
                         (float) Interpolations.lerp(
                                 saveSnapshot.getOffsetY(),
                                 initialSnapshot.getOffsetY(),
                                 percentageReset
-                        )
-                );
-                bone.setPosZ(
+                        ),
                         (float) Interpolations.lerp(
                                 saveSnapshot.getOffsetZ(),
                                 initialSnapshot.getOffsetZ(),
@@ -216,11 +409,13 @@ public class AnimationProcessor<T extends GeoAnimatable> {
                         )
                 );
 
-                if (percentageReset >= 1)
-                    saveSnapshot.updateOffset(bone.getPosX(), bone.getPosY(), bone.getPosZ());
+                if (percentageReset >= 1) {
+                    saveSnapshot.updateOffset(pose.getPosX(i), pose.getPosY(i), pose.getPosZ(i));
+                    pose.markPositionSettled(i);
+                }
             }
 
-            if (!bone.hasScaleChanged()) {
+            if (!pose.hasScaleChanged(i) && !pose.isScalePreChanged(i) && !pose.isScaleSettled(i)) {
                 BoneSnapshot initialSnapshot = bone.getInitialSnapshot();
                 BoneSnapshot saveSnapshot = boneSnapshots.get(bone.getName());
 
@@ -232,28 +427,108 @@ public class AnimationProcessor<T extends GeoAnimatable> {
                         1
                 );
 
-                bone.setScaleX(
+                pose.setScale(
+                        i,
                         (float) Interpolations.lerp(saveSnapshot.getScaleX(), initialSnapshot.getScaleX(),
-                                percentageReset)
-                );
-                bone.setScaleY(
+                                percentageReset),
                         (float) Interpolations.lerp(saveSnapshot.getScaleY(), initialSnapshot.getScaleY(),
-                                percentageReset)
-                );
-                bone.setScaleZ(
+                                percentageReset),
                         (float) Interpolations.lerp(saveSnapshot.getScaleZ(), initialSnapshot.getScaleZ(),
                                 percentageReset)
                 );
 
-                if (percentageReset >= 1)
-                    saveSnapshot.updateScale(bone.getScaleX(), bone.getScaleY(), bone.getScaleZ());
+                if (percentageReset >= 1) {
+                    saveSnapshot.updateScale(pose.getScaleX(i), pose.getScaleY(i), pose.getScaleZ(i));
+                    pose.markScaleSettled(i);
+                }
             }
         }
 
-        resetBoneTransformationMarkers();
+        pose.resetStateChanges();
+        pose.markPopulated();
         animatableManager.finishFirstTick();
     }
 
+    /**
+     * Run the {@link AnimationController AnimationControllers} of the given {@link AnimatableManager} for the current
+     * frame without sampling any keyframes or changing its {@link BonePoseBuffer}.<br>
+     * Controller predicates, animation state changes and keyframe events are handled as in {@link #tickAnimation},
+     * for frames where the previously computed pose is reused instead
+     *
+     * @param model             The model currently being processed
+     * @param animatableManager The AnimatableManager instance being used for this animation processor
+     * @param animTime          The internal tick counter kept by the {@link AnimatableManager} for this animatable
+     * @param event             An {@link AnimationState} instance applied to this render frame
+     */
+    public void tickControllers(
+            CoreGeoModel<T> model,
+            AnimatableManager<T> animatableManager,
+            double animTime,
+            AnimationState<T> event
+    ) {
+        Map<String, BoneSnapshot> boneSnapshots = updateBoneSnapshots(animatableManager.getBoneSnapshotCollection());
+        MolangContext previousContext = MolangContext.bind(animatableManager.getMolangContext());
+
+        try {
+            for (AnimationController<T> controller : animatableManager.getAnimationControllers().values()) {
+                controller.isJustStarting = animatableManager.isFirstTick();
+
+                event.withController(controller);
+                controller.processWithoutBones(model, event, this.bonesByName, boneSnapshots, animTime);
+            }
+        } finally {
+            MolangContext.bind(previousContext);
+        }
+    }
+
+    /**
+     * Get the registered bones whose names are in the given filter, reusing the last result if the filter is unchanged
+     */
+    private Map<String, CoreGeoBone> getFilteredBones(Set<String> boneFilter) {
+        if (this.boneFilter != boneFilter) {
+            this.boneFilter = boneFilter;
+            this.filteredBonesByName.clear();
+
+            for (String boneName : boneFilter) {
+                CoreGeoBone bone = this.bonesByName.get(boneName);
+
+                if (bone != null)
+                    this.filteredBonesByName.put(boneName, bone);
+            }
+        }
+
+        return this.filteredBonesByName;
+    }
+
+    /**
+     * Copy the pose computed by {@link #tickAnimation} for the given {@link AnimatableManager} onto the registered
+     * {@link CoreGeoBone bones}, ready for rendering.<br>
+     * Bone channels already marked as changed before this call keep their value unless they were animated, then every
+     * bone's transformation markers are reset.<br>
+     * Does nothing if the manager's {@link BonePoseBuffer} was not computed for the currently active model
+     *
+     * @return Whether the pose was applied
+     */
+    public boolean applyPose(AnimatableManager<T> animatableManager) {
+        if (!isPoseReady(animatableManager))
+            return false;
+
+        animatableManager.getPoseBuffer().applyTo(this.bonesByIndex);
+        resetBoneTransformationMarkers();
+
+        return true;
+    }
+
+    /**
+     * Whether the given {@link AnimatableManager} holds a pose computed by {@link #tickAnimation} for the currently
+     * active model
+     */
+    public boolean isPoseReady(AnimatableManager<T> animatableManager) {
+        BonePoseBuffer pose = animatableManager.getPoseBuffer();
+
+        return pose.isPopulated() && pose.getModel() == this.activeModel;
+    }
+
     /**
      * Reset the transformation markers applied to each {@link CoreGeoBone} ready for the next render frame
      */
@@ -294,7 +569,12 @@ public class AnimationProcessor<T extends GeoAnimatable> {
      */
     public void registerGeoBone(CoreGeoBone bone) {
         bone.saveInitialSnapshot();
-        this.bonesByName.put(bone.getName(), bone);
+
+        if (this.bonesByName.put(bone.getName(), bone) == null) {
+            this.boneIndices.put(bone.getName(), this.bonesByIndex.size());
+            this.bonesByIndex.add(bone);
+        }
+
         bone.getChildBones().forEach(this::registerGeoBone);
     }
 
@@ -305,9 +585,23 @@ public class AnimationProcessor<T extends GeoAnimatable> {
      */
     public void setActiveModel(CoreBakedGeoModel model) {
         this.bonesByName.clear();
+        this.bonesByIndex.clear();
+        this.boneIndices.clear();
+        this.filteredBonesByName.clear();
+        this.boneFilter = null;
+        this.activeModel = model;
         model.getBones().forEach(this::registerGeoBone);
     }
 
+    /**
+     * Get the ordinal of the bone with the given name, as used to index a {@link BonePoseBuffer}
+     *
+     * @return The bone's ordinal, or -1 if no bone with that name is registered
+     */
+    public int getBoneIndex(String boneName) {
+        return this.boneIndices.getInt(boneName);
+    }
+
     /**
      * Get an iterable collection of the {@link CoreGeoBone GeoBones} currently registered to the processor
      */
@@ -322,6 +616,26 @@ public class AnimationProcessor<T extends GeoAnimatable> {
         this.model.applyMolangQueries(animatable, animTime);
     }
 
+    /**
+     * Apply transformations and settings prior to acting on any animation-related functionality, resetting the
+     * {@link MolangContext} of the given {@link AnimatableManager} and applying the Molang queries for this evaluation
+     * to it
+     */
+    public void preAnimationSetup(AnimatableManager<T> animatableManager, T animatable, double animTime) {
+        MolangContext context = animatableManager.getMolangContext();
+
+        context.reset();
+        this.model.applyMolangQueries(context, animatable, animTime);
+    }
+
+    private static Object2IntOpenHashMap<String> createBoneIndexMap() {
+        Object2IntOpenHashMap<String> map = new Object2IntOpenHashMap<>();
+
+        map.defaultReturnValue(-1);
+
+        return map;
+    }
+
     /**
      * {@link Animation} and {@link Animation.LoopType} override pair, used to define a playable animation stage for a
      * {@link GeoAnimatable}
@@ -7,9 +7,9 @@
  */
 package mod.azure.azurelib.core.animation;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import mod.azure.azurelib.core.animatable.GeoAnimatable;
 import mod.azure.azurelib.core.object.DataTicket;
+import mod.azure.azurelib.core.object.DataTicketStore;
 import mod.azure.azurelib.core.object.PlayState;
 
 import java.util.Map;
@@ -32,16 +32,35 @@ public class AnimationState<T extends GeoAnimatable> {
 
     private final boolean isMoving;
 
-    private final Map<DataTicket<?>, Object> extraData = new Object2ObjectOpenHashMap<>();
+    private final DataTicketStore extraData;
     public double animationTick;
     protected AnimationController<T> controller;
 
     public AnimationState(T animatable, float limbSwing, float limbSwingAmount, float partialTick, boolean isMoving) {
+        this(animatable, limbSwing, limbSwingAmount, partialTick, isMoving, new DataTicketStore());
+    }
+
+    /**
+     * Create a new AnimationState that stores its additional data in the given {@link DataTicketStore}, rather than
+     * allocating a new one.<br>
+     * Any data already in the store is kept, so the caller that owns the store should reset it beforehand if needed
+     *
+     * @see AnimatableManager#prepareAnimationStateData()
+     */
+    public AnimationState(
+            T animatable,
+            float limbSwing,
+            float limbSwingAmount,
+            float partialTick,
+            boolean isMoving,
+            DataTicketStore extraData
+    ) {
         this.animatable = animatable;
         this.limbSwing = limbSwing;
         this.limbSwingAmount = limbSwingAmount;
         this.partialTick = partialTick;
         this.isMoving = isMoving;
+        this.extraData = extraData;
     }
 
     /**
@@ -99,12 +118,14 @@ public class AnimationState<T extends GeoAnimatable> {
     }
 
     /**
-     * Gets the optional additional data map for the event.<br>
+     * Gets the optional additional data for the event, as a live map view of its {@link DataTicketStore}.<br>
+     * Writes to the map are stored in the event. Use {@link #getData} and {@link #setData} to access individual data
+     * points instead where possible
      *
      * @see DataTicket
      */
     public Map<DataTicket<?>, ?> getExtraData() {
-        return this.extraData;
+        return this.extraData.asMap();
     }
 
     /**
@@ -115,7 +136,7 @@ public class AnimationState<T extends GeoAnimatable> {
      * @see DataTicket
      */
     public <D> D getData(DataTicket<D> dataTicket) {
-        return dataTicket.getData(this.extraData);
+        return this.extraData.get(dataTicket);
     }
 
     /**
@@ -125,7 +146,7 @@ public class AnimationState<T extends GeoAnimatable> {
      * @param data       The data value
      */
     public <D> void setData(DataTicket<D> dataTicket, D data) {
-        this.extraData.put(dataTicket, data);
+        this.extraData.set(dataTicket, data);
     }
 
     /**
@@ -148,6 +148,19 @@ public abstract class ContextAwareAnimatableManager<T extends GeoAnimatable, C>
         }
     }
 
+    @Override
+    public boolean hasPersistentState() {
+        if (super.hasPersistentState())
+            return true;
+
+        for (AnimatableManager<T> manager : this.managers.values()) {
+            if (manager.hasPersistentState())
+                return true;
+        }
+
+        return false;
+    }
+
     /**
      * Retrieve a custom data point that was stored earlier, or null if it hasn't been stored.<br>
      * Sub-managers do not have their data set, and instead it is all kept in this parent manager
@@ -31,71 +31,71 @@ public interface EasingType {
 
     Map<String, EasingType> EASING_TYPES = new ConcurrentHashMap<>(64);
 
-    EasingType LINEAR = register("linear", register("none", value -> easeIn(EasingType::linear)));
+    EasingType LINEAR = register("linear", register("none", in((n, t) -> t)));
 
-    EasingType STEP = register("step", value -> easeIn(step(value)));
+    EasingType STEP = register("step", in(StandardEasingType::step));
 
-    EasingType EASE_IN_SINE = register("easeinsine", value -> easeIn(EasingType::sine));
+    EasingType EASE_IN_SINE = register("easeinsine", in((n, t) -> sine(t)));
 
-    EasingType EASE_OUT_SINE = register("easeoutsine", value -> easeOut(EasingType::sine));
+    EasingType EASE_OUT_SINE = register("easeoutsine", out((n, t) -> sine(t)));
 
-    EasingType EASE_IN_OUT_SINE = register("easeinoutsine", value -> easeInOut(EasingType::sine));
+    EasingType EASE_IN_OUT_SINE = register("easeinoutsine", inOut((n, t) -> sine(t)));
 
-    EasingType EASE_IN_QUAD = register("easeinquad", value -> easeIn(EasingType::quadratic));
+    EasingType EASE_IN_QUAD = register("easeinquad", in((n, t) -> quadratic(t)));
 
-    EasingType EASE_OUT_QUAD = register("easeoutquad", value -> easeOut(EasingType::quadratic));
+    EasingType EASE_OUT_QUAD = register("easeoutquad", out((n, t) -> quadratic(t)));
 
-    EasingType EASE_IN_OUT_QUAD = register("easeinoutquad", value -> easeInOut(EasingType::quadratic));
+    EasingType EASE_IN_OUT_QUAD = register("easeinoutquad", inOut((n, t) -> quadratic(t)));
 
-    EasingType EASE_IN_CUBIC = register("easeincubic", value -> easeIn(EasingType::cubic));
+    EasingType EASE_IN_CUBIC = register("easeincubic", in((n, t) -> cubic(t)));
 
-    EasingType EASE_OUT_CUBIC = register("easeoutcubic", value -> easeOut(EasingType::cubic));
+    EasingType EASE_OUT_CUBIC = register("easeoutcubic", out((n, t) -> cubic(t)));
 
-    EasingType EASE_IN_OUT_CUBIC = register("easeinoutcubic", value -> easeInOut(EasingType::cubic));
+    EasingType EASE_IN_OUT_CUBIC = register("easeinoutcubic", inOut((n, t) -> cubic(t)));
 
-    EasingType EASE_IN_QUART = register("easeinquart", value -> easeIn(pow(4)));
+    EasingType EASE_IN_QUART = register("easeinquart", in((n, t) -> Math.pow(t, 4)));
 
-    EasingType EASE_OUT_QUART = register("easeoutquart", value -> easeOut(pow(4)));
+    EasingType EASE_OUT_QUART = register("easeoutquart", out((n, t) -> Math.pow(t, 4)));
 
-    EasingType EASE_IN_OUT_QUART = register("easeinoutquart", value -> easeInOut(pow(4)));
+    EasingType EASE_IN_OUT_QUART = register("easeinoutquart", inOut((n, t) -> Math.pow(t, 4)));
 
-    EasingType EASE_IN_QUINT = register("easeinquint", value -> easeIn(pow(4)));
+    EasingType EASE_IN_QUINT = register("easeinquint", in((n, t) -> Math.pow(t, 4)));
 
-    EasingType EASE_OUT_QUINT = register("easeoutquint", value -> easeOut(pow(5)));
+    EasingType EASE_OUT_QUINT = register("easeoutquint", out((n, t) -> Math.pow(t, 5)));
 
-    EasingType EASE_IN_OUT_QUINT = register("easeinoutquint", value -> easeInOut(pow(5)));
+    EasingType EASE_IN_OUT_QUINT = register("easeinoutquint", inOut((n, t) -> Math.pow(t, 5)));
 
-    EasingType EASE_IN_EXPO = register("easeinexpo", value -> easeIn(EasingType::exp));
+    EasingType EASE_IN_EXPO = register("easeinexpo", in((n, t) -> exp(t)));
 
-    EasingType EASE_OUT_EXPO = register("easeoutexpo", value -> easeOut(EasingType::exp));
+    EasingType EASE_OUT_EXPO = register("easeoutexpo", out((n, t) -> exp(t)));
 
-    EasingType EASE_IN_OUT_EXPO = register("easeinoutexpo", value -> easeInOut(EasingType::exp));
+    EasingType EASE_IN_OUT_EXPO = register("easeinoutexpo", inOut((n, t) -> exp(t)));
 
-    EasingType EASE_IN_CIRC = register("easeincirc", value -> easeIn(EasingType::circle));
+    EasingType EASE_IN_CIRC = register("easeincirc", in((n, t) -> circle(t)));
 
-    EasingType EASE_OUT_CIRC = register("easeoutcirc", value -> easeOut(EasingType::circle));
+    EasingType EASE_OUT_CIRC = register("easeoutcirc", out((n, t) -> circle(t)));
 
-    EasingType EASE_IN_OUT_CIRC = register("easeinoutcirc", value -> easeInOut(EasingType::circle));
+    EasingType EASE_IN_OUT_CIRC = register("easeinoutcirc", inOut((n, t) -> circle(t)));
 
-    EasingType EASE_IN_BACK = register("easeinback", value -> easeIn(back(value)));
+    EasingType EASE_IN_BACK = register("easeinback", in(StandardEasingType::back));
 
-    EasingType EASE_OUT_BACK = register("easeoutback", value -> easeOut(back(value)));
+    EasingType EASE_OUT_BACK = register("easeoutback", out(StandardEasingType::back));
 
-    EasingType EASE_IN_OUT_BACK = register("easeinoutback", value -> easeInOut(back(value)));
+    EasingType EASE_IN_OUT_BACK = register("easeinoutback", inOut(StandardEasingType::back));
 
-    EasingType EASE_IN_ELASTIC = register("easeinelastic", value -> easeIn(elastic(value)));
+    EasingType EASE_IN_ELASTIC = register("easeinelastic", in(StandardEasingType::elastic));
 
-    EasingType EASE_OUT_ELASTIC = register("easeoutelastic", value -> easeOut(elastic(value)));
+    EasingType EASE_OUT_ELASTIC = register("easeoutelastic", out(StandardEasingType::elastic));
 
-    EasingType EASE_IN_OUT_ELASTIC = register("easeinoutelastic", value -> easeInOut(elastic(value)));
+    EasingType EASE_IN_OUT_ELASTIC = register("easeinoutelastic", inOut(StandardEasingType::elastic));
 
-    EasingType EASE_IN_BOUNCE = register("easeinbounce", value -> easeIn(bounce(value)));
+    EasingType EASE_IN_BOUNCE = register("easeinbounce", in(StandardEasingType::bounce));
 
-    EasingType EASE_OUT_BOUNCE = register("easeoutbounce", value -> easeOut(bounce(value)));
+    EasingType EASE_OUT_BOUNCE = register("easeoutbounce", out(StandardEasingType::bounce));
 
-    EasingType EASE_IN_OUT_BOUNCE = register("easeinoutbounce", value -> easeInOut(bounce(value)));
+    EasingType EASE_IN_OUT_BOUNCE = register("easeinoutbounce", inOut(StandardEasingType::bounce));
 
-    EasingType CATMULLROM = register("catmullrom", value -> easeInOut(EasingType::catmullRom));
+    EasingType CATMULLROM = register("catmullrom", inOut((n, t) -> catmullRom(t)));
 
     static double lerpWithOverride(AnimationPoint animationPoint, EasingType override) {
         EasingType easingType = override;
@@ -106,6 +106,42 @@ public interface EasingType {
         return easingType.apply(animationPoint);
     }
 
+    /**
+     * Primitive equivalent of {@link #lerpWithOverride(AnimationPoint, EasingType)}, for sampling keyframes without
+     * allocating an intermediary {@link AnimationPoint}.<br>
+     * Easing types that only override {@link #apply(AnimationPoint)} are still given an {@code AnimationPoint}
+     */
+    static double lerpWithOverride(
+            Keyframe<?> keyFrame,
+            double currentTick,
+            double transitionLength,
+            double startValue,
+            double endValue,
+            EasingType override
+    ) {
+        EasingType easingType = override;
+
+        if (override == null)
+            easingType = keyFrame == null ? LINEAR : keyFrame.easingType();
+
+        if (EasingTypeOverrides.usesAnimationPoint(easingType))
+            return easingType.apply(new AnimationPoint(keyFrame, currentTick, transitionLength, startValue, endValue));
+
+        return easingType.apply(keyFrame, currentTick, transitionLength, startValue, endValue);
+    }
+
+    private static EasingType in(StandardEasingType.Curve curve) {
+        return new StandardEasingType(StandardEasingType.Mode.IN, curve);
+    }
+
+    private static EasingType out(StandardEasingType.Curve curve) {
+        return new StandardEasingType(StandardEasingType.Mode.OUT, curve);
+    }
+
+    private static EasingType inOut(StandardEasingType.Curve curve) {
+        return new StandardEasingType(StandardEasingType.Mode.IN_OUT, curve);
+    }
+
     /**
      * Register an {@code EasingType} with AzureLib for handling animation transitions and value curves.<br>
      * <b><u>MUST be called during mod construct</u></b><br>
@@ -270,9 +306,9 @@ public interface EasingType {
      * <a href="http://easings.net/#easeInElastic">Easings.net#easeInElastic</a>
      */
     static Double2DoubleFunction elastic(Double n) {
-        double n2 = n == null ? 1 : n;
+        double n2 = n == null ? Double.NaN : n;
 
-        return t -> 1 - Math.pow(Math.cos(t * Math.PI / 2f), 3) * Math.cos(t * n2 * Math.PI);
+        return t -> StandardEasingType.elastic(n2, t);
     }
 
     /**
@@ -283,14 +319,9 @@ public interface EasingType {
      * <a href="http://easings.net/#easeInBounce">Easings.net#easeInBounce</a>
      */
     static Double2DoubleFunction bounce(Double n) {
-        final double n2 = n == null ? 0.5d : n;
+        final double n2 = n == null ? Double.NaN : n;
 
-        Double2DoubleFunction one = x -> 121f / 16f * x * x;
-        Double2DoubleFunction two = x -> 121f / 4f * n2 * Math.pow(x - 6f / 11f, 2) + 1 - n2;
-        Double2DoubleFunction three = x -> 121 * n2 * n2 * Math.pow(x - 9f / 11f, 2) + 1 - n2 * n2;
-        Double2DoubleFunction four = x -> 484 * n2 * n2 * n2 * Math.pow(x - 10.5f / 11f, 2) + 1 - n2 * n2 * n2;
-
-        return t -> Math.min(Math.min(one.apply(t), two.apply(t)), Math.min(three.apply(t), four.apply(t)));
+        return t -> StandardEasingType.bounce(n2, t);
     }
 
     /**
@@ -299,9 +330,9 @@ public interface EasingType {
      * <a href="https://easings.net/#easeInBack">Easings.net#easeInBack</a>
      */
     static Double2DoubleFunction back(Double n) {
-        final double n2 = n == null ? 1.70158d : n * 1.70158d;
+        final double n2 = n == null ? Double.NaN : n;
 
-        return t -> t * t * ((n2 + 1) * t - n2);
+        return t -> StandardEasingType.back(n2, t);
     }
 
     // ---> Easing Curve Functions <--- //
@@ -344,39 +375,23 @@ public interface EasingType {
         if (n2 < 2)
             throw new IllegalArgumentException("Steps must be >= 2, got: " + n2);
 
-        final int steps = (int) n2;
-
-        return t -> {
-            double result = 0;
-
-            if (t < 0)
-                return result;
-
-            double stepLength = (1 / (double) steps);
-
-            if (t > (result = (steps - 1) * stepLength))
-                return result;
-
-            int testIndex;
-            int leftBorderIndex = 0;
-            int rightBorderIndex = steps - 1;
-
-            while (rightBorderIndex - leftBorderIndex != 1) {
-                testIndex = leftBorderIndex + (rightBorderIndex - leftBorderIndex) / 2;
-
-                if (t >= testIndex * stepLength) {
-                    leftBorderIndex = testIndex;
-                } else {
-                    rightBorderIndex = testIndex;
-                }
-            }
-
-            return leftBorderIndex * stepLength;
-        };
+        return t -> StandardEasingType.step(n2, t);
     }
 
     Double2DoubleFunction buildTransformer(Double value);
 
+    /**
+     * Apply this easing to the given lerp progress, the same as
+     * {@code buildTransformer(easingValue).apply(lerpValue)}.<br>
+     * The built-in easings evaluate this directly without building a transformer. Other easings build one each call
+     *
+     * @param easingValue The keyframe's easing argument, or {@link Double#NaN} if it has none
+     * @param lerpValue   The progress through the keyframe, from 0 to 1
+     */
+    default double transform(double easingValue, double lerpValue) {
+        return buildTransformer(Double.isNaN(easingValue) ? null : easingValue).apply(lerpValue);
+    }
+
     default double apply(AnimationPoint animationPoint) {
         Double easingVariable = null;
 
@@ -398,4 +413,25 @@ public interface EasingType {
                 buildTransformer(easingValue).apply(lerpValue)
         );
     }
+
+    /**
+     * Primitive equivalent of {@link #apply(AnimationPoint)}
+     */
+    default double apply(
+            Keyframe<?> keyFrame,
+            double currentTick,
+            double transitionLength,
+            double startValue,
+            double endValue
+    ) {
+        if (currentTick >= transitionLength)
+            return (float) endValue;
+
+        double easingValue = Double.NaN;
+
+        if (keyFrame != null && !keyFrame.easingArgs().isEmpty())
+            easingValue = keyFrame.easingArgs().get(0).get();
+
+        return Interpolations.lerp(startValue, endValue, transform(easingValue, currentTick / transitionLength));
+    }
 }
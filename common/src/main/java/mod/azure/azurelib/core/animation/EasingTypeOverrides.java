@@ -0,0 +1,44 @@
+package mod.azure.azurelib.core.animation;
+
+import mod.azure.azurelib.core.keyframe.AnimationPoint;
+import mod.azure.azurelib.core.keyframe.Keyframe;
+
+/**
+ * Tracks which {@link EasingType} implementations only customise the {@link AnimationPoint}-based {@code apply}
+ * methods, so that the primitive sampling path can still defer to them.<br>
+ * Easings that only implement {@link EasingType#buildTransformer}, such as every built-in easing, use the primitive
+ * path directly
+ */
+final class EasingTypeOverrides {
+
+    private static final ClassValue<Boolean> USES_ANIMATION_POINT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!isDefault(type, "apply", Keyframe.class, double.class, double.class, double.class, double.class))
+                return false;
+
+            return !isDefault(type, "apply", AnimationPoint.class) ||
+                    !isDefault(type, "apply", AnimationPoint.class, Double.class, double.class);
+        }
+    };
+
+    private EasingTypeOverrides() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Whether the given easing type overrides one of the {@link AnimationPoint}-based {@code apply} methods without
+     * also overriding the primitive one
+     */
+    static boolean usesAnimationPoint(EasingType easingType) {
+        return USES_ANIMATION_POINT.get(easingType.getClass());
+    }
+
+    private static boolean isDefault(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes).getDeclaringClass() == EasingType.class;
+        } catch (NoSuchMethodException ex) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package mod.azure.azurelib.core.animation;
+
+import it.unimi.dsi.fastutil.doubles.Double2DoubleFunction;
+
+/**
+ * {@link EasingType} implementation for AzureLib's built-in easings.<br>
+ * Each easing is a curve taking the keyframe's easing argument and the lerp progress as primitives, so that
+ * {@link #transform} can evaluate it directly rather than building a new transformer every time it is sampled
+ */
+final class StandardEasingType implements EasingType {
+
+    private final Mode mode;
+
+    private final Curve curve;
+
+    StandardEasingType(Mode mode, Curve curve) {
+        this.mode = mode;
+        this.curve = curve;
+    }
+
+    @Override
+    public Double2DoubleFunction buildTransformer(Double value) {
+        double easingValue = value == null ? Double.NaN : value;
+
+        return lerpValue -> transform(easingValue, lerpValue);
+    }
+
+    @Override
+    public double transform(double easingValue, double lerpValue) {
+        return switch (this.mode) {
+            case IN -> this.curve.apply(easingValue, lerpValue);
+            case OUT -> 1 - this.curve.apply(easingValue, 1 - lerpValue);
+            case IN_OUT -> lerpValue < 0.5d
+                    ? this.curve.apply(easingValue, lerpValue * 2d) / 2d
+                    : 1 - this.curve.apply(easingValue, (1 - lerpValue) * 2d) / 2d;
+        };
+    }
+
+    /**
+     * Primitive form of {@link EasingType#step}.<br>
+     * The MIT license notice on {@link EasingType#step} applies to this function
+     */
+    static double step(double n, double t) {
+        double n2 = Double.isNaN(n) ? 2 : n;
+
+        if (n2 < 2)
+            throw new IllegalArgumentException("Steps must be >= 2, got: " + n2);
+
+        int steps = (int) n2;
+        double result = 0;
+
+        if (t < 0)
+            return result;
+
+        double stepLength = (1 / (double) steps);
+
+        if (t > (result = (steps - 1) * stepLength))
+            return result;
+
+        int testIndex;
+        int leftBorderIndex = 0;
+        int rightBorderIndex = steps - 1;
+
+        while (rightBorderIndex - leftBorderIndex != 1) {
+            testIndex = leftBorderIndex + (rightBorderIndex - leftBorderIndex) / 2;
+
+            if (t >= testIndex * stepLength) {
+                leftBorderIndex = testIndex;
+            } else {
+                rightBorderIndex = testIndex;
+            }
+        }
+
+        return leftBorderIndex * stepLength;
+    }
+
+    /**
+     * Primitive form of {@link EasingType#elastic}
+     */
+    static double elastic(double n, double t) {
+        double n2 = Double.isNaN(n) ? 1 : n;
+
+        return 1 - Math.pow(Math.cos(t * Math.PI / 2f), 3) * Math.cos(t * n2 * Math.PI);
+    }
+
+    /**
+     * Primitive form of {@link EasingType#bounce}
+     */
+    static double bounce(double n, double t) {
+        double n2 = Double.isNaN(n) ? 0.5d : n;
+        double one = 121f / 16f * t * t;
+        double two = 121f / 4f * n2 * Math.pow(t - 6f / 11f, 2) + 1 - n2;
+        double three = 121 * n2 * n2 * Math.pow(t - 9f / 11f, 2) + 1 - n2 * n2;
+        double four = 484 * n2 * n2 * n2 * Math.pow(t - 10.5f / 11f, 2) + 1 - n2 * n2 * n2;
+
+        return Math.min(Math.min(one, two), Math.min(three, four));
+    }
+
+    /**
+     * Primitive form of {@link EasingType#back}
+     */
+    static double back(double n, double t) {
+        double n2 = Double.isNaN(n) ? 1.70158d : n * 1.70158d;
+
+        return t * t * ((n2 + 1) * t - n2);
+    }
+
+    /**
+     * Which direction in time an easing's curve is run in
+     */
+    enum Mode {
+        IN,
+        OUT,
+        IN_OUT
+    }
+
+    /**
+     * An easing curve, taking the keyframe's easing argument ({@link Double#NaN} if it has none) and the lerp progress
+     */
+    @FunctionalInterface
+    interface Curve {
+
+        double apply(double easingValue, double lerpValue);
+    }
+}
@@ -0,0 +1,136 @@
+package mod.azure.azurelib.core.keyframe;
+
+import mod.azure.azurelib.core.animatable.model.CoreGeoBone;
+import mod.azure.azurelib.core.animation.AnimationController;
+import mod.azure.azurelib.core.animation.AnimationProcessor;
+
+/**
+ * Preallocated per-bone primitive slots for the evaluated transforms of a single {@link AnimationController} frame.<br>
+ * Instances are created once per bone and reused every frame, so that sampling keyframes does not allocate.<br>
+ * The controller writes the eased rotation, position and scale values here, and the {@link AnimationProcessor} applies
+ * them to the bone.
+ */
+public final class BoneAnimationSample {
+
+    private final CoreGeoBone bone;
+
+    private boolean hasRotation;
+
+    private boolean hasPosition;
+
+    private boolean hasScale;
+
+    private double rotX;
+
+    private double rotY;
+
+    private double rotZ;
+
+    private double posX;
+
+    private double posY;
+
+    private double posZ;
+
+    private double scaleX;
+
+    private double scaleY;
+
+    private double scaleZ;
+
+    public BoneAnimationSample(CoreGeoBone bone) {
+        this.bone = bone;
+    }
+
+    public CoreGeoBone bone() {
+        return this.bone;
+    }
+
+    /**
+     * Clear the written state of this sample in preparation for the next frame
+     */
+    public void reset() {
+        this.hasRotation = false;
+        this.hasPosition = false;
+        this.hasScale = false;
+    }
+
+    /**
+     * Set the rotation values for this frame.<br>
+     * These values are relative to the bone's initial rotation
+     */
+    public void setRotation(double x, double y, double z) {
+        this.rotX = x;
+        this.rotY = y;
+        this.rotZ = z;
+        this.hasRotation = true;
+    }
+
+    /**
+     * Set the position values for this frame
+     */
+    public void setPosition(double x, double y, double z) {
+        this.posX = x;
+        this.posY = y;
+        this.posZ = z;
+        this.hasPosition = true;
+    }
+
+    /**
+     * Set the scale values for this frame
+     */
+    public void setScale(double x, double y, double z) {
+        this.scaleX = x;
+        this.scaleY = y;
+        this.scaleZ = z;
+        this.hasScale = true;
+    }
+
+    public boolean hasRotation() {
+        return this.hasRotation;
+    }
+
+    public boolean hasPosition() {
+        return this.hasPosition;
+    }
+
+    public boolean hasScale() {
+        return this.hasScale;
+    }
+
+    public double rotX() {
+        return this.rotX;
+    }
+
+    public double rotY() {
+        return this.rotY;
+    }
+
+    public double rotZ() {
+        return this.rotZ;
+    }
+
+    public double posX() {
+        return this.posX;
+    }
+
+    public double posY() {
+        return this.posY;
+    }
+
+    public double posZ() {
+        return this.posZ;
+    }
+
+    public double scaleX() {
+        return this.scaleX;
+    }
+
+    public double scaleY() {
+        return this.scaleY;
+    }
+
+    public double scaleZ() {
+        return this.scaleZ;
+    }
+}
@@ -12,17 +12,29 @@
 package mod.azure.azurelib.core.keyframe;
 
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import mod.azure.azurelib.core.math.Constant;
+import mod.azure.azurelib.core.object.Axis;
 
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Stores a triplet of {@link Keyframe Keyframes} in an ordered stack
+ * Stores a triplet of {@link Keyframe Keyframes} in an ordered stack.<br>
+ * The cumulative end time of each keyframe is computed once and cached alongside each axis' keyframes, so that the
+ * active keyframe for a given tick can be found with a binary search instead of walking the whole list.<br>
+ * Axes whose keyframes all hold the same {@link Constant} value are also detected and cached, so that they can be
+ * resolved without sampling.<br>
+ * The keyframes given to the stack are copied into lists that track their own modifications, so any change made through
+ * {@link #getKeyframes} or the record accessors invalidates the cached values for that axis
  */
-public record KeyframeStack<T extends Keyframe<?>>(
-        List<T> xKeyframes,
-        List<T> yKeyframes,
-        List<T> zKeyframes
-) {
+public record KeyframeStack<T extends Keyframe<?>>(List<T> xKeyframes, List<T> yKeyframes, List<T> zKeyframes) {
+
+    public KeyframeStack {
+        xKeyframes = TrackedKeyframes.of(xKeyframes);
+        yKeyframes = TrackedKeyframes.of(yKeyframes);
+        zKeyframes = TrackedKeyframes.of(zKeyframes);
+    }
 
     public KeyframeStack() {
         this(new ObjectArrayList<>(), new ObjectArrayList<>(), new ObjectArrayList<>());
@@ -32,23 +44,188 @@ public record KeyframeStack<T extends Keyframe<?>>(
         return new KeyframeStack<>(otherStack.xKeyframes, otherStack.yKeyframes, otherStack.zKeyframes);
     }
 
+    /**
+     * Compute the cumulative end time of each keyframe in the given list
+     */
+    public static double[] computeEndTimes(List<? extends Keyframe<?>> keyframes) {
+        double[] endTimes = new double[keyframes.size()];
+        double totalFrameTime = 0;
+
+        for (int i = 0; i < endTimes.length; i++) {
+            totalFrameTime += keyframes.get(i).length();
+            endTimes[i] = totalFrameTime;
+        }
+
+        return endTimes;
+    }
+
+    /**
+     * Determine the single value the given keyframes hold for their entire duration, if any
+     *
+     * @return The value shared by the start and end of every keyframe if they are all {@link Constant Constants}, or
+     * {@link Double#NaN} if the keyframes are empty or vary over time
+     */
+    public static double computeConstantValue(List<? extends Keyframe<?>> keyframes) {
+        if (keyframes.isEmpty())
+            return Double.NaN;
+
+        double value = Double.NaN;
+
+        for (Keyframe<?> keyframe : keyframes) {
+            if (!(keyframe.startValue() instanceof Constant start) || !(keyframe.endValue() instanceof Constant end))
+                return Double.NaN;
+
+            if (Double.isNaN(value))
+                value = start.get();
+
+            if (start.get() != value || end.get() != value)
+                return Double.NaN;
+        }
+
+        return value;
+    }
+
+    /**
+     * Find the index of the first keyframe that ends after the given tick
+     *
+     * @param endTimes The cumulative keyframe end times, as computed by {@link #computeEndTimes}
+     * @param tick     The tick to search for
+     * @return The index of the active keyframe, or {@code endTimes.length} if the tick is past the last keyframe
+     */
+    public static int findKeyframeIndex(double[] endTimes, double tick) {
+        int low = 0;
+        int high = endTimes.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (endTimes[mid] > tick) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Get the keyframes for the given axis
+     */
+    public List<T> getKeyframes(Axis axis) {
+        return switch (axis) {
+            case X -> this.xKeyframes;
+            case Y -> this.yKeyframes;
+            case Z -> this.zKeyframes;
+        };
+    }
+
+    /**
+     * Get the cumulative keyframe end times for the given axis.<br>
+     * The times are recomputed if the keyframe list has been modified since they were last computed
+     */
+    public double[] getKeyframeEndTimes(Axis axis) {
+        return getCache(axis).endTimes;
+    }
+
+    /**
+     * Whether the keyframes for the given axis hold a single {@link Constant} value for their entire duration
+     */
+    public boolean isConstant(Axis axis) {
+        return !Double.isNaN(getConstantValue(axis));
+    }
+
+    /**
+     * Get the value held by the keyframes for the given axis if they are {@link #isConstant constant}, or
+     * {@link Double#NaN} otherwise
+     */
+    public double getConstantValue(Axis axis) {
+        return getCache(axis).constantValue;
+    }
+
+    private Cache getCache(Axis axis) {
+        return ((TrackedKeyframes<T>)getKeyframes(axis)).getCache();
+    }
+
     public double getLastKeyframeTime() {
-        double xTime = 0;
-        double yTime = 0;
-        double zTime = 0;
+        return Math.max(
+                getLastEndTime(getKeyframeEndTimes(Axis.X)),
+                Math.max(getLastEndTime(getKeyframeEndTimes(Axis.Y)), getLastEndTime(getKeyframeEndTimes(Axis.Z)))
+        );
+    }
+
+    private static double getLastEndTime(double[] endTimes) {
+        return endTimes.length == 0 ? 0 : endTimes[endTimes.length - 1];
+    }
+
+    /**
+     * The values precomputed from one axis' keyframes, along with the modification stamp they were computed at
+     */
+    private record Cache(int stamp, double[] endTimes, double constantValue) {}
+
+    /**
+     * A keyframe list that counts every modification made to it, so that its {@link Cache} can be recomputed when
+     * its contents change.<br>
+     * All of {@link AbstractList}'s mutators funnel through {@link #set}, {@link #add(int, Object)} and
+     * {@link #remove(int)}, so those are the only methods that need to bump the stamp
+     */
+    private static final class TrackedKeyframes<T extends Keyframe<?>> extends AbstractList<T> implements RandomAccess {
+        private final List<T> keyframes;
+        private int stamp = 0;
+        private volatile Cache cache = null;
+
+        private TrackedKeyframes(List<T> keyframes) {
+            this.keyframes = new ObjectArrayList<>(keyframes);
+        }
+
+        private static <T extends Keyframe<?>> List<T> of(List<T> keyframes) {
+            return keyframes instanceof TrackedKeyframes<T> ? keyframes : new TrackedKeyframes<>(keyframes);
+        }
+
+        private Cache getCache() {
+            Cache cache = this.cache;
+            int stamp = this.stamp;
+
+            if (cache == null || cache.stamp != stamp) {
+                cache = new Cache(stamp, computeEndTimes(this.keyframes), computeConstantValue(this.keyframes));
+                this.cache = cache;
+            }
+
+            return cache;
+        }
+
+        @Override
+        public T get(int index) {
+            return this.keyframes.get(index);
+        }
 
-        for (T frame : xKeyframes()) {
-            xTime += frame.length();
+        @Override
+        public int size() {
+            return this.keyframes.size();
         }
 
-        for (T frame : yKeyframes()) {
-            yTime += frame.length();
+        @Override
+        public T set(int index, T keyframe) {
+            T previous = this.keyframes.set(index, keyframe);
+            this.stamp++;
+
+            return previous;
         }
 
-        for (T frame : zKeyframes()) {
-            zTime += frame.length();
+        @Override
+        public void add(int index, T keyframe) {
+            this.keyframes.add(index, keyframe);
+            this.stamp++;
+            this.modCount++;
         }
 
-        return Math.max(xTime, Math.max(yTime, zTime));
+        @Override
+        public T remove(int index) {
+            T removed = this.keyframes.remove(index);
+            this.stamp++;
+            this.modCount++;
+
+            return removed;
+        }
     }
 }
@@ -0,0 +1,166 @@
+package mod.azure.azurelib.core.math;
+
+/**
+ * Flattened form of an {@link IValue} expression tree, produced by {@link ExpressionCompiler}.<br>
+ * The tree is stored as a linear program of opcodes evaluated by a single stack-based interpreter loop, rather than
+ * through a virtual {@link IValue#get()} call per node. Values that can't be flattened, such as variables and
+ * functions, are called out to directly.
+ */
+public final class CompiledExpression implements IValue {
+
+    static final int CONST = 0;
+
+    static final int LOAD = 1;
+
+    static final int NEGATIVE = 2;
+
+    static final int NEGATE = 3;
+
+    static final int JUMP = 4;
+
+    static final int JUMP_IF_ZERO = 5;
+
+    static final int ADD = 6;
+
+    static final int SUB = 7;
+
+    static final int MUL = 8;
+
+    static final int DIV = 9;
+
+    static final int MOD = 10;
+
+    static final int POW = 11;
+
+    static final int AND = 12;
+
+    static final int OR = 13;
+
+    static final int LESS = 14;
+
+    static final int LESS_THAN = 15;
+
+    static final int GREATER_THAN = 16;
+
+    static final int GREATER = 17;
+
+    static final int EQUALS = 18;
+
+    static final int NOT_EQUALS = 19;
+
+    private static final ThreadLocal<Stack> STACK = ThreadLocal.withInitial(Stack::new);
+
+    private final IValue source;
+
+    private final int[] code;
+
+    private final double[] constants;
+
+    private final IValue[] values;
+
+    private final int maxStack;
+
+    CompiledExpression(IValue source, int[] code, double[] constants, IValue[] values, int maxStack) {
+        this.source = source;
+        this.code = code;
+        this.constants = constants;
+        this.values = values;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * Get the original expression tree this was compiled from
+     */
+    public IValue getSource() {
+        return this.source;
+    }
+
+    @Override
+    public double get() {
+        Stack scratch = STACK.get();
+        int base = scratch.reserve(this.maxStack);
+
+        try {
+            return run(scratch.values, base);
+        } finally {
+            scratch.top = base;
+        }
+    }
+
+    private double run(double[] stack, int base) {
+        int[] code = this.code;
+        int sp = base;
+        int pc = 0;
+
+        while (pc < code.length) {
+            switch (code[pc++]) {
+                case CONST -> stack[sp++] = this.constants[code[pc++]];
+                case LOAD -> stack[sp++] = this.values[code[pc++]].get();
+                case NEGATIVE -> stack[sp - 1] = -stack[sp - 1];
+                case NEGATE -> stack[sp - 1] = stack[sp - 1] == 0 ? 1 : 0;
+                case JUMP -> pc = code[pc];
+                case JUMP_IF_ZERO -> pc = stack[--sp] == 0 ? code[pc] : pc + 1;
+                default -> {
+                    double b = stack[--sp];
+                    double a = stack[sp - 1];
+
+                    stack[sp - 1] = calculate(code[pc - 1], a, b);
+                }
+            }
+        }
+
+        return stack[base];
+    }
+
+    private static double calculate(int opcode, double a, double b) {
+        return switch (opcode) {
+            case ADD -> a + b;
+            case SUB -> a - b;
+            case MUL -> a * b;
+            case DIV -> a / (b == 0 ? 1 : b);
+            case MOD -> a % b;
+            case POW -> Math.pow(a, b);
+            case AND -> a != 0 && b != 0 ? 1 : 0;
+            case OR -> a != 0 || b != 0 ? 1 : 0;
+            case LESS -> a < b ? 1 : 0;
+            case LESS_THAN -> a <= b ? 1 : 0;
+            case GREATER_THAN -> a >= b ? 1 : 0;
+            case GREATER -> a > b ? 1 : 0;
+            case EQUALS -> Operation.equals(a, b) ? 1 : 0;
+            case NOT_EQUALS -> !Operation.equals(a, b) ? 1 : 0;
+            default -> throw new IllegalStateException("Unknown opcode " + opcode);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return this.source.toString();
+    }
+
+    /**
+     * Per-thread operand stack shared by all compiled expressions.<br>
+     * Nested evaluations (such as a compiled function argument) reserve their own region above the caller's
+     */
+    private static final class Stack {
+
+        private double[] values = new double[32];
+
+        private int top = 0;
+
+        private int reserve(int size) {
+            int base = this.top;
+
+            if (base + size > this.values.length) {
+                double[] values = new double[Math.max(this.values.length * 2, base + size)];
+
+                System.arraycopy(this.values, 0, values, 0, base);
+
+                this.values = values;
+            }
+
+            this.top = base + size;
+
+            return base;
+        }
+    }
+}
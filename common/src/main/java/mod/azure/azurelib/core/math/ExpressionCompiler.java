@@ -0,0 +1,208 @@
+package mod.azure.azurelib.core.math;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import mod.azure.azurelib.core.math.functions.Function;
+
+import java.util.List;
+
+/**
+ * Optimisation pass for {@link IValue} expression trees built by the {@link MathBuilder}.<br>
+ * Compilation first folds any subtree that doesn't depend on a variable or non-deterministic function into a
+ * {@link Constant}, then flattens what remains into a {@link CompiledExpression} program.<br>
+ * The resulting value always evaluates to the same result as the original tree.
+ */
+public final class ExpressionCompiler {
+
+    private final IntArrayList code = new IntArrayList();
+
+    private final DoubleArrayList constants = new DoubleArrayList();
+
+    private final List<IValue> values = new ObjectArrayList<>();
+
+    private int stackSize = 0;
+
+    private int maxStack = 0;
+
+    private ExpressionCompiler() {}
+
+    /**
+     * Fold and compile the given expression tree
+     *
+     * @param value The expression tree to compile
+     * @return A {@link Constant} if the tree has no variable parts, a {@link CompiledExpression} if it contains any
+     * operations, or the folded tree otherwise
+     */
+    public static IValue compile(IValue value) {
+        IValue folded = fold(value, true);
+
+        if (folded instanceof Constant || !isFlattenable(folded))
+            return folded;
+
+        ExpressionCompiler compiler = new ExpressionCompiler();
+
+        compiler.emit(folded);
+
+        return new CompiledExpression(
+                value,
+                compiler.code.toIntArray(),
+                compiler.constants.toDoubleArray(),
+                compiler.values.toArray(new IValue[0]),
+                compiler.maxStack
+        );
+    }
+
+    /**
+     * Fold all constant subtrees of the given expression tree into {@link Constant Constants}
+     *
+     * @param value The expression tree to fold
+     * @return The folded tree, which may be the same instance as the input
+     */
+    public static IValue fold(IValue value) {
+        return fold(value, false);
+    }
+
+    /**
+     * Fold all constant subtrees of the given expression tree, optionally compiling function arguments in place
+     */
+    private static IValue fold(IValue value, boolean compileArgs) {
+        if (value instanceof Group group) {
+            IValue inner = fold(group.getValue(), compileArgs);
+
+            if (inner instanceof Constant)
+                return inner;
+
+            return inner == group.getValue() ? group : new Group(inner);
+        }
+
+        if (value instanceof Operator operator) {
+            operator.a = fold(operator.a, compileArgs);
+            operator.b = fold(operator.b, compileArgs);
+
+            if (operator.a instanceof Constant && operator.b instanceof Constant)
+                return new Constant(operator.get());
+
+            return operator;
+        }
+
+        if (value instanceof Negate negate) {
+            negate.value = fold(negate.value, compileArgs);
+
+            return negate.value instanceof Constant ? new Constant(negate.get()) : negate;
+        }
+
+        if (value instanceof Negative negative) {
+            negative.value = fold(negative.value, compileArgs);
+
+            return negative.value instanceof Constant ? new Constant(negative.get()) : negative;
+        }
+
+        if (value instanceof Ternary ternary) {
+            IValue condition = fold(ternary.condition, compileArgs);
+            IValue ifTrue = fold(ternary.ifTrue, compileArgs);
+            IValue ifFalse = fold(ternary.ifFalse, compileArgs);
+
+            if (condition instanceof Constant)
+                return condition.get() != 0 ? ifTrue : ifFalse;
+
+            return new Ternary(condition, ifTrue, ifFalse);
+        }
+
+        if (value instanceof Function function) {
+            IValue[] args = function.getArgs();
+            boolean constantArgs = true;
+
+            for (int i = 0; i < args.length; i++) {
+                args[i] = compileArgs ? compile(args[i]) : fold(args[i], false);
+                constantArgs &= args[i] instanceof Constant;
+            }
+
+            if (constantArgs && function.isDeterministic())
+                return new Constant(function.get());
+
+            return function;
+        }
+
+        return value;
+    }
+
+    /**
+     * Whether the given folded tree contains any nodes that would benefit from flattening
+     */
+    private static boolean isFlattenable(IValue value) {
+        if (value instanceof Group group)
+            return isFlattenable(group.getValue());
+
+        return value instanceof Operator || value instanceof Negate || value instanceof Negative
+                || value instanceof Ternary;
+    }
+
+    private void emit(IValue value) {
+        if (value instanceof Constant constant) {
+            emitPush(CompiledExpression.CONST, this.constants.size());
+            this.constants.add(constant.get());
+        } else if (value instanceof Group group) {
+            emit(group.getValue());
+        } else if (value instanceof Operator operator) {
+            emit(operator.a);
+            emit(operator.b);
+            this.code.add(opcodeFor(operator.operation));
+            this.stackSize--;
+        } else if (value instanceof Negative negative) {
+            emit(negative.value);
+            this.code.add(CompiledExpression.NEGATIVE);
+        } else if (value instanceof Negate negate) {
+            emit(negate.value);
+            this.code.add(CompiledExpression.NEGATE);
+        } else if (value instanceof Ternary ternary) {
+            emit(ternary.condition);
+            this.code.add(CompiledExpression.JUMP_IF_ZERO);
+            this.stackSize--;
+
+            int falseJump = this.code.size();
+
+            this.code.add(-1);
+            emit(ternary.ifTrue);
+            this.code.add(CompiledExpression.JUMP);
+
+            int endJump = this.code.size();
+
+            this.code.add(-1);
+            // Only one branch is ever evaluated, so the stack is the same height at the start of either branch
+            this.stackSize--;
+            this.code.set(falseJump, this.code.size());
+            emit(ternary.ifFalse);
+            this.code.set(endJump, this.code.size());
+        } else {
+            emitPush(CompiledExpression.LOAD, this.values.size());
+            this.values.add(value);
+        }
+    }
+
+    private void emitPush(int opcode, int operand) {
+        this.code.add(opcode);
+        this.code.add(operand);
+        this.stackSize++;
+        this.maxStack = Math.max(this.maxStack, this.stackSize);
+    }
+
+    private static int opcodeFor(Operation operation) {
+        return switch (operation) {
+            case ADD -> CompiledExpression.ADD;
+            case SUB -> CompiledExpression.SUB;
+            case MUL -> CompiledExpression.MUL;
+            case DIV -> CompiledExpression.DIV;
+            case MOD -> CompiledExpression.MOD;
+            case POW -> CompiledExpression.POW;
+            case AND -> CompiledExpression.AND;
+            case OR -> CompiledExpression.OR;
+            case LESS -> CompiledExpression.LESS;
+            case LESS_THAN -> CompiledExpression.LESS_THAN;
+            case GREATER_THAN -> CompiledExpression.GREATER_THAN;
+            case GREATER -> CompiledExpression.GREATER;
+            case EQUALS -> CompiledExpression.EQUALS;
+            case NOT_EQUALS -> CompiledExpression.NOT_EQUALS;
+        };
+    }
+}
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Math builder This class is responsible for parsing math expressions provided by user in a string to an {@link IValue}
@@ -24,7 +25,6 @@ import java.util.Map;
  * by first breaking down given string into a list of tokens and then putting them together in a binary tree-like
  * {@link IValue}.
  * TODO: maybe implement constant pool (to reuse same values)?
- * TODO: maybe pre-compute constant expressions?
  */
 public class MathBuilder {
 
@@ -38,6 +38,12 @@ public class MathBuilder {
      */
     public Map<String, Class<? extends Function>> functions = new HashMap<String, Class<? extends Function>>();
 
+    /**
+     * Cache of the constructors used to instantiate each function class, to avoid repeated reflective lookups
+     */
+    private final Map<Class<? extends Function>, Constructor<? extends Function>> functionConstructors =
+            new ConcurrentHashMap<>();
+
     public MathBuilder() {
         /* Some default values */
         this.register(new Variable("PI", Math.PI));
@@ -413,8 +419,15 @@ public class MathBuilder {
             values.add(this.parseSymbols(buffer));
         }
 
-        Class<? extends Function> function = this.functions.get(first);
-        Constructor<? extends Function> ctor = function.getConstructor(IValue[].class, String.class);
+        Constructor<? extends Function> ctor = this.functionConstructors.get(this.functions.get(first));
+
+        if (ctor == null) {
+            Class<? extends Function> function = this.functions.get(first);
+
+            ctor = function.getConstructor(IValue[].class, String.class);
+            this.functionConstructors.put(function, ctor);
+        }
+
         return ctor.newInstance(values.toArray(new IValue[values.size()]), first);
     }
 
@@ -67,4 +67,21 @@ public abstract class Function implements IValue {
     public int getRequiredArguments() {
         return 0;
     }
+
+    /**
+     * Get the argument values of this function.<br>
+     * The returned array is the one used by this function, and is exposed so that arguments can be replaced with
+     * equivalent optimised values at compile time
+     */
+    public IValue[] getArgs() {
+        return this.args;
+    }
+
+    /**
+     * Whether this function always returns the same result for the same arguments.<br>
+     * Only deterministic functions with constant arguments are folded into constants at compile time
+     */
+    public boolean isDeterministic() {
+        return true;
+    }
 }
@@ -12,13 +12,18 @@ import mod.azure.azurelib.core.math.Variable;
 import java.util.function.DoubleSupplier;
 
 /**
- * Lazy override of Variable, to allow for deferred value calculation. <br>
- * Optimises rendering as values are not touched until needed (if at all)
+ * Override of Variable that resolves its value per evaluation.<br>
+ * Each variable known to the {@link MolangParser} is assigned a slot index, used to look up its value in the
+ * {@link MolangContext} bound to the evaluating thread. Values set {@link MolangContext#setLazy lazily} on the context
+ * are only computed the first time they are read in an evaluation.<br>
+ * Variables not set on the context fall back to their global value supplier, which is called on every read
  */
 public class LazyVariable extends Variable {
 
     private DoubleSupplier valueSupplier;
 
+    private int slot = -1;
+
     public LazyVariable(String name, double value) {
         this(name, () -> value);
     }
@@ -56,6 +61,29 @@ public class LazyVariable extends Variable {
      */
     @Override
     public double get() {
+        MolangContext context = MolangContext.current();
+
+        if (context != null && context.isSet(this.slot))
+            return context.get(this.slot);
+
+        return this.valueSupplier.getAsDouble();
+    }
+
+    /**
+     * Get the global value of the variable, ignoring any value set in the bound {@link MolangContext}
+     */
+    double getGlobalValue() {
         return this.valueSupplier.getAsDouble();
     }
+
+    /**
+     * Get the {@link MolangContext} slot index of this variable, or -1 if it hasn't been assigned one
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
 }
@@ -0,0 +1,228 @@
+package mod.azure.azurelib.core.molang;
+
+import mod.azure.azurelib.core.animation.AnimatableManager;
+
+/**
+ * Holder for the Molang variable values of a single animation evaluation.<br>
+ * Each {@link AnimatableManager} owns one of these, and it is bound to the evaluating thread for the duration of
+ * {@link mod.azure.azurelib.core.animation.AnimationProcessor#tickAnimation tickAnimation}. While bound,
+ * {@link LazyVariable LazyVariables} resolve their value by slot index from this context, falling back to their global
+ * value only for slots that have not been set for the current evaluation.<br>
+ * Values can also be set {@link #setLazy lazily}, in which case they are only computed the first time they are read in
+ * an evaluation.<br>
+ * This keeps query values from leaking between animatables, and allows separate instances to be evaluated concurrently
+ * on different threads.
+ */
+public final class MolangContext {
+
+    private static final ThreadLocal<MolangContext> CURRENT = new ThreadLocal<>();
+
+    private double[] values = new double[0];
+
+    private int[] stamps = new int[0];
+
+    private Query<?>[] queries = new Query<?>[0];
+
+    private int[] queryStamps = new int[0];
+
+    private Object subject;
+
+    private double subjectTime;
+
+    private int generation = 1;
+
+    private int legacyQueriesGeneration;
+
+    /**
+     * Get the context bound to the current thread, or null if none is bound
+     */
+    public static MolangContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind the given context to the current thread, returning the previously bound context so that it can be restored
+     * afterwards
+     *
+     * @param context The context to bind, or null to unbind the current context
+     * @return The previously bound context, or null if none was bound
+     */
+    public static MolangContext bind(MolangContext context) {
+        MolangContext previous = CURRENT.get();
+
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Clear all values set in this context, ready for a new evaluation
+     */
+    public void reset() {
+        this.generation++;
+        this.subject = null;
+    }
+
+    /**
+     * Mark the legacy {@code CoreGeoModel#applyMolangQueries(GeoAnimatable, double)} hook as applied for the current
+     * evaluation
+     *
+     * @return Whether the hook had not already been applied for the current evaluation, and so should be run
+     */
+    public boolean markLegacyQueriesApplied() {
+        if (this.legacyQueriesGeneration == this.generation)
+            return false;
+
+        this.legacyQueriesGeneration = this.generation;
+
+        return true;
+    }
+
+    /**
+     * Set the value of the variable in the given slot for the current evaluation
+     *
+     * @param slot  The {@link LazyVariable#getSlot() slot} of the variable
+     * @param value The value to set
+     */
+    public void set(int slot, double value) {
+        if (slot < 0)
+            return;
+
+        ensureCapacity(slot);
+
+        this.values[slot] = value;
+        this.stamps[slot] = this.generation;
+    }
+
+    /**
+     * Set the query that computes the value of the variable in the given slot for the current evaluation.<br>
+     * The query is only run the first time the variable is read in this evaluation, and its result is kept for the
+     * rest of it. All lazy queries set in one evaluation share the same subject.<br>
+     * Queries should not capture any state, so that no allocation is needed to set them each evaluation
+     *
+     * @param slot     The {@link LazyVariable#getSlot() slot} of the variable
+     * @param subject  The object the query computes its value from
+     * @param animTime The animation time of the current evaluation
+     * @param query    The query to compute the value with
+     */
+    public <T> void setLazy(int slot, T subject, double animTime, Query<? super T> query) {
+        if (slot < 0)
+            return;
+
+        ensureCapacity(slot);
+
+        this.subject = subject;
+        this.subjectTime = animTime;
+        this.queries[slot] = query;
+        this.queryStamps[slot] = this.generation;
+    }
+
+    /**
+     * Set the query that computes the value of the given variable for the current evaluation.<br>
+     * Does nothing if no variable is registered by that name
+     *
+     * @see #setLazy(int, Object, double, Query)
+     */
+    public <T> void setLazy(String name, T subject, double animTime, Query<? super T> query) {
+        LazyVariable variable = MolangParser.VARIABLES.get(name);
+
+        if (variable != null)
+            setLazy(variable.getSlot(), subject, animTime, query);
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < this.values.length)
+            return;
+
+        int size = Math.max(slot + 1, MolangParser.getSlotCount());
+        double[] values = new double[size];
+        int[] stamps = new int[size];
+        Query<?>[] queries = new Query<?>[size];
+        int[] queryStamps = new int[size];
+
+        System.arraycopy(this.values, 0, values, 0, this.values.length);
+        System.arraycopy(this.stamps, 0, stamps, 0, this.stamps.length);
+        System.arraycopy(this.queries, 0, queries, 0, this.queries.length);
+        System.arraycopy(this.queryStamps, 0, queryStamps, 0, this.queryStamps.length);
+
+        this.values = values;
+        this.stamps = stamps;
+        this.queries = queries;
+        this.queryStamps = queryStamps;
+    }
+
+    /**
+     * Set the value of the given variable for the current evaluation.<br>
+     * Does nothing if no variable is registered by that name
+     *
+     * @param name  The name of the variable
+     * @param value The value to set
+     */
+    public void set(String name, double value) {
+        LazyVariable variable = MolangParser.VARIABLES.get(name);
+
+        if (variable != null)
+            set(variable.getSlot(), value);
+    }
+
+    /**
+     * Copy the current global value of every registered variable that hasn't been set for the current evaluation into
+     * this context.<br>
+     * Used before handing the context to another thread, so that values set globally by legacy query hooks are
+     * resolved for this evaluation rather than read from the shared variables later.<br>
+     * Any {@link #setLazy lazy} queries that haven't been read yet are resolved here too, so that they are never run
+     * off the thread that set them.<br>
+     * Must be called on the thread that sets the global values
+     */
+    public void captureGlobalValues() {
+        for (LazyVariable variable : MolangParser.VARIABLES.values()) {
+            if (!isSet(variable.getSlot()))
+                set(variable.getSlot(), variable.getGlobalValue());
+        }
+    }
+
+    /**
+     * Whether the variable in the given slot has been set for the current evaluation.<br>
+     * Resolves the variable's {@link #setLazy lazy} query if it has one that hasn't been read yet
+     */
+    public boolean isSet(int slot) {
+        if (slot < 0 || slot >= this.stamps.length)
+            return false;
+
+        if (this.stamps[slot] == this.generation)
+            return true;
+
+        if (this.queryStamps[slot] != this.generation)
+            return false;
+
+        set(slot, resolve(this.queries[slot]));
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> double resolve(Query<T> query) {
+        return query.get((T) this.subject, this.subjectTime);
+    }
+
+    /**
+     * Get the value of the variable in the given slot.<br>
+     * Only valid if {@link #isSet(int)} returns true for the slot
+     */
+    public double get(int slot) {
+        return this.values[slot];
+    }
+
+    /**
+     * A value computed from the subject of an evaluation the first time it is read
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+
+        double get(T subject, double animTime);
+    }
+}
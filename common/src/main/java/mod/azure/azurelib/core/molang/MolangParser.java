@@ -10,7 +10,9 @@ package mod.azure.azurelib.core.molang;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import mod.azure.azurelib.core.math.CompiledExpression;
 import mod.azure.azurelib.core.math.Constant;
+import mod.azure.azurelib.core.math.ExpressionCompiler;
 import mod.azure.azurelib.core.math.IValue;
 import mod.azure.azurelib.core.math.MathBuilder;
 import mod.azure.azurelib.core.math.Variable;
@@ -22,6 +24,7 @@ import mod.azure.azurelib.core.molang.functions.SinDegrees;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.DoubleSupplier;
 
 /**
@@ -40,8 +43,12 @@ public class MolangParser extends MathBuilder {
 
     public static final String RETURN = "return ";
 
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
     public static final MolangParser INSTANCE = new MolangParser();
 
+    private boolean compileExpressions = true;
+
     private MolangParser() {
         super();
 
@@ -83,7 +90,7 @@ public class MolangParser extends MathBuilder {
 
             if (!trimmed.isEmpty()) {
                 if (result == null) {
-                    result = new MolangCompoundValue(parseOneLine(trimmed, result));
+                    result = new MolangCompoundValue(parseOneLine(trimmed, result), expression);
 
                     continue;
                 }
@@ -107,7 +114,9 @@ public class MolangParser extends MathBuilder {
     ) throws MolangException {
         if (expression.startsWith(RETURN)) {
             try {
-                return new MolangValue(INSTANCE.parse(expression.substring(RETURN.length())), true);
+                IValue value = INSTANCE.parse(expression.substring(RETURN.length()));
+
+                return new MolangValue(INSTANCE.compile(value), true);
             } catch (Exception e) {
                 throw new MolangException("Couldn't parse return '" + expression + "' expression!");
             }
@@ -124,7 +133,7 @@ public class MolangParser extends MathBuilder {
                 LazyVariable variable;
 
                 if (!VARIABLES.containsKey(name) && !currentStatement.locals.containsKey(name)) {
-                    currentStatement.locals.put(name, (variable = new LazyVariable(name, 0)));
+                    currentStatement.locals.put(name, (variable = assignSlot(new LazyVariable(name, 0))));
                 } else {
                     variable = INSTANCE.getVariable(name, currentStatement);
                 }
@@ -197,7 +206,24 @@ public class MolangParser extends MathBuilder {
         if (!(variable instanceof LazyVariable))
             variable = LazyVariable.from(variable);
 
-        VARIABLES.put(variable.getName(), (LazyVariable) variable);
+        VARIABLES.put(variable.getName(), assignSlot((LazyVariable) variable));
+    }
+
+    /**
+     * Get the number of {@link MolangContext} slots assigned so far
+     */
+    public static int getSlotCount() {
+        return NEXT_SLOT.get();
+    }
+
+    /**
+     * Assign a {@link MolangContext} slot to the given variable if it doesn't already have one
+     */
+    private static LazyVariable assignSlot(LazyVariable variable) {
+        if (variable.getSlot() < 0)
+            variable.setSlot(NEXT_SLOT.getAndIncrement());
+
+        return variable;
     }
 
     /**
@@ -209,7 +235,10 @@ public class MolangParser extends MathBuilder {
 
     /**
      * Set the value supplier for a variable.<br>
-     * Consider using {@link MolangParser#setMemoizedValue} instead of you don't need per-call dynamic results
+     * Consider using {@link MolangParser#setMemoizedValue} instead of you don't need per-call dynamic results<br>
+     * This sets the global value of the variable, which is only used where no {@link MolangContext} value has been set.
+     * Per-animatable values should be set on the {@code MolangContext} passed to
+     * {@code CoreGeoModel#applyMolangQueries} instead
      *
      * @param name  The name of the variable to set the value for
      * @param value The value supplier to set
@@ -252,7 +281,7 @@ public class MolangParser extends MathBuilder {
      */
     @Override
     public LazyVariable getVariable(String name) {
-        return VARIABLES.computeIfAbsent(name, key -> new LazyVariable(key, 0));
+        return VARIABLES.computeIfAbsent(name, key -> assignSlot(new LazyVariable(key, 0)));
     }
 
     public LazyVariable getVariable(String name, MolangCompoundValue currentStatement) {
@@ -268,12 +297,28 @@ public class MolangParser extends MathBuilder {
         return getVariable(name);
     }
 
+    /**
+     * Set whether parsed expressions should be optimised by the {@link ExpressionCompiler}.<br>
+     * Constant subtrees are folded either way
+     */
+    public void setCompileExpressions(boolean compileExpressions) {
+        this.compileExpressions = compileExpressions;
+    }
+
+    /**
+     * Optimise a parsed expression, folding its constant subtrees and flattening it into a {@link CompiledExpression}
+     * if {@link #setCompileExpressions compilation} is enabled
+     */
+    public IValue compile(IValue value) {
+        return this.compileExpressions ? ExpressionCompiler.compile(value) : ExpressionCompiler.fold(value);
+    }
+
     /**
      * Wrapper around {@link #parseSymbols(List)} to throw {@link MolangException}
      */
     private IValue parseSymbolsMolang(List<Object> symbols) throws MolangException {
         try {
-            return this.parseSymbols(symbols);
+            return compile(this.parseSymbols(symbols));
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -10,6 +10,7 @@ package mod.azure.azurelib.core.molang.expressions;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import mod.azure.azurelib.core.molang.LazyVariable;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
@@ -24,10 +25,25 @@ public class MolangCompoundValue extends MolangValue {
 
     public final Map<String, LazyVariable> locals = new Object2ObjectOpenHashMap<>();
 
+    private final String source;
+
     public MolangCompoundValue(MolangValue baseValue) {
+        this(baseValue, null);
+    }
+
+    public MolangCompoundValue(MolangValue baseValue, @Nullable String source) {
         super(baseValue);
 
         this.values.add(baseValue);
+        this.source = source;
+    }
+
+    /**
+     * Get the expression this value was parsed from, or null if it was built by hand
+     */
+    @Nullable
+    public String getSource() {
+        return this.source;
     }
 
     @Override
@@ -9,9 +9,14 @@ package mod.azure.azurelib.core.molang.expressions;
 
 import mod.azure.azurelib.core.math.IValue;
 import mod.azure.azurelib.core.math.Variable;
+import mod.azure.azurelib.core.molang.LazyVariable;
+import mod.azure.azurelib.core.molang.MolangContext;
 
 /**
  * Extension of {@link MolangValue} that additionally sets the value of a provided {@link Variable} when being called.
+ * <br>
+ * The value is written to the bound {@link MolangContext} where possible, so that assignments stay local to the current
+ * evaluation
  */
 public class MolangVariableHolder extends MolangValue {
 
@@ -26,8 +31,13 @@ public class MolangVariableHolder extends MolangValue {
     @Override
     public double get() {
         double value = super.get();
+        MolangContext context = MolangContext.current();
 
-        this.variable.set(value);
+        if (context != null && this.variable instanceof LazyVariable lazyVariable && lazyVariable.getSlot() >= 0) {
+            context.set(lazyVariable.getSlot(), value);
+        } else {
+            this.variable.set(value);
+        }
 
         return value;
     }
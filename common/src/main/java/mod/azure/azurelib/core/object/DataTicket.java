@@ -9,19 +9,40 @@ package mod.azure.azurelib.core.object;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Ticket object to define a typed data object
+ * Ticket object to define a typed data object.<br>
+ * Each distinct id and type pair is interned to a dense {@link #ordinal() ordinal} on construction, which
+ * {@link DataTicketStore} uses to address ticket data without hashing
  */
 public class DataTicket<D> {
 
+    private static final Map<Key, Integer> ORDINALS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+
     private final String id;
 
     private final Class<? extends D> objectType;
 
+    private final int ordinal;
+
+    private final int hashCode;
+
     public DataTicket(String id, Class<? extends D> objectType) {
         this.id = id;
         this.objectType = objectType;
+        this.ordinal = ORDINALS.computeIfAbsent(new Key(id, objectType), key -> NEXT_ORDINAL.getAndIncrement());
+        this.hashCode = Objects.hash(this.id, this.objectType);
+    }
+
+    /**
+     * Get the number of ordinals assigned so far, which is one more than the highest ordinal of any ticket
+     */
+    public static int getOrdinalCount() {
+        return NEXT_ORDINAL.get();
     }
 
     public String id() {
@@ -32,9 +53,16 @@ public class DataTicket<D> {
         return this.objectType;
     }
 
+    /**
+     * Get the dense index of this ticket, shared by all tickets with the same id and type
+     */
+    public int ordinal() {
+        return this.ordinal;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(this.id, this.objectType);
+        return this.hashCode;
     }
 
     /**
@@ -46,4 +74,10 @@ public class DataTicket<D> {
     public <D> D getData(Map<? extends DataTicket<?>, ?> dataMap) {
         return (D) dataMap.get(this);
     }
+
+    private record Key(
+            String id,
+            Class<?> objectType
+    ) {
+    }
 }
@@ -0,0 +1,223 @@
+package mod.azure.azurelib.core.object;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Array-backed storage of {@link DataTicket} data, addressed by each ticket's {@link DataTicket#ordinal() ordinal}.<br>
+ * Lookups are a single array access with no hashing, and the store can be {@link #reset() reset} and reused rather
+ * than being reallocated
+ */
+public final class DataTicketStore {
+
+    private DataTicket<?>[] tickets = new DataTicket<?>[0];
+
+    private Object[] values = new Object[0];
+
+    /**
+     * One past the highest ordinal stored since the last reset
+     */
+    private int limit = 0;
+
+    private int size = 0;
+
+    private Map<DataTicket<?>, Object> mapView = null;
+
+    /**
+     * Get the data stored for the given ticket
+     *
+     * @return The stored data, or null if none has been stored since the last reset
+     */
+    @SuppressWarnings("unchecked")
+    public <D> D get(DataTicket<D> dataTicket) {
+        int ordinal = dataTicket.ordinal();
+
+        return ordinal < this.limit ? (D) this.values[ordinal] : null;
+    }
+
+    /**
+     * Store data for the given ticket, replacing any existing data for it
+     */
+    public <D> void set(DataTicket<D> dataTicket, D data) {
+        int ordinal = dataTicket.ordinal();
+
+        if (ordinal >= this.values.length) {
+            int length = Math.max(ordinal + 1, DataTicket.getOrdinalCount());
+
+            this.tickets = Arrays.copyOf(this.tickets, length);
+            this.values = Arrays.copyOf(this.values, length);
+        }
+
+        if (this.tickets[ordinal] == null)
+            this.size++;
+
+        this.tickets[ordinal] = dataTicket;
+        this.values[ordinal] = data;
+        this.limit = Math.max(this.limit, ordinal + 1);
+    }
+
+    /**
+     * Remove the data stored for the given ticket, if any
+     *
+     * @return The removed data, or null if none was stored
+     */
+    public <D> D remove(DataTicket<D> dataTicket) {
+        D data = get(dataTicket);
+        int ordinal = dataTicket.ordinal();
+
+        if (ordinal < this.limit && this.tickets[ordinal] != null) {
+            this.tickets[ordinal] = null;
+            this.values[ordinal] = null;
+            this.size--;
+        }
+
+        return data;
+    }
+
+    /**
+     * Remove all stored data, keeping the backing arrays for reuse
+     */
+    public void reset() {
+        Arrays.fill(this.tickets, 0, this.limit, null);
+        Arrays.fill(this.values, 0, this.limit, null);
+
+        this.limit = 0;
+        this.size = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Get a live map view of this store, keyed by ticket.<br>
+     * Changes to the map are written through to the store, and the map always reflects its current contents
+     */
+    public Map<DataTicket<?>, Object> asMap() {
+        if (this.mapView == null)
+            this.mapView = new MapView();
+
+        return this.mapView;
+    }
+
+    /**
+     * Copy the stored data into a new map keyed by ticket
+     */
+    public Map<DataTicket<?>, Object> toMap() {
+        Map<DataTicket<?>, Object> map = new Object2ObjectOpenHashMap<>();
+
+        for (int i = 0; i < this.limit; i++) {
+            if (this.tickets[i] != null)
+                map.put(this.tickets[i], this.values[i]);
+        }
+
+        return map;
+    }
+
+    private final class MapView extends AbstractMap<DataTicket<?>, Object> {
+
+        private final Set<Entry<DataTicket<?>, Object>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<DataTicket<?>, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return DataTicketStore.this.size;
+            }
+        };
+
+        @Override
+        public Set<Entry<DataTicket<?>, Object>> entrySet() {
+            return this.entries;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof DataTicket<?> ticket ? DataTicketStore.this.get(ticket) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof DataTicket<?> ticket))
+                return false;
+
+            int ordinal = ticket.ordinal();
+
+            return ordinal < DataTicketStore.this.limit && DataTicketStore.this.tickets[ordinal] != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object put(DataTicket<?> key, Object value) {
+            Object previous = DataTicketStore.this.get(key);
+
+            set((DataTicket<Object>) key, value);
+
+            return previous;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return key instanceof DataTicket<?> ticket ? DataTicketStore.this.remove(ticket) : null;
+        }
+
+        @Override
+        public void clear() {
+            reset();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<DataTicket<?>, Object>> {
+
+        private int next = 0;
+
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < DataTicketStore.this.limit && DataTicketStore.this.tickets[this.next] == null) {
+                this.next++;
+            }
+
+            return this.next < DataTicketStore.this.limit;
+        }
+
+        @Override
+        public Map.Entry<DataTicket<?>, Object> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            int index = this.last = this.next++;
+            DataTicket<?> ticket = DataTicketStore.this.tickets[index];
+
+            return new AbstractMap.SimpleEntry<>(ticket, DataTicketStore.this.values[index]) {
+                @Override
+                public Object setValue(Object value) {
+                    DataTicketStore.this.values[index] = value;
+
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0)
+                throw new IllegalStateException();
+
+            DataTicketStore.this.tickets[this.last] = null;
+            DataTicketStore.this.values[this.last] = null;
+            DataTicketStore.this.size--;
+            this.last = -1;
+        }
+    }
+}
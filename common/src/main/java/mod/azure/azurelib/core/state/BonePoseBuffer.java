@@ -0,0 +1,382 @@
+package mod.azure.azurelib.core.state;
+
+import mod.azure.azurelib.core.animatable.model.CoreBakedGeoModel;
+import mod.azure.azurelib.core.animatable.model.CoreGeoBone;
+import mod.azure.azurelib.core.animation.AnimatableManager;
+import mod.azure.azurelib.core.animation.AnimationProcessor;
+
+import java.util.List;
+
+/**
+ * Per-instance storage of the animated pose of a model.<br>
+ * Each {@link AnimatableManager} owns one of these, and the {@link AnimationProcessor} writes its results here instead
+ * of into the shared {@link CoreGeoBone} objects of the baked model. The pose is then copied onto the bones only when
+ * the instance is about to be rendered.<br>
+ * Values are stored in a flat float array indexed by bone ordinal, where the ordinal is the bone's registration order
+ * in the {@code AnimationProcessor}.<br>
+ * Channels that a renderer has already changed on a bone before the pose is computed, such as the base model
+ * transformations of armor, are left alone unless an animation actually animated them.
+ */
+public final class BonePoseBuffer {
+
+    public static final int STRIDE = 9;
+
+    private static final int ROT_X = 0;
+
+    private static final int ROT_Y = 1;
+
+    private static final int ROT_Z = 2;
+
+    private static final int POS_X = 3;
+
+    private static final int POS_Y = 4;
+
+    private static final int POS_Z = 5;
+
+    private static final int SCALE_X = 6;
+
+    private static final int SCALE_Y = 7;
+
+    private static final int SCALE_Z = 8;
+
+    private static final byte ROTATION_CHANGED = 1;
+
+    private static final byte POSITION_CHANGED = 1 << 1;
+
+    private static final byte SCALE_CHANGED = 1 << 2;
+
+    private float[] values = new float[0];
+
+    private float[] previousValues = new float[0];
+
+    private byte[] changes = new byte[0];
+
+    private byte[] settled = new byte[0];
+
+    private byte[] animated = new byte[0];
+
+    private byte[] preChanged = new byte[0];
+
+    private int boneCount = 0;
+
+    private CoreBakedGeoModel model = null;
+
+    private boolean populated = false;
+
+    private double poseTime = 0;
+
+    private float interpolation = 1;
+
+    /**
+     * Lay this buffer out for the given model, resetting every bone to its initial snapshot if the model has changed
+     * since the last call
+     *
+     * @param model The model currently active in the {@code AnimationProcessor}
+     * @param bones The registered bones of the model, in ordinal order
+     */
+    public void prepare(CoreBakedGeoModel model, List<? extends CoreGeoBone> bones) {
+        if (this.model == model && this.boneCount == bones.size())
+            return;
+
+        this.model = model;
+        this.boneCount = bones.size();
+        this.populated = false;
+        this.interpolation = 1;
+
+        if (this.values.length < this.boneCount * STRIDE) {
+            this.values = new float[this.boneCount * STRIDE];
+            this.previousValues = new float[this.boneCount * STRIDE];
+            this.changes = new byte[this.boneCount];
+            this.settled = new byte[this.boneCount];
+            this.animated = new byte[this.boneCount];
+            this.preChanged = new byte[this.boneCount];
+        }
+
+        for (int i = 0; i < this.boneCount; i++) {
+            BoneSnapshot initialSnapshot = bones.get(i).getInitialSnapshot();
+
+            setRotation(i, initialSnapshot.getRotX(), initialSnapshot.getRotY(), initialSnapshot.getRotZ());
+            setPosition(i, initialSnapshot.getOffsetX(), initialSnapshot.getOffsetY(), initialSnapshot.getOffsetZ());
+            setScale(i, initialSnapshot.getScaleX(), initialSnapshot.getScaleY(), initialSnapshot.getScaleZ());
+        }
+
+        storePrevious();
+        resetStateChanges();
+        captureAnimatedChannels();
+    }
+
+    /**
+     * Copy the stored pose onto the given bones, ready for rendering.<br>
+     * A channel the bone has already been marked as changed for is only overwritten if an animation controller
+     * animated it in the last pass, otherwise the bone's own value is kept.<br>
+     * If an {@link #setInterpolation interpolation} factor below 1 has been set, the applied pose is blended between
+     * the {@link #storePrevious() previous} pose and the current one
+     *
+     * @param bones The registered bones of the model, in ordinal order
+     */
+    public void applyTo(List<? extends CoreGeoBone> bones) {
+        int count = Math.min(this.boneCount, bones.size());
+
+        for (int i = 0; i < count; i++) {
+            CoreGeoBone bone = bones.get(i);
+            int offset = i * STRIDE;
+
+            if (isRotationAnimated(i) || !bone.hasRotationChanged())
+                bone.updateRotation(getValue(offset + ROT_X), getValue(offset + ROT_Y), getValue(offset + ROT_Z));
+
+            if (isPositionAnimated(i) || !bone.hasPositionChanged())
+                bone.updatePosition(getValue(offset + POS_X), getValue(offset + POS_Y), getValue(offset + POS_Z));
+
+            if (isScaleAnimated(i) || !bone.hasScaleChanged())
+                bone.updateScale(
+                        getValue(offset + SCALE_X),
+                        getValue(offset + SCALE_Y),
+                        getValue(offset + SCALE_Z)
+                );
+        }
+    }
+
+    private float getValue(int index) {
+        return this.interpolation < 1 ? lerp(index) : this.values[index];
+    }
+
+    private float lerp(int index) {
+        float previous = this.previousValues[index];
+
+        return previous + (this.values[index] - previous) * this.interpolation;
+    }
+
+    /**
+     * Keep a copy of the current pose to interpolate from, before a new pose is computed into this buffer
+     */
+    public void storePrevious() {
+        System.arraycopy(this.values, 0, this.previousValues, 0, this.boneCount * STRIDE);
+    }
+
+    /**
+     * Set how far between the {@link #storePrevious() previous} pose and the current pose the applied pose should be
+     *
+     * @param interpolation The blend factor, where 0 is the previous pose and 1 (the default) is the current pose
+     */
+    public void setInterpolation(float interpolation) {
+        this.interpolation = Math.max(0, Math.min(interpolation, 1));
+    }
+
+    /**
+     * Get the animation time that the current pose was computed for
+     */
+    public double getPoseTime() {
+        return this.poseTime;
+    }
+
+    public void setPoseTime(double poseTime) {
+        this.poseTime = poseTime;
+    }
+
+    /**
+     * Whether this buffer holds a completed pose for the model it was last prepared for
+     */
+    public boolean isPopulated() {
+        return this.populated;
+    }
+
+    /**
+     * Mark this buffer as holding a completed pose
+     */
+    public void markPopulated() {
+        this.populated = true;
+    }
+
+    public CoreBakedGeoModel getModel() {
+        return this.model;
+    }
+
+    public int getBoneCount() {
+        return this.boneCount;
+    }
+
+    public void setRotation(int bone, float x, float y, float z) {
+        int offset = bone * STRIDE;
+
+        this.values[offset + ROT_X] = x;
+        this.values[offset + ROT_Y] = y;
+        this.values[offset + ROT_Z] = z;
+        this.changes[bone] |= ROTATION_CHANGED;
+        this.settled[bone] &= ~ROTATION_CHANGED;
+    }
+
+    public void setPosition(int bone, float x, float y, float z) {
+        int offset = bone * STRIDE;
+
+        this.values[offset + POS_X] = x;
+        this.values[offset + POS_Y] = y;
+        this.values[offset + POS_Z] = z;
+        this.changes[bone] |= POSITION_CHANGED;
+        this.settled[bone] &= ~POSITION_CHANGED;
+    }
+
+    public void setScale(int bone, float x, float y, float z) {
+        int offset = bone * STRIDE;
+
+        this.values[offset + SCALE_X] = x;
+        this.values[offset + SCALE_Y] = y;
+        this.values[offset + SCALE_Z] = z;
+        this.changes[bone] |= SCALE_CHANGED;
+        this.settled[bone] &= ~SCALE_CHANGED;
+    }
+
+    public float getRotX(int bone) {
+        return this.values[bone * STRIDE + ROT_X];
+    }
+
+    public float getRotY(int bone) {
+        return this.values[bone * STRIDE + ROT_Y];
+    }
+
+    public float getRotZ(int bone) {
+        return this.values[bone * STRIDE + ROT_Z];
+    }
+
+    public float getPosX(int bone) {
+        return this.values[bone * STRIDE + POS_X];
+    }
+
+    public float getPosY(int bone) {
+        return this.values[bone * STRIDE + POS_Y];
+    }
+
+    public float getPosZ(int bone) {
+        return this.values[bone * STRIDE + POS_Z];
+    }
+
+    public float getScaleX(int bone) {
+        return this.values[bone * STRIDE + SCALE_X];
+    }
+
+    public float getScaleY(int bone) {
+        return this.values[bone * STRIDE + SCALE_Y];
+    }
+
+    public float getScaleZ(int bone) {
+        return this.values[bone * STRIDE + SCALE_Z];
+    }
+
+    public boolean hasRotationChanged(int bone) {
+        return (this.changes[bone] & ROTATION_CHANGED) != 0;
+    }
+
+    public boolean hasPositionChanged(int bone) {
+        return (this.changes[bone] & POSITION_CHANGED) != 0;
+    }
+
+    public boolean hasScaleChanged(int bone) {
+        return (this.changes[bone] & SCALE_CHANGED) != 0;
+    }
+
+    /**
+     * Whether the bone's rotation has fully returned to its resting value and hasn't been animated since
+     */
+    public boolean isRotationSettled(int bone) {
+        return (this.settled[bone] & ROTATION_CHANGED) != 0;
+    }
+
+    public boolean isPositionSettled(int bone) {
+        return (this.settled[bone] & POSITION_CHANGED) != 0;
+    }
+
+    public boolean isScaleSettled(int bone) {
+        return (this.settled[bone] & SCALE_CHANGED) != 0;
+    }
+
+    /**
+     * Mark the bone's rotation as having fully returned to its resting value.<br>
+     * The mark is cleared the next time the rotation is set
+     */
+    public void markRotationSettled(int bone) {
+        this.settled[bone] |= ROTATION_CHANGED;
+    }
+
+    public void markPositionSettled(int bone) {
+        this.settled[bone] |= POSITION_CHANGED;
+    }
+
+    public void markScaleSettled(int bone) {
+        this.settled[bone] |= SCALE_CHANGED;
+    }
+
+    /**
+     * Whether an animation controller set the bone's rotation in the last animation pass, as opposed to it only easing
+     * back to rest
+     */
+    public boolean isRotationAnimated(int bone) {
+        return (this.animated[bone] & ROTATION_CHANGED) != 0;
+    }
+
+    public boolean isPositionAnimated(int bone) {
+        return (this.animated[bone] & POSITION_CHANGED) != 0;
+    }
+
+    public boolean isScaleAnimated(int bone) {
+        return (this.animated[bone] & SCALE_CHANGED) != 0;
+    }
+
+    /**
+     * Remember which channels a renderer had already changed on each bone before this animation pass, so that they
+     * aren't eased back to rest underneath the renderer's values.<br>
+     * Must be called before any animation controller has changed this pass's pose
+     *
+     * @param bones The registered bones of the model, in ordinal order
+     */
+    public void capturePreChangedChannels(List<? extends CoreGeoBone> bones) {
+        int count = Math.min(this.boneCount, bones.size());
+
+        for (int i = 0; i < count; i++) {
+            CoreGeoBone bone = bones.get(i);
+            byte channels = 0;
+
+            if (bone.hasRotationChanged())
+                channels |= ROTATION_CHANGED;
+
+            if (bone.hasPositionChanged())
+                channels |= POSITION_CHANGED;
+
+            if (bone.hasScaleChanged())
+                channels |= SCALE_CHANGED;
+
+            this.preChanged[i] = channels;
+        }
+    }
+
+    /**
+     * Whether a renderer had already changed the bone's rotation before this animation pass
+     */
+    public boolean isRotationPreChanged(int bone) {
+        return (this.preChanged[bone] & ROTATION_CHANGED) != 0;
+    }
+
+    public boolean isPositionPreChanged(int bone) {
+        return (this.preChanged[bone] & POSITION_CHANGED) != 0;
+    }
+
+    public boolean isScalePreChanged(int bone) {
+        return (this.preChanged[bone] & SCALE_CHANGED) != 0;
+    }
+
+    /**
+     * Remember the channels changed so far in this animation pass as the animated ones.<br>
+     * Called once every animation controller has been processed, before un-animated bones are eased back to rest
+     */
+    public void captureAnimatedChannels() {
+        System.arraycopy(this.changes, 0, this.animated, 0, this.boneCount);
+    }
+
+    /**
+     * Reset the transformation markers for every bone, ready for the next animation pass
+     */
+    public void resetStateChanges() {
+        for (int i = 0; i < this.boneCount; i++) {
+            this.changes[i] = 0;
+            this.preChanged[i] = 0;
+        }
+    }
+}
@@ -9,6 +9,8 @@ package mod.azure.azurelib.sblforked.api.core;
 import com.google.common.collect.ImmutableList;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
@@ -54,6 +56,12 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 
 	private boolean sortBehaviours = false;
 
+	private boolean behaviourIndexOutdated = true;
+	private Set<Activity> indexedActivities = Set.of();
+	private List<BehaviorControl<? super E>> indexedBehaviours = List.of();
+	private IntList activeBehaviourIndices = IntList.of();
+	private BitSet runningBehaviourIndices = new BitSet();
+
 	public SmartBrain(List<MemoryModuleType<?>> memories, List<? extends ExtendedSensor<E>> sensors, @Nullable List<BrainActivityGroup<E>> taskList) {
 		super(memories, ImmutableList.of(), ImmutableList.of(), SmartBrain::emptyBrainCodec);
 
@@ -72,9 +80,13 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 	public void tick(ServerLevel level, E entity) {
 		entity.level().getProfiler().push("SmartBrain");
 
-		if (this.sortBehaviours)
+		if (this.sortBehaviours) {
 			this.behaviours.sort(Comparator.comparingInt(ActivityBehaviours::priority));
 
+			this.sortBehaviours = false;
+			this.behaviourIndexOutdated = true;
+		}
+
 		forgetOutdatedMemories();
 		tickSensors(level, entity);
 		checkForNewBehaviours(level, entity);
@@ -110,29 +122,80 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 	private void checkForNewBehaviours(ServerLevel level, E entity) {
 		long gameTime = level.getGameTime();
 
-		for (ActivityBehaviours<E> behaviourGroup : this.behaviours) {
-			for (Pair<Activity, List<BehaviorControl<? super E>>> pair : behaviourGroup.behaviours) {
-				if (getActiveActivities().contains(pair.getFirst())) {
-					for (BehaviorControl<? super E> behaviour : pair.getSecond()) {
-						if (behaviour.getStatus() == Behavior.Status.STOPPED)
-							behaviour.tryStart(level, entity, gameTime);
-					}
-				}
-			}
+		updateBehaviourIndex();
+
+		// Held locally, as starting a behaviour may add or remove others and cause the index to be rebuilt
+		List<BehaviorControl<? super E>> behaviours = this.indexedBehaviours;
+		IntList activeIndices = this.activeBehaviourIndices;
+		BitSet runningIndices = this.runningBehaviourIndices;
+
+		for (int i = 0; i < activeIndices.size(); i++) {
+			int index = activeIndices.getInt(i);
+			BehaviorControl<? super E> behaviour = behaviours.get(index);
+
+			if (behaviour.getStatus() == Behavior.Status.STOPPED && behaviour.tryStart(level, entity, gameTime))
+				runningIndices.set(index);
 		}
 	}
 
 	private void tickRunningBehaviours(ServerLevel level, E entity) {
 		long gameTime = level.getGameTime();
 
+		updateBehaviourIndex();
+
+		List<BehaviorControl<? super E>> behaviours = this.indexedBehaviours;
+		BitSet runningIndices = this.runningBehaviourIndices;
+
+		for (int index = runningIndices.nextSetBit(0); index >= 0; index = runningIndices.nextSetBit(index + 1)) {
+			BehaviorControl<? super E> behaviour = behaviours.get(index);
+
+			if (behaviour.getStatus() == Behavior.Status.RUNNING)
+				behaviour.tickOrStop(level, entity, gameTime);
+
+			if (behaviour.getStatus() != Behavior.Status.RUNNING)
+				runningIndices.clear(index);
+		}
+	}
+
+	/**
+	 * Rebuild the behaviour index if the registered behaviours or the active activities have changed since it was last built.<br>
+	 * The index holds every behaviour in priority order, along with the positions of the ones in an active activity and the ones currently running,
+	 * so that each tick only needs to touch those instead of every registered behaviour.<br>
+	 * Behaviours are expected to only be started by this brain, so any started elsewhere won't be ticked until the index is next rebuilt
+	 */
+	private void updateBehaviourIndex() {
+		Set<Activity> activeActivities = getActiveActivities();
+
+		if (!this.behaviourIndexOutdated && this.indexedActivities.equals(activeActivities))
+			return;
+
+		List<BehaviorControl<? super E>> behaviours = new ObjectArrayList<>();
+		IntList activeIndices = new IntArrayList();
+		BitSet runningIndices = new BitSet();
+
 		for (ActivityBehaviours<E> behaviourGroup : this.behaviours) {
 			for (Pair<Activity, List<BehaviorControl<? super E>>> pair : behaviourGroup.behaviours) {
+				boolean active = activeActivities.contains(pair.getFirst());
+
 				for (BehaviorControl<? super E> behaviour : pair.getSecond()) {
+					int index = behaviours.size();
+
+					behaviours.add(behaviour);
+
+					if (active)
+						activeIndices.add(index);
+
 					if (behaviour.getStatus() == Behavior.Status.RUNNING)
-						behaviour.tickOrStop(level, entity, gameTime);
+						runningIndices.set(index);
 				}
 			}
 		}
+
+		this.indexedBehaviours = behaviours;
+		this.activeBehaviourIndices = activeIndices;
+		this.runningBehaviourIndices = runningIndices;
+		this.indexedActivities = Set.copyOf(activeActivities);
+		this.behaviourIndexOutdated = false;
 	}
 
 	@Override
@@ -175,6 +238,8 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 				}
 			}
 		}
+
+		this.runningBehaviourIndices.clear();
 	}
 
 	@Override
@@ -236,13 +301,13 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 	public List<BehaviorControl<? super E>> getRunningBehaviors() {
 		List<BehaviorControl<? super E>> runningBehaviours = new ObjectArrayList<>();
 
-		for (ActivityBehaviours<E> behaviourGroup : this.behaviours) {
-			for (Pair<Activity, List<BehaviorControl<? super E>>> pair : behaviourGroup.behaviours) {
-				for (BehaviorControl<? super E> behaviour : pair.getSecond()) {
-					if (behaviour.getStatus() == Behavior.Status.RUNNING)
-						runningBehaviours.add(behaviour);
-				}
-			}
+		updateBehaviourIndex();
+
+		for (int index = this.runningBehaviourIndices.nextSetBit(0); index >= 0; index = this.runningBehaviourIndices.nextSetBit(index + 1)) {
+			BehaviorControl<? super E> behaviour = this.indexedBehaviours.get(index);
+
+			if (behaviour.getStatus() == Behavior.Status.RUNNING)
+				runningBehaviours.add(behaviour);
 		}
 
 		return runningBehaviours;
@@ -258,6 +323,8 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 	@Override
 	public void removeAllBehaviors() {
 		this.behaviours.clear();
+
+		this.behaviourIndexOutdated = true;
 	}
 
 	@Override
@@ -287,6 +354,8 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 	 * @param behaviour The behaviour instance
 	 */
 	public void addBehaviour(int priority, Activity activity, BehaviorControl<? super E> behaviour) {
+		this.behaviourIndexOutdated = true;
+
 		for (ActivityBehaviours<E> behaviourGroup : this.behaviours) {
 			if (behaviourGroup.priority == priority) {
 				for (Pair<Activity, List<BehaviorControl<? super E>>> pair : behaviourGroup.behaviours) {
@@ -314,6 +383,8 @@ public class SmartBrain<E extends LivingEntity & SmartBrainOwner<E>> extends Bra
 	 * @param predicate The predicate checked for each (priority, activity, behaviour)
 	 */
 	public void removeBehaviour(E entity, BrainBehaviourPredicate predicate) {
+		this.behaviourIndexOutdated = true;
+
 		for (ActivityBehaviours<E> behaviourGroup : this.behaviours) {
 			int priority = behaviourGroup.priority;
 
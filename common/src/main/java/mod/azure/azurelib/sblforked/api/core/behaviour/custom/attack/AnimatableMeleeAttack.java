@@ -17,6 +17,7 @@ import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.ai.memory.MemoryStatus;
 import mod.azure.azurelib.sblforked.api.core.behaviour.DelayedBehaviour;
 import mod.azure.azurelib.sblforked.util.BrainUtils;
+import mod.azure.azurelib.sblforked.util.SensoryUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -62,7 +63,7 @@ public class AnimatableMeleeAttack<E extends Mob> extends DelayedBehaviour<E> {
 	protected boolean checkExtraStartConditions(ServerLevel level, E entity) {
 		this.target = BrainUtils.getTargetOfEntity(entity);
 
-		return entity.getSensing().hasLineOfSight(this.target) && entity.isWithinMeleeAttackRange(this.target);
+		return SensoryUtils.hasLineOfSight(entity, this.target) && entity.isWithinMeleeAttackRange(this.target);
 	}
 
 	@Override
@@ -83,7 +84,7 @@ public class AnimatableMeleeAttack<E extends Mob> extends DelayedBehaviour<E> {
 		if (this.target == null)
 			return;
 
-		if (!entity.getSensing().hasLineOfSight(this.target) || !entity.isWithinMeleeAttackRange(this.target))
+		if (!SensoryUtils.hasLineOfSight(entity, this.target) || !entity.isWithinMeleeAttackRange(this.target))
 			return;
 
 		entity.doHurtTarget(this.target);
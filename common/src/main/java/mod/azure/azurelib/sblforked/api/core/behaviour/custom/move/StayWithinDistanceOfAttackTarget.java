@@ -20,6 +20,7 @@ import net.minecraft.world.entity.ai.util.DefaultRandomPos;
 import net.minecraft.world.phys.Vec3;
 import mod.azure.azurelib.sblforked.api.core.behaviour.ExtendedBehaviour;
 import mod.azure.azurelib.sblforked.util.BrainUtils;
+import mod.azure.azurelib.sblforked.util.SensoryUtils;
 
 import java.util.List;
 import java.util.function.BiFunction;
@@ -127,7 +128,7 @@ public class StayWithinDistanceOfAttackTarget<E extends PathfinderMob> extends E
 		double minDistSq = Math.pow(this.distMin.apply(entity, target), 2);
 		PathNavigation navigation = entity.getNavigation();
 
-		if (distanceToTarget > maxDistSq || !entity.hasLineOfSight(target)) {
+		if (distanceToTarget > maxDistSq || !SensoryUtils.hasLineOfSight(entity, target)) {
 			if (navigation.isDone())
 				navigation.moveTo(target, this.repositionSpeedMod);
 
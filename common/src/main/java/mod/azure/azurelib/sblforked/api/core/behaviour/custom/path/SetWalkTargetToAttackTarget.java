@@ -18,6 +18,7 @@ import net.minecraft.world.entity.ai.memory.MemoryStatus;
 import net.minecraft.world.entity.ai.memory.WalkTarget;
 import mod.azure.azurelib.sblforked.api.core.behaviour.ExtendedBehaviour;
 import mod.azure.azurelib.sblforked.util.BrainUtils;
+import mod.azure.azurelib.sblforked.util.SensoryUtils;
 
 import java.util.List;
 import java.util.function.BiFunction;
@@ -77,7 +78,7 @@ public class SetWalkTargetToAttackTarget<E extends Mob> extends ExtendedBehaviou
 		Brain<?> brain = entity.getBrain();
 		LivingEntity target = BrainUtils.getTargetOfEntity(entity);
 
-		if (entity.getSensing().hasLineOfSight(target) && BehaviorUtils.isWithinAttackRange(entity, target, 1)) {
+		if (SensoryUtils.hasLineOfSight(entity, target) && BehaviorUtils.isWithinAttackRange(entity, target, 1)) {
 			BrainUtils.clearMemory(brain, MemoryModuleType.WALK_TARGET);
 		}
 		else {
@@ -35,7 +35,8 @@ public abstract class ExtendedSensor<E extends LivingEntity> extends Sensor<E> {
 
 	/**
 	 * Set the scan rate provider for this sensor. <br>
-	 * The provider will be sampled every time the sensor does a scan.
+	 * The provider will be sampled every time the sensor does a scan.<br>
+	 * Scans are staggered between entities by the {@link SensorScheduler}, and are further apart while the server is under load.
 	 *
 	 * @param function The function to provide the tick rate
 	 * @return this
@@ -58,7 +59,7 @@ public abstract class ExtendedSensor<E extends LivingEntity> extends Sensor<E> {
 	@Override
 	public final void tick(ServerLevel level, E entity) {
 		if (nextTickTime < level.getGameTime()) {
-			nextTickTime = level.getGameTime() + scanRate.apply(entity);
+			nextTickTime = SensorScheduler.getNextScanTime(level, entity, this, scanRate.apply(entity));
 
 			doTick(level, entity);
 			this.scanCallback.accept(entity);
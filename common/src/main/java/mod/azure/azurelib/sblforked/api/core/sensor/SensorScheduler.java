@@ -0,0 +1,70 @@
+package mod.azure.azurelib.sblforked.api.core.sensor;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+
+/**
+ * Level-wide scheduling for {@link ExtendedSensor} scans.<br>
+ * Each entity and sensor pair is hashed to a fixed phase within its scan interval, and always scans on that phase. This
+ * spreads the scans of entities that spawned together, such as a raid wave or a spawner burst, evenly across the
+ * interval instead of having them all scan on the same tick.<br>
+ * While the server's average tick time is over the {@code sensorTickBudget} in the AzureLib config, scan intervals are
+ * stretched in proportion to how far over budget it is, up to {@code sensorMaxBackoff} times their usual length
+ */
+public final class SensorScheduler {
+	private static final long NANOS_PER_MILLI = 1_000_000L;
+
+	private static int loadFactorTick = -1;
+	private static float loadFactor = 1;
+
+	private SensorScheduler() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Get the game time after which the given sensor should next scan for the given entity
+	 *
+	 * @param level    The level the entity is in
+	 * @param entity   The owner of the brain
+	 * @param sensor   The sensor that just scanned
+	 * @param scanRate The sensor's requested interval between scans, in ticks
+	 * @return The game time of the tick before the next scan
+	 */
+	public static long getNextScanTime(ServerLevel level, LivingEntity entity, ExtendedSensor<?> sensor, int scanRate) {
+		long gameTime = level.getGameTime();
+		int interval = Math.max(1, Mth.ceil(scanRate * getLoadFactor(level.getServer())));
+		int phase = Math.floorMod(HashCommon.mix(entity.getUUID().hashCode() ^ sensor.getClass().hashCode()), interval);
+
+		return gameTime + interval - Math.floorMod(gameTime + phase, interval);
+	}
+
+	/**
+	 * Get how many times longer than requested sensor scan intervals currently are, based on the server's load.<br>
+	 * Calculated once per server tick
+	 */
+	public static float getLoadFactor(MinecraftServer server) {
+		if (server.getTickCount() != loadFactorTick) {
+			loadFactorTick = server.getTickCount();
+			loadFactor = calculateLoadFactor(server);
+		}
+
+		return loadFactor;
+	}
+
+	private static float calculateLoadFactor(MinecraftServer server) {
+		if (AzureLibMod.config == null || AzureLibMod.config.sensorTickBudget <= 0)
+			return 1;
+
+		long budget = AzureLibMod.config.sensorTickBudget * NANOS_PER_MILLI;
+		long tickTime = server.getAverageTickTimeNanos();
+
+		if (tickTime <= budget)
+			return 1;
+
+		return (float)Math.min(AzureLibMod.config.sensorMaxBackoff, tickTime / (double)budget);
+	}
+}
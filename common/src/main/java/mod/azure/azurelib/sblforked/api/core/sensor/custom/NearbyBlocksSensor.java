@@ -7,24 +7,36 @@
 package mod.azure.azurelib.sblforked.api.core.sensor.custom;
 
 import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanMap;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.ai.sensing.SensorType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import mod.azure.azurelib.sblforked.api.core.sensor.ExtendedSensor;
 import mod.azure.azurelib.sblforked.api.core.sensor.PredicateSensor;
 import mod.azure.azurelib.sblforked.object.SquareRadius;
 import mod.azure.azurelib.sblforked.registry.SBLMemoryTypes;
 import mod.azure.azurelib.sblforked.registry.SBLSensors;
+import mod.azure.azurelib.sblforked.util.BlockChangeTracker;
 import mod.azure.azurelib.sblforked.util.BrainUtils;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Sensor for identifying and memorising nearby blocks using the {@link SBLMemoryTypes#NEARBY_BLOCKS} memory module. <br>
+ * The area is scanned one chunk section at a time, skipping any section whose palette has no state matching the predicate, as well as any section in a chunk that isn't loaded.<br>
+ * Found blocks are ordered by chunk section, then by position within each section.<br>
  * Defaults:
  * <ul>
  *     <li>1-block radius</li>
@@ -35,6 +47,12 @@ public class NearbyBlocksSensor<E extends LivingEntity> extends PredicateSensor<
 	private static final List<MemoryModuleType<?>> MEMORIES = ObjectArrayList.of(SBLMemoryTypes.NEARBY_BLOCKS.get());
 
 	protected SquareRadius radius = new SquareRadius(1, 1);
+	protected boolean incremental = false;
+
+	protected Long2ObjectMap<SectionScan> sectionScans = new Long2ObjectOpenHashMap<>();
+	protected long lastScanTime = 0;
+	@Nullable
+	protected List<Pair<BlockPos, BlockState>> lastBlocks = null;
 
 	public NearbyBlocksSensor() {
 		setPredicate((state, entity) -> !state.isAir());
@@ -71,15 +89,67 @@ public class NearbyBlocksSensor<E extends LivingEntity> extends PredicateSensor<
 		return this;
 	}
 
+	/**
+	 * Only rescan the chunk sections that have had blocks change in them since the last scan, reusing the blocks found in the rest.<br>
+	 * Only use this if the predicate depends solely on the block state, as found blocks are otherwise only updated when blocks change around them
+	 * @return this
+	 */
+	public NearbyBlocksSensor<E> incremental() {
+		this.incremental = true;
+
+		return this;
+	}
+
 	@Override
 	protected void doTick(ServerLevel level, E entity) {
+		BlockPos min = entity.blockPosition().subtract(this.radius.toVec3i());
+		BlockPos max = entity.blockPosition().offset(this.radius.toVec3i());
+		Reference2BooleanMap<BlockState> matchingStates = new Reference2BooleanOpenHashMap<>();
+		Predicate<BlockState> matcher = state -> matchingStates.computeIfAbsent(state, (Predicate<BlockState>)key -> predicate().test(key, entity));
+		Long2ObjectMap<SectionScan> scans = this.incremental ? new Long2ObjectOpenHashMap<>() : null;
 		List<Pair<BlockPos, BlockState>> blocks = new ObjectArrayList<>();
+		boolean unchanged = this.lastBlocks != null;
+		int minSectionY = Math.max(level.getMinSection(), SectionPos.blockToSectionCoord(min.getY()));
+		int maxSectionY = Math.min(level.getMaxSection() - 1, SectionPos.blockToSectionCoord(max.getY()));
 
-		for (BlockPos pos : BlockPos.betweenClosed(entity.blockPosition().subtract(this.radius.toVec3i()), entity.blockPosition().offset(this.radius.toVec3i()))) {
-			BlockState state = level.getBlockState(pos);
+		for (int sectionZ = SectionPos.blockToSectionCoord(min.getZ()); sectionZ <= SectionPos.blockToSectionCoord(max.getZ()); sectionZ++) {
+			for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+				for (int sectionX = SectionPos.blockToSectionCoord(min.getX()); sectionX <= SectionPos.blockToSectionCoord(max.getX()); sectionX++) {
+					long sectionKey = SectionPos.asLong(sectionX, sectionY, sectionZ);
+					BlockPos scanMin = new BlockPos(
+							Math.max(min.getX(), SectionPos.sectionToBlockCoord(sectionX)),
+							Math.max(min.getY(), SectionPos.sectionToBlockCoord(sectionY)),
+							Math.max(min.getZ(), SectionPos.sectionToBlockCoord(sectionZ)));
+					BlockPos scanMax = new BlockPos(
+							Math.min(max.getX(), SectionPos.sectionToBlockCoord(sectionX, 15)),
+							Math.min(max.getY(), SectionPos.sectionToBlockCoord(sectionY, 15)),
+							Math.min(max.getZ(), SectionPos.sectionToBlockCoord(sectionZ, 15)));
+					SectionScan scan = this.incremental ? this.sectionScans.get(sectionKey) : null;
 
-			if (this.predicate().test(state, entity))
-				blocks.add(Pair.of(pos.immutable(), state));
+					if (scan == null || !scan.min.equals(scanMin) || !scan.max.equals(scanMax) || BlockChangeTracker.hasChangedSince(level, sectionKey, this.lastScanTime)) {
+						scan = scanSection(level, sectionX, sectionY, sectionZ, scanMin, scanMax, matcher);
+						unchanged = false;
+
+						if (scan == null)
+							continue;
+					}
+
+					if (scans != null)
+						scans.put(sectionKey, scan);
+
+					blocks.addAll(scan.blocks);
+				}
+			}
+		}
+
+		if (scans != null) {
+			// Nothing was rescanned and no sections were dropped, so the previous list is still accurate
+			if (unchanged && scans.size() == this.sectionScans.size())
+				blocks = this.lastBlocks;
+
+			this.sectionScans = scans;
+			this.lastScanTime = level.getGameTime();
+			this.lastBlocks = blocks;
 		}
 
 		if (blocks.isEmpty()) {
@@ -89,4 +159,42 @@ public class NearbyBlocksSensor<E extends LivingEntity> extends PredicateSensor<
 			BrainUtils.setMemory(entity, SBLMemoryTypes.NEARBY_BLOCKS.get(), blocks);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Scan the given area within a single chunk section for blocks matching the predicate
+	 *
+	 * @return The blocks found, or null if the section's chunk isn't loaded
+	 */
+	@Nullable
+	protected SectionScan scanSection(ServerLevel level, int sectionX, int sectionY, int sectionZ, BlockPos min, BlockPos max, Predicate<BlockState> predicate) {
+		LevelChunk chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+
+		if (chunk == null)
+			return null;
+
+		LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sectionY));
+
+		if (!section.maybeHas(predicate))
+			return new SectionScan(min, max, List.of());
+
+		List<Pair<BlockPos, BlockState>> blocks = new ObjectArrayList<>();
+
+		for (int z = min.getZ(); z <= max.getZ(); z++) {
+			for (int y = min.getY(); y <= max.getY(); y++) {
+				for (int x = min.getX(); x <= max.getX(); x++) {
+					BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+
+					if (predicate.test(state))
+						blocks.add(Pair.of(new BlockPos(x, y, z), state));
+				}
+			}
+		}
+
+		return new SectionScan(min, max, blocks);
+	}
+
+	/**
+	 * The blocks found in the area of a chunk section that was last scanned
+	 */
+	protected record SectionScan(BlockPos min, BlockPos max, List<Pair<BlockPos, BlockState>> blocks) {}
+}
@@ -18,10 +18,9 @@ import mod.azure.azurelib.sblforked.object.FixedNearestVisibleLivingEntities;
 import mod.azure.azurelib.sblforked.object.SquareRadius;
 import mod.azure.azurelib.sblforked.registry.SBLSensors;
 import mod.azure.azurelib.sblforked.util.BrainUtils;
-import mod.azure.azurelib.sblforked.util.EntityRetrievalUtil;
+import mod.azure.azurelib.sblforked.util.EntitySpatialCache;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -90,9 +89,7 @@ public class NearbyLivingEntitySensor<E extends LivingEntity> extends PredicateS
 			radius = new SquareRadius(dist, dist);
 		}
 
-		List<LivingEntity> entities = EntityRetrievalUtil.getEntities(level, entity.getBoundingBox().inflate(radius.xzRadius(), radius.yRadius(), radius.xzRadius()), obj -> obj instanceof LivingEntity livingEntity && predicate().test(livingEntity, entity));
-
-		entities.sort(Comparator.comparingDouble(entity::distanceToSqr));
+		List<LivingEntity> entities = EntitySpatialCache.getEntities(level, radius.inflateAABB(entity.getBoundingBox()), entity.position(), LivingEntity.class, target -> predicate().test(target, entity));
 
 		BrainUtils.setMemory(entity, MemoryModuleType.NEAREST_LIVING_ENTITIES, entities);
 		BrainUtils.setMemory(entity, MemoryModuleType.NEAREST_VISIBLE_LIVING_ENTITIES, new FixedNearestVisibleLivingEntities(entity, entities));
@@ -19,9 +19,9 @@ import mod.azure.azurelib.sblforked.object.SquareRadius;
 import mod.azure.azurelib.sblforked.registry.SBLSensors;
 import mod.azure.azurelib.sblforked.util.BrainUtils;
 import mod.azure.azurelib.sblforked.util.EntityRetrievalUtil;
+import mod.azure.azurelib.sblforked.util.EntitySpatialCache;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -92,7 +92,7 @@ public class NearbyPlayersSensor<E extends LivingEntity> extends PredicateSensor
 
 		List<Player> players = EntityRetrievalUtil.getPlayers(level, radius.inflateAABB(entity.getBoundingBox()), player -> predicate().test(player, entity));
 
-		players.sort(Comparator.comparingDouble(entity::distanceToSqr));
+		EntitySpatialCache.sortByDistance(players, entity.position());
 
 		List<Player> targetablePlayers = new ObjectArrayList<>(players);
 
@@ -0,0 +1,81 @@
+package mod.azure.azurelib.sblforked.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the last time a block changed in each chunk section of a level, so that sensors and caches can tell whether
+ * anything they computed from a section's blocks is still up to date.<br>
+ * Levels are only tracked from the first time they're queried, and changes are only remembered for
+ * {@link #RETENTION} ticks. Any section is treated as changed when asking about a time before either of those.<br>
+ * Must only be used from the server thread. Block changes made from other threads aren't tracked
+ */
+public final class BlockChangeTracker {
+	/**
+	 * How long in ticks a block change is remembered for
+	 */
+	private static final int RETENTION = 1200;
+	private static final int CLEANUP_INTERVAL = 200;
+
+	private static final Map<ServerLevel, BlockChangeTracker> TRACKERS = new WeakHashMap<>();
+
+	private final Long2LongMap lastChanges = new Long2LongOpenHashMap();
+	private long trackedSince;
+	private long lastCleanupTime;
+
+	private BlockChangeTracker(long gameTime) {
+		this.trackedSince = gameTime;
+		this.lastCleanupTime = gameTime;
+	}
+
+	/**
+	 * Check whether any block in the given chunk section might have changed at or after the given game time
+	 *
+	 * @param level   The level the section is in
+	 * @param section The {@link SectionPos#asLong packed position} of the section
+	 * @param time    The game time to check from
+	 * @return Whether the section might have changed, or true if changes from that long ago aren't known
+	 */
+	public static boolean hasChangedSince(ServerLevel level, long section, long time) {
+		BlockChangeTracker tracker = TRACKERS.computeIfAbsent(level, key -> new BlockChangeTracker(key.getGameTime()));
+
+		if (time < tracker.trackedSince)
+			return true;
+
+		return tracker.lastChanges.containsKey(section) && tracker.lastChanges.get(section) >= time;
+	}
+
+	/**
+	 * Record a block change in a server level.<br>
+	 * Called whenever a block changes in a server level
+	 */
+	public static void onBlockChanged(ServerLevel level, BlockPos pos) {
+		if (!level.getServer().isSameThread())
+			return;
+
+		BlockChangeTracker tracker = TRACKERS.get(level);
+
+		if (tracker == null)
+			return;
+
+		long gameTime = level.getGameTime();
+
+		tracker.lastChanges.put(SectionPos.asLong(pos), gameTime);
+
+		if (gameTime - tracker.lastCleanupTime >= CLEANUP_INTERVAL)
+			tracker.cleanup(gameTime);
+	}
+
+	private void cleanup(long gameTime) {
+		this.lastCleanupTime = gameTime;
+		this.trackedSince = Math.max(this.trackedSince, gameTime - RETENTION);
+
+		this.lastChanges.values().removeIf(time -> time < this.trackedSince);
+	}
+}
@@ -320,7 +320,7 @@ public final class BrainUtils {
 		if (BehaviorUtils.entityIsVisible(brain, target))
 			return true;
 
-		return entity.hasLineOfSight(target);
+		return SensoryUtils.hasLineOfSight(entity, target);
 	}
 
 	/**
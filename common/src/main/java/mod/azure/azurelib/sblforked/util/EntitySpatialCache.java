@@ -0,0 +1,174 @@
+package mod.azure.azurelib.sblforked.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A per-level cache of the living entities in the level, shared by every sensor in the level and rebuilt each tick.<br>
+ * The first few queries in a tick go straight to the level, so a lone brain costs no more than a normal entity lookup.
+ * Once more queries than that are made in the same tick, every living entity in the level is sorted into a grid of
+ * cells matching the level's entity sections in one pass, and the remaining queries that tick read from that snapshot
+ * rather than each scanning the same sections again.<br>
+ * As the snapshot is taken at a single point in the tick, every entity is in exactly one cell, so no entity is returned
+ * twice or missed by a query. Entities added to the level after the snapshot was taken aren't found until the next tick.<br>
+ * Results are sorted by distance from the query origin, so callers don't need to sort them again.<br>
+ * Must only be used from the server thread
+ */
+public final class EntitySpatialCache {
+	/**
+	 * The size of each grid cell, as a power of two. Matches the size of an entity section
+	 */
+	private static final int CELL_SHIFT = SectionPos.SECTION_BITS;
+
+	/**
+	 * How many queries in a tick go straight to the level before the snapshot is taken
+	 */
+	private static final int SNAPSHOT_THRESHOLD = 4;
+
+	/**
+	 * How far outside the queried area an entity's position can be while still having its bounds inside the area.<br>
+	 * Matches the margin vanilla's entity lookups use, so the same entities are found either way
+	 */
+	private static final double ENTITY_MARGIN = 2;
+
+	private static final Map<ServerLevel, EntitySpatialCache> CACHES = new WeakHashMap<>();
+
+	private final Long2ObjectMap<List<LivingEntity>> cells = new Long2ObjectOpenHashMap<>();
+	private long gameTime = Long.MIN_VALUE;
+	private int queries = 0;
+	private boolean hasSnapshot = false;
+
+	private EntitySpatialCache() {}
+
+	/**
+	 * Get all living entities of the given type whose bounds are within the given area and that meet the given
+	 * criteria, sorted from nearest to furthest from the given origin.<br>
+	 * Entities are found either as of their current position, or as of their position when this tick's snapshot was taken
+	 *
+	 * @param level     The level to search in
+	 * @param area      The region to search for entities in
+	 * @param origin    The point to sort the entities by distance from
+	 * @param type      The class of entity to look for
+	 * @param predicate The predicate to filter entities by
+	 * @return A mutable list of the entities found, sorted by distance from the origin
+	 * @param <T> The output entity subtype
+	 */
+	public static <T extends LivingEntity> List<T> getEntities(ServerLevel level, AABB area, Vec3 origin, Class<T> type, Predicate<? super T> predicate) {
+		EntitySpatialCache cache = CACHES.computeIfAbsent(level, key -> new EntitySpatialCache());
+
+		if (cache.gameTime != level.getGameTime()) {
+			cache.cells.clear();
+
+			cache.gameTime = level.getGameTime();
+			cache.queries = 0;
+			cache.hasSnapshot = false;
+		}
+
+		if (++cache.queries <= SNAPSHOT_THRESHOLD)
+			return sortByDistance(new ObjectArrayList<>(level.getEntitiesOfClass(type, area, predicate)), origin);
+
+		if (!cache.hasSnapshot)
+			cache.takeSnapshot(level);
+
+		List<T> entities = new ObjectArrayList<>();
+		int minX = toCellCoord(area.minX - ENTITY_MARGIN);
+		int minY = toCellCoord(area.minY - ENTITY_MARGIN);
+		int minZ = toCellCoord(area.minZ - ENTITY_MARGIN);
+		int maxX = toCellCoord(area.maxX + ENTITY_MARGIN);
+		int maxY = toCellCoord(area.maxY + ENTITY_MARGIN);
+		int maxZ = toCellCoord(area.maxZ + ENTITY_MARGIN);
+
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				for (int z = minZ; z <= maxZ; z++) {
+					List<LivingEntity> cell = cache.cells.get(BlockPos.asLong(x, y, z));
+
+					if (cell == null)
+						continue;
+
+					for (LivingEntity entity : cell) {
+						if (type.isInstance(entity) && !entity.isRemoved() && entity.getBoundingBox().intersects(area)) {
+							T target = type.cast(entity);
+
+							if (predicate.test(target))
+								entities.add(target);
+						}
+					}
+				}
+			}
+		}
+
+		return sortByDistance(entities, origin);
+	}
+
+	/**
+	 * Sort the given entities from nearest to furthest from the given origin, in place.<br>
+	 * Each entity's distance is only computed once, rather than once per comparison
+	 *
+	 * @param entities The entities to sort
+	 * @param origin   The point to sort the entities by distance from
+	 * @return The given list
+	 * @param <T> The entity type
+	 */
+	public static <T extends Entity> List<T> sortByDistance(List<T> entities, Vec3 origin) {
+		int size = entities.size();
+
+		if (size < 2)
+			return entities;
+
+		double[] distances = new double[size];
+		int[] order = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			distances[i] = entities.get(i).distanceToSqr(origin);
+			order[i] = i;
+		}
+
+		IntArrays.mergeSort(order, (first, second) -> Double.compare(distances[first], distances[second]));
+
+		Object[] sorted = new Object[size];
+
+		for (int i = 0; i < size; i++) {
+			sorted[i] = entities.get(order[i]);
+		}
+
+		for (int i = 0; i < size; i++) {
+			entities.set(i, (T)sorted[i]);
+		}
+
+		return entities;
+	}
+
+	/**
+	 * Sort every living entity in the level into the cell holding its position, all at the same point in the tick
+	 */
+	private void takeSnapshot(ServerLevel level) {
+		this.hasSnapshot = true;
+
+		for (Entity entity : level.getAllEntities()) {
+			if (entity instanceof LivingEntity livingEntity && !entity.isRemoved()) {
+				long key = BlockPos.asLong(toCellCoord(entity.getX()), toCellCoord(entity.getY()), toCellCoord(entity.getZ()));
+				this.cells.computeIfAbsent(key, cellKey -> new ObjectArrayList<>()).add(livingEntity);
+			}
+		}
+	}
+
+	private static int toCellCoord(double coord) {
+		return Mth.floor(coord) >> CELL_SHIFT;
+	}
+}
@@ -0,0 +1,157 @@
+package mod.azure.azurelib.sblforked.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import mod.azure.azurelib.common.internal.common.AzureLibMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A per-level cache of line of sight checks, shared by every sensor and behaviour in the level.<br>
+ * Results are kept for each observer and target pair for up to {@code lineOfSightCacheTicks} ticks, as configured in the
+ * AzureLib config, so repeated checks within and across brains don't need to raycast again.<br>
+ * A result is dropped early if the block position of either entity's eyes changes, or if a block changes in any chunk
+ * section the ray between them passes through, as tracked by the {@link BlockChangeTracker}.<br>
+ * Must only be used from the server thread
+ */
+public final class LineOfSightCache {
+	private static final int CLEANUP_INTERVAL = 20;
+
+	private static final Map<ServerLevel, LineOfSightCache> CACHES = new WeakHashMap<>();
+
+	private final Long2ObjectMap<Result> results = new Long2ObjectOpenHashMap<>();
+	private long lastCleanupTime = 0;
+
+	private LineOfSightCache() {}
+
+	private static int getLifetime() {
+		return AzureLibMod.config == null ? 5 : AzureLibMod.config.lineOfSightCacheTicks;
+	}
+
+	/**
+	 * Check whether the given entity has line of sight to the target, reusing a recent result for the same pair of entities if it's still valid
+	 *
+	 * @param entity The entity looking
+	 * @param target The entity being looked at
+	 * @return Whether the entity has line of sight to the target
+	 */
+	public static boolean hasLineOfSight(LivingEntity entity, Entity target) {
+		int lifetime = getLifetime();
+
+		if (lifetime <= 0 || !(entity.level() instanceof ServerLevel level) || !level.getServer().isSameThread())
+			return entity.hasLineOfSight(target);
+
+		LineOfSightCache cache = CACHES.computeIfAbsent(level, key -> new LineOfSightCache());
+		long gameTime = level.getGameTime();
+		long key = (long)entity.getId() << 32 | (target.getId() & 0xFFFFFFFFL);
+		Vec3 from = entity.getEyePosition();
+		Vec3 to = target.getEyePosition();
+		long fromPos = BlockPos.containing(from).asLong();
+		long toPos = BlockPos.containing(to).asLong();
+
+		if (gameTime - cache.lastCleanupTime >= CLEANUP_INTERVAL)
+			cache.cleanup(gameTime, lifetime);
+
+		Result result = cache.results.get(key);
+
+		if (result != null && result.isValid(level, gameTime, lifetime, fromPos, toPos))
+			return result.visible;
+
+		boolean visible = entity.hasLineOfSight(target);
+
+		cache.results.put(key, new Result(visible, gameTime, fromPos, toPos, getSections(from, to)));
+
+		return visible;
+	}
+
+	private void cleanup(long gameTime, int lifetime) {
+		this.lastCleanupTime = gameTime;
+
+		this.results.values().removeIf(result -> gameTime - result.time >= lifetime);
+	}
+
+	/**
+	 * Get every chunk section the line between the two given points passes through, walking the section grid along the line
+	 */
+	private static long[] getSections(Vec3 from, Vec3 to) {
+		int x = SectionPos.posToSectionCoord(from.x);
+		int y = SectionPos.posToSectionCoord(from.y);
+		int z = SectionPos.posToSectionCoord(from.z);
+		int endX = SectionPos.posToSectionCoord(to.x);
+		int endY = SectionPos.posToSectionCoord(to.y);
+		int endZ = SectionPos.posToSectionCoord(to.z);
+		double dx = to.x - from.x;
+		double dy = to.y - from.y;
+		double dz = to.z - from.z;
+		int stepX = dx > 0 ? 1 : -1;
+		int stepY = dy > 0 ? 1 : -1;
+		int stepZ = dz > 0 ? 1 : -1;
+		double nextX = getFirstCrossing(from.x, dx, x, stepX);
+		double nextY = getFirstCrossing(from.y, dy, y, stepY);
+		double nextZ = getFirstCrossing(from.z, dz, z, stepZ);
+		double deltaX = dx == 0 ? Double.MAX_VALUE : SectionPos.SECTION_SIZE / Math.abs(dx);
+		double deltaY = dy == 0 ? Double.MAX_VALUE : SectionPos.SECTION_SIZE / Math.abs(dy);
+		double deltaZ = dz == 0 ? Double.MAX_VALUE : SectionPos.SECTION_SIZE / Math.abs(dz);
+		LongArrayList sections = new LongArrayList();
+
+		sections.add(SectionPos.asLong(x, y, z));
+
+		while (x != endX || y != endY || z != endZ) {
+			// Axes already at the end section are skipped, so rounding error can't walk the line past it
+			double crossX = x == endX ? Double.MAX_VALUE : nextX;
+			double crossY = y == endY ? Double.MAX_VALUE : nextY;
+			double crossZ = z == endZ ? Double.MAX_VALUE : nextZ;
+
+			if (crossX <= crossY && crossX <= crossZ) {
+				x += stepX;
+				nextX += deltaX;
+			}
+			else if (crossY <= crossZ) {
+				y += stepY;
+				nextY += deltaY;
+			}
+			else {
+				z += stepZ;
+				nextZ += deltaZ;
+			}
+
+			sections.add(SectionPos.asLong(x, y, z));
+		}
+
+		return sections.toLongArray();
+	}
+
+	/**
+	 * Get the fraction of the line at which it first crosses into the next section along an axis
+	 */
+	private static double getFirstCrossing(double start, double delta, int section, int step) {
+		if (delta == 0)
+			return Double.MAX_VALUE;
+
+		double boundary = SectionPos.sectionToBlockCoord(step > 0 ? section + 1 : section);
+
+		return (boundary - start) / delta;
+	}
+
+	private record Result(boolean visible, long time, long fromPos, long toPos, long[] sections) {
+		private boolean isValid(ServerLevel level, long gameTime, int lifetime, long fromPos, long toPos) {
+			if (gameTime - this.time >= lifetime || this.fromPos != fromPos || this.toPos != toPos)
+				return false;
+
+			for (long section : this.sections) {
+				if (BlockChangeTracker.hasChangedSince(level, section, this.time))
+					return false;
+			}
+
+			return true;
+		}
+	}
+}
@@ -8,7 +8,6 @@ package mod.azure.azurelib.sblforked.util;
 
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.Mob;
 import mod.azure.azurelib.sblforked.object.ExtendedTargetingConditions;
 
 /**
@@ -53,13 +52,10 @@ public class SensoryUtils {
     }
 
     /**
-     * Check whether the given target is visible to the entity
+     * Check whether the given target is visible to the entity, reusing recent results from the {@link LineOfSightCache}
      * @return Whether the entity has line of sight to the target
      */
     public static boolean hasLineOfSight(LivingEntity entity, Entity target) {
-        if (entity instanceof Mob mob)
-            return mob.getSensing().hasLineOfSight(target);
-
-        return entity.hasLineOfSight(target);
+        return LineOfSightCache.hasLineOfSight(entity, target);
     }
 }
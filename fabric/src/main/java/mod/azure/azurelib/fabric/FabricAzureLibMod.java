@@ -39,5 +39,8 @@ public final class FabricAzureLibMod implements ModInitializer {
         PayloadTypeRegistry.playS2C().register(AnimTriggerPacket.TYPE, AnimTriggerPacket.CODEC);
         PayloadTypeRegistry.playS2C().register(AnimDataSyncPacket.TYPE, AnimDataSyncPacket.CODEC);
         PayloadTypeRegistry.playS2C().register(SendConfigDataPacket.TYPE, SendConfigDataPacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(SyncPalettePacket.TYPE, SyncPalettePacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(AnimSyncBundlePacket.TYPE, AnimSyncBundlePacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(DynamicLightPacket.TYPE, DynamicLightPacket.CODEC);
     }
 }
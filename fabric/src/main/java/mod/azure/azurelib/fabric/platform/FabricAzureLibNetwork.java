@@ -1,6 +1,8 @@
 package mod.azure.azurelib.fabric.platform;
 
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.AnimationSyncQueue;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.internal.common.network.packet.SendConfigDataPacket;
 import mod.azure.azurelib.common.platform.Services;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
@@ -58,7 +60,10 @@ public class FabricAzureLibNetwork implements AzureLibNetwork {
 
     @Override
     public void sendToPlayer(AbstractPacket packet, ServerPlayer player) {
-        ServerPlayNetworking.send(player, packet);
+        SyncPalette.prepareForSend(packet, player.server);
+
+        if (!AnimationSyncQueue.offer(packet, player))
+            ServerPlayNetworking.send(player, packet);
     }
 
     @Override
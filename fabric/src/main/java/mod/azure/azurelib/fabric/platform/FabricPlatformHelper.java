@@ -34,6 +34,14 @@ public class FabricPlatformHelper implements IPlatformHelper {
         return FabricLoader.getInstance().getGameDir();
     }
 
+    @Override
+    public String getModVersion(String modId) {
+        return FabricLoader.getInstance()
+                .getModContainer(modId)
+                .map(container -> container.getMetadata().getVersion().getFriendlyString())
+                .orElse("");
+    }
+
     @Override
     public boolean isServerEnvironment() {
         return FabricLoader.getInstance().getEnvironmentType() == EnvType.SERVER;
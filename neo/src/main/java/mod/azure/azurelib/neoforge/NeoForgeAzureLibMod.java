@@ -53,12 +53,15 @@ public final class NeoForgeAzureLibMod {
     public void registerMessages(RegisterPayloadHandlersEvent event) {
         PayloadRegistrar registrar = event.registrar(AzureLib.MOD_ID);
 
-        registrar.playToClient(BlockEntityAnimTriggerPacket.TYPE, BlockEntityAnimTriggerPacket.CODEC, (msg, ctx) -> {});
-        registrar.playToClient(BlockEntityAnimDataSyncPacket.TYPE, BlockEntityAnimDataSyncPacket.CODEC, (msg, ctx) -> {});
-        registrar.playToClient(EntityAnimTriggerPacket.TYPE, EntityAnimTriggerPacket.CODEC, (msg, ctx) -> {});
-        registrar.playToClient(EntityAnimDataSyncPacket.TYPE, EntityAnimDataSyncPacket.CODEC, (msg, ctx) -> {});
-        registrar.playToClient(AnimTriggerPacket.TYPE, AnimTriggerPacket.CODEC, (msg, ctx) -> {});
-        registrar.playToClient(AnimDataSyncPacket.TYPE, AnimDataSyncPacket.CODEC, (msg, ctx) -> {});
+        registrar.playToClient(BlockEntityAnimTriggerPacket.TYPE, BlockEntityAnimTriggerPacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(BlockEntityAnimDataSyncPacket.TYPE, BlockEntityAnimDataSyncPacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(EntityAnimTriggerPacket.TYPE, EntityAnimTriggerPacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(EntityAnimDataSyncPacket.TYPE, EntityAnimDataSyncPacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(AnimTriggerPacket.TYPE, AnimTriggerPacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(AnimDataSyncPacket.TYPE, AnimDataSyncPacket.CODEC, (msg, ctx) -> msg.handle());
         registrar.playToClient(SendConfigDataPacket.TYPE, SendConfigDataPacket.CODEC, (msg, ctx) -> {});
+        registrar.playToClient(SyncPalettePacket.TYPE, SyncPalettePacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(AnimSyncBundlePacket.TYPE, AnimSyncBundlePacket.CODEC, (msg, ctx) -> msg.handle());
+        registrar.playToClient(DynamicLightPacket.TYPE, DynamicLightPacket.CODEC, (msg, ctx) -> msg.handle());
     }
 }
@@ -1,14 +1,18 @@
 package mod.azure.azurelib.neoforge.platform;
 
 import mod.azure.azurelib.common.internal.common.network.AbstractPacket;
+import mod.azure.azurelib.common.internal.common.network.AnimationSyncQueue;
+import mod.azure.azurelib.common.internal.common.network.SyncPalette;
 import mod.azure.azurelib.common.internal.common.network.packet.SendConfigDataPacket;
 import mod.azure.azurelib.common.platform.services.AzureLibNetwork;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerPlayerConnection;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.ChunkPos;
 import net.neoforged.neoforge.network.PacketDistributor;
@@ -31,11 +35,36 @@ public class NeoForgeAzureLibNetwork implements AzureLibNetwork {
 
     @Override
     public void sendToTrackingEntityAndSelf(AbstractPacket packet, Entity entityToTrack) {
+        if (AnimationSyncQueue.isCollecting() && entityToTrack.level() instanceof ServerLevel level) {
+            if (entityToTrack instanceof ServerPlayer player)
+                sendToPlayer(packet, player);
+
+            ChunkMap.TrackedEntity trackedEntity = level.getChunkSource().chunkMap.entityMap.get(entityToTrack.getId());
+
+            if (trackedEntity != null) {
+                for (ServerPlayerConnection connection : trackedEntity.seenBy) {
+                    sendToPlayer(packet, connection.getPlayer());
+                }
+            }
+
+            return;
+        }
+
+        SyncPalette.prepareForSend(packet, entityToTrack.getServer());
         PacketDistributor.sendToPlayersTrackingEntityAndSelf(entityToTrack, packet);
     }
 
     @Override
     public void sendToEntitiesTrackingChunk(AbstractPacket packet, ServerLevel level, BlockPos blockPos) {
+        if (AnimationSyncQueue.isCollecting()) {
+            for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(new ChunkPos(blockPos), false)) {
+                sendToPlayer(packet, player);
+            }
+
+            return;
+        }
+
+        SyncPalette.prepareForSend(packet, level.getServer());
         PacketDistributor.sendToPlayersTrackingChunk(level, new ChunkPos(blockPos), packet);
     }
 
@@ -46,6 +75,9 @@ public class NeoForgeAzureLibNetwork implements AzureLibNetwork {
 
     @Override
     public void sendToPlayer(AbstractPacket packet, ServerPlayer player) {
-        PacketDistributor.sendToPlayer(player, packet);
+        SyncPalette.prepareForSend(packet, player.server);
+
+        if (!AnimationSyncQueue.offer(packet, player))
+            PacketDistributor.sendToPlayer(player, packet);
     }
 }
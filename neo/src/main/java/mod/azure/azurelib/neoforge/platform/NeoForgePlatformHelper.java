@@ -6,6 +6,7 @@ import mod.azure.azurelib.common.platform.services.IPlatformHelper;
 import mod.azure.azurelib.neoforge.NeoForgeAzureLibMod;
 import net.minecraft.core.component.DataComponentType;
 import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.fml.ModList;
 import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.fml.loading.FMLLoader;
 
@@ -30,6 +31,14 @@ public class NeoForgePlatformHelper implements IPlatformHelper {
         return FMLLoader.getGamePath();
     }
 
+    @Override
+    public String getModVersion(String modId) {
+        return ModList.get()
+                .getModContainerById(modId)
+                .map(container -> container.getModInfo().getVersion().toString())
+                .orElse("");
+    }
+
     @Override
     public boolean isServerEnvironment() {
         return FMLEnvironment.dist.isDedicatedServer();